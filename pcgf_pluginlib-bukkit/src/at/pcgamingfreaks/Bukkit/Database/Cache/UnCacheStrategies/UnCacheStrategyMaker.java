@@ -43,6 +43,7 @@ private UnCacheStrategyMaker()
 		switch(config.getUnCacheStrategy())
 		{
 			case ON_DISCONNECT: return new OnDisconnect(plugin, cache);
+			case ON_DISCONNECT_SHARDED: // BungeeCord only
 			case ON_DISCONNECT_DELAYED: return new OnDisconnectDelayed(plugin, cache, delay);
 			case INTERVAL_DELAYED: return new IntervalDelayed(plugin, cache, delay, interval);
 			case INTERVAL: default: return new Interval(plugin, cache, delay, interval);
@@ -17,33 +17,34 @@
 
 package at.pcgamingfreaks.Bukkit.GUI;
 
-import at.pcgamingfreaks.Bukkit.Util.InventoryUtils;
-
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.*;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+import lombok.Getter;
 
 public final class GuiListener implements Listener
 {
+	@Getter private final @NotNull GuiRegistry registry = new GuiRegistry();
+
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onInventoryClick(final InventoryClickEvent event)
 	{
-		Inventory clickedInventory = InventoryUtils.getClickedInventory(event);
-		if(clickedInventory == null) return;
-		InventoryHolder holder = clickedInventory.getHolder();
-		if(!(holder instanceof IGui)) return;
+		if(event.getRawSlot() < 0) return;
+		IGui gui = registry.getGui(event.getView());
+		if(gui == null || event.getRawSlot() >= event.getView().getTopInventory().getSize()) return; // Clicks into the players own inventory are not handled
 		event.setCancelled(true);
-		((IGui) holder).onClick(event);
+		gui.onClick(event);
 	}
 
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onItemDrag(final InventoryDragEvent event)
 	{
-		if(event.getInventory().getHolder() instanceof IGui)
+		if(registry.isGui(event.getView()))
 		{
 			event.setCancelled(true);
 		}
@@ -52,7 +53,7 @@ public void onItemDrag(final InventoryDragEvent event)
 	@EventHandler
 	public void onInventoryInteract(final InventoryInteractEvent event)
 	{
-		if(event.getInventory().getHolder() instanceof IGui)
+		if(registry.isGui(event.getView()))
 		{
 			event.setCancelled(true);
 		}
@@ -64,6 +65,7 @@ public void onInventoryOpen(final InventoryOpenEvent event)
 		InventoryHolder holder = event.getInventory().getHolder();
 		if(holder instanceof IGui && event.getPlayer() instanceof Player)
 		{
+			registry.register(event.getView(), (IGui) holder);
 			((IGui) holder).onOpen((Player) event.getPlayer());
 		}
 	}
@@ -71,10 +73,12 @@ public void onInventoryOpen(final InventoryOpenEvent event)
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onInventoryClose(final InventoryCloseEvent event)
 	{
-		InventoryHolder holder = event.getInventory().getHolder();
-		if(holder instanceof IGui && event.getPlayer() instanceof Player)
+		IGui gui = registry.getGui(event.getView());
+		if(gui == null) return;
+		registry.unregister(event.getView());
+		if(event.getPlayer() instanceof Player)
 		{
-			((IGui) holder).onClose((Player) event.getPlayer());
+			gui.onClose((Player) event.getPlayer());
 		}
 	}
 }
\ No newline at end of file
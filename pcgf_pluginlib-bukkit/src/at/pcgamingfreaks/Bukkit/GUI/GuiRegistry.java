@@ -0,0 +1,88 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit.GUI;
+
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of the inventory views of all currently opened GUIs. Every player viewing a GUI has its own view, which is registered when it is opened
+ * and removed again when the player closes it.
+ * The views are compared by identity, so resolving the GUI for a view that does not belong to one costs a single hash lookup.
+ * Only if a GUI is opened and the view is not known, the holder of the top inventory is checked (which creates a block state snapshot for container blocks),
+ * to never miss a GUI because the server handed out a different view object.
+ * The registry is not thread safe, it must only be used from the main thread (where all inventory events are fired).
+ */
+public final class GuiRegistry
+{
+	private final Map<InventoryView, IGui> openGuis = new IdentityHashMap<>();
+
+	/**
+	 * Gets the GUI a view belongs to.
+	 *
+	 * @param view The view for which the GUI should be resolved.
+	 * @return The GUI of the view. null if the view does not show a GUI.
+	 */
+	public @Nullable IGui getGui(final @Nullable InventoryView view)
+	{
+		if(view == null || openGuis.isEmpty()) return null;
+		IGui gui = openGuis.get(view);
+		if(gui == null)
+		{
+			InventoryHolder holder = view.getTopInventory().getHolder();
+			if(holder instanceof IGui) gui = (IGui) holder;
+		}
+		return gui;
+	}
+
+	public boolean isGui(final @Nullable InventoryView view)
+	{
+		return getGui(view) != null;
+	}
+
+	public void register(final @NotNull InventoryView view, final @NotNull IGui gui)
+	{
+		openGuis.put(view, gui);
+	}
+
+	public void unregister(final @NotNull InventoryView view)
+	{
+		openGuis.remove(view);
+	}
+
+	/**
+	 * @return The amount of GUI views that are currently opened.
+	 */
+	public int size()
+	{
+		return openGuis.size();
+	}
+
+	/**
+	 * Removes all registered views. Should be called when the plugin owning the listener gets disabled.
+	 */
+	public void clear()
+	{
+		openGuis.clear();
+	}
+}
@@ -27,8 +27,6 @@
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.UUID;
-
 public class DefaultNavigationButtonProducer implements INavigationButtonProducer
 {
 	@Override
@@ -54,14 +52,14 @@ public class DefaultNavigationButtonProducer implements INavigationButtonProduce
 	@Override
 	public @NotNull GuiButton produceNextButton(final @NotNull MultiPageGui gui, final int currentPage, final int pages)
 	{
-		ItemStack item = HeadUtils.fromBase64("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvMmEzYjhmNjgxZGFhZDhiZjQzNmNhZThkYTNmZTgxMzFmNjJhMTYyYWI4MWFmNjM5YzNlMDY0NGFhNmFiYWMyZiJ9fX0=", ChatColor.GOLD + "Next Page", UUID.randomUUID());
+		ItemStack item = HeadUtils.fromBase64("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvMmEzYjhmNjgxZGFhZDhiZjQzNmNhZThkYTNmZTgxMzFmNjJhMTYyYWI4MWFmNjM5YzNlMDY0NGFhNmFiYWMyZiJ9fX0=", ChatColor.GOLD + "Next Page", null);
 		return new GuiButton(item, (player, clickType, cursor) -> gui.show(player, (currentPage < pages) ? currentPage + 1 : 1));
 	}
 
 	@Override
 	public @NotNull GuiButton producePreviousButton(final @NotNull MultiPageGui gui, final int currentPage, final int pages)
 	{
-		ItemStack item = HeadUtils.fromBase64("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvODY1MmUyYjkzNmNhODAyNmJkMjg2NTFkN2M5ZjI4MTlkMmU5MjM2OTc3MzRkMThkZmRiMTM1NTBmOGZkYWQ1ZiJ9fX0=", ChatColor.GOLD + "Previous Page", UUID.randomUUID());
+		ItemStack item = HeadUtils.fromBase64("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvODY1MmUyYjkzNmNhODAyNmJkMjg2NTFkN2M5ZjI4MTlkMmU5MjM2OTc3MzRkMThkZmRiMTM1NTBmOGZkYWQ1ZiJ9fX0=", ChatColor.GOLD + "Previous Page", null);
 		return new GuiButton(item, (player, clickType, cursor) -> gui.show(player, (currentPage > 1) ? currentPage - 1 : pages));
 	}
 }
\ No newline at end of file
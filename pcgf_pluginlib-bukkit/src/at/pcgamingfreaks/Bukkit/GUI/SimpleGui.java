@@ -34,6 +34,7 @@ public class SimpleGui implements IGui
 	@Getter private final Inventory inventory;
 	private final GuiButton[] buttons;
 	private final Object preparedTitle;
+	private int firstFreeSlot = 0; // All slots before this one are occupied
 
 	public SimpleGui(String title, int rows)
 	{
@@ -53,6 +54,14 @@ public void setButton(final int slot, final @Nullable GuiButton button)
 		assert slot < buttons.length;
 		buttons[slot] = button;
 		inventory.setItem(slot, (button == null) ? null : button.getItem());
+		if(button == null)
+		{
+			if(slot < firstFreeSlot) firstFreeSlot = slot;
+		}
+		else if(slot == firstFreeSlot)
+		{
+			while(firstFreeSlot < buttons.length && buttons[firstFreeSlot] != null) firstFreeSlot++;
+		}
 	}
 
 	public void setButton(final int column, final int row, final @Nullable GuiButton button)
@@ -62,15 +71,9 @@ public void setButton(final int column, final int row, final @Nullable GuiButton
 
 	public boolean addButton(final @NotNull GuiButton button)
 	{
-		for(int i = 0; i < inventory.getSize(); i++)
-		{
-			if(buttons[i] == null)
-			{
-				setButton(i, button);
-				return true;
-			}
-		}
-		return false;
+		if(firstFreeSlot >= buttons.length) return false;
+		setButton(firstFreeSlot, button);
+		return true;
 	}
 
 	public GuiButton getButton(final int slot)
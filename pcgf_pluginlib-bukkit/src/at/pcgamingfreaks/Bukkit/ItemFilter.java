@@ -20,59 +20,200 @@
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 public class ItemFilter
 {
 	private final boolean whitelistMode;
 	private final Set<MinecraftMaterial> filteredMaterials = new HashSet<>();
 	private final Set<String> filteredNames = new HashSet<>(), filteredLore = new HashSet<>();
+	private volatile CompiledRules compiledRules = null;
 
 	public ItemFilter(final boolean whitelistMode)
 	{
 		this.whitelistMode = whitelistMode;
 	}
 
-	public void addFilteredNames(Collection<String> filteredNamesToBeAdded)
+	public synchronized void addFilteredNames(Collection<String> filteredNamesToBeAdded)
 	{
 		filteredNames.addAll(filteredNamesToBeAdded);
+		compiledRules = null;
 	}
 
-	public void addFilteredLore(Collection<String> filteredLoreToBeAdded)
+	public synchronized void addFilteredLore(Collection<String> filteredLoreToBeAdded)
 	{
 		this.filteredLore.addAll(filteredLoreToBeAdded);
+		compiledRules = null;
 	}
 
-	public void addFilteredMaterials(final Collection<MinecraftMaterial> filteredMaterialsToBeAdded)
+	public synchronized void addFilteredMaterials(final Collection<MinecraftMaterial> filteredMaterialsToBeAdded)
 	{
 		this.filteredMaterials.addAll(filteredMaterialsToBeAdded);
 	}
 
 	@Contract("null->false")
 	public boolean isItemBlocked(final @Nullable ItemStack item)
+	{
+		return isItemBlocked(item, getCompiledRules(), null);
+	}
+
+	/**
+	 * Checks all the given items against the filter. The rules are only looked up once and the scratch buffer used to compare multi line lore is shared by all items.
+	 *
+	 * @param items The items that should be checked (e.g. the contents of an inventory). May contain null values.
+	 * @return An array with the same length as the given items array. true for every slot that holds a blocked item.
+	 */
+	public @NotNull boolean[] filter(final @NotNull ItemStack[] items)
+	{
+		CompiledRules rules = getCompiledRules();
+		StringBuilder scratchBuffer = new StringBuilder();
+		boolean[] blocked = new boolean[items.length];
+		for(int i = 0; i < items.length; i++)
+		{
+			blocked[i] = isItemBlocked(items[i], rules, scratchBuffer);
+		}
+		return blocked;
+	}
+
+	private @NotNull CompiledRules getCompiledRules()
+	{
+		CompiledRules rules = compiledRules;
+		if(rules == null)
+		{
+			synchronized(this)
+			{
+				if(compiledRules == null) compiledRules = new CompiledRules(filteredNames, filteredLore);
+				rules = compiledRules;
+			}
+		}
+		return rules;
+	}
+
+	private boolean isItemBlocked(final @Nullable ItemStack item, final @NotNull CompiledRules rules, @Nullable StringBuilder scratchBuffer)
 	{
 		if(item == null) return false;
-		if(filteredMaterials.contains(new MinecraftMaterial(item))) return !whitelistMode;
-		if(item.hasItemMeta())
+		if(!filteredMaterials.isEmpty() && filteredMaterials.contains(new MinecraftMaterial(item))) return !whitelistMode;
+		if(!rules.isEmpty() && item.hasItemMeta())
 		{
 			ItemMeta meta = item.getItemMeta();
-			if(meta.hasDisplayName() && filteredNames.contains(meta.getDisplayName())) return !whitelistMode;
-			if(meta.hasLore() && !filteredLore.isEmpty())
+			if(meta.hasDisplayName() && rules.names.contains(meta.getDisplayName())) return !whitelistMode;
+			if(meta.hasLore() && !rules.lore.isEmpty())
 			{
-				StringBuilder loreBuilder = new StringBuilder();
-				for(String loreLine : meta.getLore())
+				List<String> lore = meta.getLore();
+				int joinedHash = 0;
+				for(int i = 0; i < lore.size(); i++)
+				{
+					String loreLine = lore.get(i);
+					if(rules.lore.contains(loreLine)) return !whitelistMode;
+					if(i > 0) joinedHash = joinedHash * 31 + '\n';
+					joinedHash = joinedHash * pow31(loreLine.length()) + loreLine.hashCode();
+				}
+				// The joined lore only needs to be built if the hash matches one of the multi line entries
+				if(lore.size() > 1 && rules.multiLineLore.mightContain(joinedHash))
 				{
-					if(filteredLore.contains(loreLine)) return !whitelistMode;
-					if(loreBuilder.length() > 0) loreBuilder.append("\n");
-					loreBuilder.append(loreLine);
+					if(scratchBuffer == null) scratchBuffer = new StringBuilder();
+					scratchBuffer.setLength(0);
+					for(String loreLine : lore)
+					{
+						if(scratchBuffer.length() > 0) scratchBuffer.append('\n');
+						scratchBuffer.append(loreLine);
+					}
+					if(rules.multiLineLore.contains(joinedHash, scratchBuffer)) return !whitelistMode;
 				}
-				if(filteredLore.contains(loreBuilder.toString())) return !whitelistMode;
 			}
 		}
 		return whitelistMode;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Calculates 31^exponent with int overflow, the factor {@link String#hashCode()} uses to shift the hash of a prefix in front of a following string.
+	 */
+	private static int pow31(int exponent)
+	{
+		int result = 1, base = 31;
+		while(exponent > 0)
+		{
+			if((exponent & 1) != 0) result *= base;
+			base *= base;
+			exponent >>= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * Immutable snapshot of the name and lore rules, rebuilt when rules are added.
+	 */
+	private static final class CompiledRules
+	{
+		private final HashedStrings names, lore, multiLineLore;
+
+		CompiledRules(final @NotNull Set<String> filteredNames, final @NotNull Set<String> filteredLore)
+		{
+			names = new HashedStrings(filteredNames);
+			lore = new HashedStrings(filteredLore);
+			List<String> multiLine = new ArrayList<>();
+			for(String loreEntry : filteredLore)
+			{
+				if(loreEntry.indexOf('\n') >= 0) multiLine.add(loreEntry);
+			}
+			multiLineLore = new HashedStrings(multiLine);
+		}
+
+		boolean isEmpty()
+		{
+			return names.isEmpty() && lore.isEmpty();
+		}
+	}
+
+	/**
+	 * Set of strings stored as sorted hash codes. The strings are only compared if their hash code matches.
+	 */
+	private static final class HashedStrings
+	{
+		private final int[] hashes;
+		private final String[] values;
+
+		HashedStrings(final @NotNull Collection<String> strings)
+		{
+			String[] sorted = strings.toArray(new String[0]);
+			Arrays.sort(sorted, Comparator.comparingInt(String::hashCode));
+			values = sorted;
+			hashes = new int[sorted.length];
+			for(int i = 0; i < sorted.length; i++)
+			{
+				hashes[i] = sorted[i].hashCode();
+			}
+		}
+
+		boolean isEmpty()
+		{
+			return hashes.length == 0;
+		}
+
+		boolean mightContain(final int hash)
+		{
+			return hashes.length != 0 && Arrays.binarySearch(hashes, hash) >= 0;
+		}
+
+		boolean contains(final @Nullable String string)
+		{
+			return string != null && contains(string.hashCode(), string);
+		}
+
+		boolean contains(final int hash, final @NotNull CharSequence string)
+		{
+			if(hashes.length == 0) return false;
+			int index = Arrays.binarySearch(hashes, hash);
+			if(index < 0) return false;
+			while(index > 0 && hashes[index - 1] == hash) index--; // Hash collisions, go to the first entry with the hash
+			for(; index < hashes.length && hashes[index] == hash; index++)
+			{
+				if(values[index].contentEquals(string)) return true;
+			}
+			return false;
+		}
+	}
+}
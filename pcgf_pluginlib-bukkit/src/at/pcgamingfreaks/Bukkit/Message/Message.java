@@ -67,6 +67,7 @@ public final class Message extends at.pcgamingfreaks.Message.Message<Message, Pl
 	 * Gets the method used to display this message on the client.
 	 */
 	@Getter private @NotNull SendMethod sendMethod = PRE_1_8_MC ? SendMethod.CHAT_CLASSIC : SendMethod.CHAT;
+	private PlaceholderApiTokens jsonPapiTokens, legacyPapiTokens; // Scan results of the last prepared messages, reused as long as the prepared message doesn't change
 	//endregion
 
 	//region Constructors
@@ -222,13 +223,13 @@ public void send(@NotNull CommandSender target, @Nullable Object... args)
 		if(target instanceof Player && getSendMethod() != SendMethod.CHAT_CLASSIC)
 		{
 			String jsonMsg = prepareMessage(true, args);
-			if(isPlaceholderApiEnabled()) jsonMsg = PlaceholderAPI.setPlaceholders((Player) target, jsonMsg);
+			if(isPlaceholderApiEnabled()) jsonMsg = setPlaceholders((Player) target, scanPlaceholders(jsonMsg, true));
 			sendMethod.getActiveSender().send((Player) target, jsonMsg, optionalParameters);
 		}
 		else
 		{
 			String msg = prepareMessage(false, args);
-			if(isPlaceholderApiEnabled() && target instanceof Player) msg = PlaceholderAPI.setPlaceholders((Player) target, msg);
+			if(isPlaceholderApiEnabled() && target instanceof Player) msg = setPlaceholders((Player) target, scanPlaceholders(msg, false));
 			target.sendMessage(msg);
 		}
 	}
@@ -249,19 +250,21 @@ public void send(@NotNull Collection<? extends Player> targets, @Nullable Object
 		if(getSendMethod() == SendMethod.CHAT_CLASSIC)
 		{
 			String msg = prepareMessage(false, args);
+			PlaceholderApiTokens papiTokens = isPlaceholderApiEnabled() ? scanPlaceholders(msg, false) : null;
 			for(Player player : targets)
 			{
-				player.sendMessage((isPlaceholderApiEnabled()) ? PlaceholderAPI.setPlaceholders(player, msg) : msg);
+				player.sendMessage((papiTokens != null && papiTokens.hasTokens()) ? setPlaceholders(player, papiTokens) : msg);
 			}
 		}
 		else
 		{
 			String jsonMsg = prepareMessage(true, args);
-			if(isPlaceholderApiEnabled())
-			{
+			PlaceholderApiTokens papiTokens = isPlaceholderApiEnabled() ? scanPlaceholders(jsonMsg, true) : null;
+			if(papiTokens != null && papiTokens.hasTokens())
+			{ // Only the tokens found by the scan are resolved for every player, the message itself isn't scanned again
 				for(Player player : targets)
 				{
-					sendMethod.getActiveSender().send(player, PlaceholderAPI.setPlaceholders(player, jsonMsg));
+					sendMethod.getActiveSender().send(player, setPlaceholders(player, papiTokens), optionalParameters);
 				}
 			}
 			else
@@ -310,13 +313,13 @@ public void send(@NotNull CommandSender target, @NotNull OfflinePlayer playerFor
 		if(target instanceof Player && getSendMethod() != SendMethod.CHAT_CLASSIC)
 		{
 			String jsonMsg = prepareMessage(true, args);
-			if(isPlaceholderApiEnabled()) jsonMsg = PlaceholderAPI.setPlaceholders(playerForPAPI, jsonMsg);
+			if(isPlaceholderApiEnabled()) jsonMsg = setPlaceholders(playerForPAPI, scanPlaceholders(jsonMsg, true));
 			sendMethod.getActiveSender().send((Player) target, jsonMsg, optionalParameters);
 		}
 		else
 		{
 			String msg = prepareMessage(false, args);
-			if(isPlaceholderApiEnabled()) msg = PlaceholderAPI.setPlaceholders(playerForPAPI, msg);
+			if(isPlaceholderApiEnabled()) msg = setPlaceholders(playerForPAPI, scanPlaceholders(msg, false));
 			target.sendMessage(msg);
 		}
 	}
@@ -337,7 +340,7 @@ public void send(@NotNull Collection<? extends Player> targets, OfflinePlayer pl
 		if(getSendMethod() == SendMethod.CHAT_CLASSIC)
 		{
 			String msg = prepareMessage(false, args);
-			if(isPlaceholderApiEnabled()) msg = PlaceholderAPI.setPlaceholders(playerForPAPI, msg);
+			if(isPlaceholderApiEnabled()) msg = setPlaceholders(playerForPAPI, scanPlaceholders(msg, false));
 			for(Player player : targets)
 			{
 				player.sendMessage(msg);
@@ -346,7 +349,7 @@ public void send(@NotNull Collection<? extends Player> targets, OfflinePlayer pl
 		else
 		{
 			String jsonMsg = prepareMessage(true, args);
-			if(isPlaceholderApiEnabled()) jsonMsg = PlaceholderAPI.setPlaceholders(playerForPAPI, jsonMsg);
+			if(isPlaceholderApiEnabled()) jsonMsg = setPlaceholders(playerForPAPI, scanPlaceholders(jsonMsg, true));
 			sendMethod.getActiveSender().send(targets, jsonMsg, optionalParameters);
 		}
 	}
@@ -363,7 +366,7 @@ public void broadcast(@NotNull OfflinePlayer playerForPAPI, @Nullable Object...
 	{
 		if(getSendMethod() == SendMethod.DISABLED) return;
 		String msg = prepareMessage(false, args);
-		if(isPlaceholderApiEnabled()) msg = PlaceholderAPI.setPlaceholders(playerForPAPI, msg);
+		if(isPlaceholderApiEnabled()) msg = setPlaceholders(playerForPAPI, scanPlaceholders(msg, false));
 		if(getSendMethod() == SendMethod.CHAT_CLASSIC)
 		{
 			Bukkit.broadcastMessage(msg);
@@ -372,11 +375,24 @@ public void broadcast(@NotNull OfflinePlayer playerForPAPI, @Nullable Object...
 		{
 			Bukkit.getConsoleSender().sendMessage(msg); // Send the message to the console
 			String jsonMsg = prepareMessage(true, args);
-			if(isPlaceholderApiEnabled()) jsonMsg = PlaceholderAPI.setPlaceholders(playerForPAPI, jsonMsg);
+			if(isPlaceholderApiEnabled()) jsonMsg = setPlaceholders(playerForPAPI, scanPlaceholders(jsonMsg, true));
 			sendMethod.broadcast(jsonMsg, optionalParameters);
 		}
 	}
 
+	private @NotNull PlaceholderApiTokens scanPlaceholders(final @NotNull String preparedMessage, final boolean json)
+	{
+		PlaceholderApiTokens tokens = PlaceholderApiTokens.scan(preparedMessage, json ? jsonPapiTokens : legacyPapiTokens);
+		if(json) jsonPapiTokens = tokens;
+		else legacyPapiTokens = tokens;
+		return tokens;
+	}
+
+	private static @NotNull String setPlaceholders(final @NotNull OfflinePlayer player, final @NotNull PlaceholderApiTokens tokens)
+	{
+		return tokens.resolve(token -> PlaceholderAPI.setPlaceholders(player, token));
+	}
+
 	/**
 	 * Fills the placeholders in the message and returns it.
 	 * The message will be returned as a legacy formatted message.
@@ -0,0 +1,105 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit.Message;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * The PlaceholderAPI tokens (%identifier_params%) of a prepared message and their positions.
+ * The message is scanned once, every recipient then only needs to resolve the tokens themselves, the rest of the message is copied as it is.
+ */
+final class PlaceholderApiTokens
+{
+	private final String source;
+	private final String[] literals; // Text before, between and after the tokens, always one more than tokens
+	private final String[] tokens; // The tokens including the % signs
+
+	private PlaceholderApiTokens(final @NotNull String source, final @NotNull String[] literals, final @NotNull String[] tokens)
+	{
+		this.source = source;
+		this.literals = literals;
+		this.tokens = tokens;
+	}
+
+	/**
+	 * Scans the given text for PlaceholderAPI tokens.
+	 *
+	 * @param text The text to scan.
+	 * @param cached The result of the last scan. It will be returned if it has been created for the same text instance.
+	 * @return The tokens of the text.
+	 */
+	static @NotNull PlaceholderApiTokens scan(final @NotNull String text, final @Nullable PlaceholderApiTokens cached)
+	{
+		if(cached != null && cached.source == text) return cached;
+		List<String> literals = new ArrayList<>(), tokens = new ArrayList<>();
+		// Same rules as PlaceholderAPI: a space before the first _ ends the token, a token without an _ is not a placeholder
+		int literalStart = 0, start = text.indexOf('%'), end;
+		while(start >= 0)
+		{
+			boolean identified = false;
+			for(end = start + 1; end < text.length(); end++)
+			{
+				char c = text.charAt(end);
+				if(c == '%' || (c == ' ' && !identified)) break;
+				if(c == '_') identified = true;
+			}
+			if(end >= text.length()) break;
+			if(text.charAt(end) == ' ')
+			{
+				start = text.indexOf('%', end);
+				continue;
+			}
+			if(identified)
+			{
+				literals.add(text.substring(literalStart, start));
+				tokens.add(text.substring(start, end + 1));
+				literalStart = end + 1;
+			}
+			start = text.indexOf('%', end + 1);
+		}
+		literals.add(text.substring(literalStart));
+		return new PlaceholderApiTokens(text, literals.toArray(new String[0]), tokens.toArray(new String[0]));
+	}
+
+	boolean hasTokens()
+	{
+		return tokens.length > 0;
+	}
+
+	/**
+	 * Builds the message with the resolved tokens.
+	 *
+	 * @param tokenResolver Resolves a single token (including its % signs). Returns the token unchanged if it is not a known placeholder.
+	 * @return The message with the resolved tokens. The scanned text itself if it doesn't contain any tokens.
+	 */
+	@NotNull String resolve(final @NotNull UnaryOperator<String> tokenResolver)
+	{
+		if(tokens.length == 0) return source;
+		StringBuilder builder = new StringBuilder(source.length() + tokens.length * 16);
+		for(int i = 0; i < tokens.length; i++)
+		{
+			builder.append(literals[i]).append(tokenResolver.apply(tokens[i]));
+		}
+		return builder.append(literals[tokens.length]).toString();
+	}
+}
@@ -18,6 +18,8 @@
 package at.pcgamingfreaks.Bukkit.Particles;
 
 import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.EnumMap;
 import java.util.Map;
@@ -46,6 +48,22 @@ public void spawnParticle(Location location, Particle type, Object particleData,
 		location.getWorld().spawnParticle(particle, location, count, offsetX, offsetY, offsetZ, speed, particleData);
 	}
 
+	@Override
+	public @NotNull ParticleTemplate createTemplate(final @NotNull Particle type, final @Nullable Object particleData)
+	{
+		final org.bukkit.Particle particle = PARTICLE_MAP.get(type);
+		return new ParticleTemplate(type, particleData)
+		{
+			@Override
+			public void spawn(final @NotNull Location location, final double visibleRange, final int count, final float offsetX, final float offsetY, final float offsetZ, final float speed)
+			{
+				if(particle == null) return;
+				if(particleData == null) location.getWorld().spawnParticle(particle, location, count, offsetX, offsetY, offsetZ, speed);
+				else location.getWorld().spawnParticle(particle, location, count, offsetX, offsetY, offsetZ, speed, particleData);
+			}
+		};
+	}
+
 	@Override
 	public void spawnParticle(Location location, Particle type, double visibleRange, int count, float offsetX, float offsetY, float offsetZ, float speed)
 	{
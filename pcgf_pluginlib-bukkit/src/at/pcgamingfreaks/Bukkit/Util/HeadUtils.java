@@ -25,12 +25,31 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Base64;
-import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+import java.util.*;
 
 public class HeadUtils
 {
 	public static final Material HEAD_MATERIAL = MCVersion.isNewerOrEqualThan(MCVersion.MC_1_13) ? Material.valueOf("PLAYER_HEAD") : Material.valueOf("SKULL_ITEM");
+	private static final int MAX_CACHED_HEADS = 256;
+	private static final Map<HeadKey, ItemStack> HEAD_CACHE = new LinkedHashMap<HeadKey, ItemStack>(64, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<HeadKey, ItemStack> eldest)
+		{
+			return size() > MAX_CACHED_HEADS;
+		}
+	};
+
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static final class HeadKey
+	{
+		private final String value, itemName;
+		private final UUID ownerUUID;
+	}
 
 	public static ItemStack createHeadItemStack()
 	{
@@ -57,14 +76,69 @@ public static ItemStack fromUrl(final @NotNull ItemStack item, final @NotNull St
 		return fromBase64(item, encodeUrl(url), itemName, ownerUUID);
 	}
 
+	/**
+	 * Gets a head with the given texture. The head is cloned from a cached prototype, the NBT data only gets parsed the first time a head is requested.
+	 * Heads requested without an owner share one random owner, so they stack with each other.
+	 *
+	 * @param value The base64 encoded texture value.
+	 * @param itemName The display name of the item. null for no name.
+	 * @param ownerUUID The uuid of the owner. null to use a random one.
+	 * @return A new head item.
+	 */
 	public static ItemStack fromBase64(final @NotNull String value, final @Nullable String itemName, final @Nullable UUID ownerUUID)
 	{
-		return fromBase64(createHeadItemStack(), value, itemName, ownerUUID);
+		return getCachedHead(value, itemName, ownerUUID).clone();
 	}
 
 	public static ItemStack fromBase64(final @NotNull String value, @Nullable String itemName, @Nullable UUID ownerUUID, int amount)
 	{
-		return fromBase64(createHeadItemStack(amount), value, itemName, ownerUUID);
+		ItemStack item = getCachedHead(value, itemName, ownerUUID).clone();
+		item.setAmount(amount);
+		return item;
+	}
+
+	/**
+	 * Builds the cached heads for the given textures. Should be called during plugin enable for heads that will be used in GUIs,
+	 * so the NBT data doesn't have to be parsed when the GUI is opened the first time.
+	 *
+	 * @param values The base64 encoded texture values. The heads are cached without name and owner.
+	 */
+	public static void preWarm(final @NotNull Collection<String> values)
+	{
+		for(String value : values)
+		{
+			getCachedHead(value, null, null);
+		}
+	}
+
+	/**
+	 * Removes all cached heads.
+	 */
+	public static void clearCache()
+	{
+		synchronized(HEAD_CACHE)
+		{
+			HEAD_CACHE.clear();
+		}
+	}
+
+	private static @NotNull ItemStack getCachedHead(final @NotNull String value, final @Nullable String itemName, final @Nullable UUID ownerUUID)
+	{
+		HeadKey key = new HeadKey(value, itemName, ownerUUID);
+		ItemStack head;
+		synchronized(HEAD_CACHE)
+		{
+			head = HEAD_CACHE.get(key);
+		}
+		if(head == null)
+		{ // Build it outside of the lock, a head that has been built twice doesn't hurt
+			head = fromBase64(createHeadItemStack(), value, itemName, ownerUUID);
+			synchronized(HEAD_CACHE)
+			{
+				HEAD_CACHE.put(key, head);
+			}
+		}
+		return head;
 	}
 
 	public static ItemStack fromBase64(final @NotNull ItemStack item, final @NotNull String value, final @Nullable String itemName, @Nullable UUID ownerUUID)
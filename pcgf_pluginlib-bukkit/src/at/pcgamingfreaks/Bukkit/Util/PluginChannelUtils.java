@@ -18,14 +18,13 @@
 package at.pcgamingfreaks.Bukkit.Util;
 
 import at.pcgamingfreaks.Bukkit.PlatformResolver;
+import at.pcgamingfreaks.Util.PluginMessageEncoder;
 
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
+import java.util.Collection;
 
 public class PluginChannelUtils
 {
@@ -72,25 +71,35 @@ public static void sendPluginMessageUnchecked(final @NotNull Plugin plugin, fina
 		INSTANCE.sendPluginMessageUnchecked(plugin, player, channel, message);
 	}
 
+	/**
+	 * Sends the same plugin channel message to many players, without enforcing the minecraft naming conventions added with MC 1.13.
+	 * The message is only wrapped into a packet once and then sent to all the players.
+	 *
+	 * @param plugin The plugin that is sending the plugin channel message.
+	 * @param players The players that should receiver the plugin channel message.
+	 * @param channel The channel that should be used for the plugin message. The channel must have been registered with the {@link PluginChannelUtils#registerOutgoingChannelUnchecked(Plugin, String)} method.
+	 * @param message The plugin channel message that should be sent. Use a {@link PluginMessageEncoder} to build it.
+	 */
+	public static void sendPluginMessageUnchecked(final @NotNull Plugin plugin, final @NotNull Collection<? extends Player> players, final @NotNull String channel, final @NotNull byte[] message)
+	{
+		if(players.isEmpty()) return;
+		INSTANCE.sendPluginMessageUnchecked(plugin, players, channel, message);
+	}
+
 	/**
 	 * Builds a plugin channel message from a string array.
-	 * It will write each string on it's own to a ByteArrayOutputStream and then get the byte array from the output Stream.
+	 * Each string is written the same way {@link java.io.DataOutputStream#writeUTF(String)} would write it, using a pooled {@link PluginMessageEncoder}.
 	 *
 	 * @param msg The string array to process.
-	 * @return The byte array containing the plugin message.
+	 * @return The byte array containing the plugin message. null if one of the strings is too long.
 	 */
 	public static byte[] buildStringArrayMessage(final String... msg)
 	{
-		try(ByteArrayOutputStream stream = new ByteArrayOutputStream(); DataOutputStream out = new DataOutputStream(stream))
+		try
 		{
-			for(String param : msg)
-			{
-				out.writeUTF(param);
-			}
-			out.flush();
-			return stream.toByteArray();
+			return PluginMessageEncoder.encodeStrings(msg);
 		}
-		catch(IOException ignored) {}
+		catch(IllegalArgumentException ignored) {}
 		return null;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit.GUI;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.InventoryView;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class GuiRegistryTest
+{
+	private static InventoryView mockView(final InventoryHolder holder)
+	{
+		Inventory inventory = mock(Inventory.class);
+		doReturn(holder).when(inventory).getHolder();
+		doReturn(27).when(inventory).getSize();
+		InventoryView view = mock(InventoryView.class);
+		doReturn(inventory).when(view).getTopInventory();
+		return view;
+	}
+
+	@Test
+	public void testRegistry()
+	{
+		GuiRegistry registry = new GuiRegistry();
+		IGui gui = mock(IGui.class);
+		InventoryView guiView = mockView(gui), otherView = mockView(null);
+		assertNull("Nothing should be resolved for null", registry.getGui(null));
+		assertFalse("No view should be a gui while none is opened", registry.isGui(guiView));
+		verify(guiView, never()).getTopInventory(); // The holder must not be checked while no gui is opened
+		registry.register(guiView, gui);
+		assertEquals("The registered view should be counted", 1, registry.size());
+		assertSame("The gui should be resolved", gui, registry.getGui(guiView));
+		verify(guiView, never()).getTopInventory();
+		assertFalse("Other views should not be a gui", registry.isGui(otherView));
+		registry.unregister(guiView);
+		assertEquals("The view should be removed", 0, registry.size());
+		registry.register(guiView, gui);
+		registry.clear();
+		assertEquals("All views should be removed", 0, registry.size());
+	}
+
+	@Test
+	public void testUnknownViewFallsBackToHolder()
+	{
+		GuiRegistry registry = new GuiRegistry();
+		IGui gui = mock(IGui.class);
+		registry.register(mockView(gui), gui);
+		InventoryView otherWrapper = mockView(gui); // e.g. a new wrapper object of the same gui inventory
+		assertSame("The gui should be resolved through the holder", gui, registry.getGui(otherWrapper));
+		assertEquals("The fallback should not register the view", 1, registry.size());
+	}
+
+	@Test
+	public void testListener()
+	{
+		GuiListener listener = new GuiListener();
+		GuiRegistry registry = listener.getRegistry();
+		IGui gui = mock(IGui.class);
+		Player player1 = mock(Player.class), player2 = mock(Player.class);
+		InventoryView view1 = mockView(gui), view2 = mockView(gui);
+		listener.onInventoryOpen(mockOpenEvent(view1, player1));
+		listener.onInventoryOpen(mockOpenEvent(view2, player2));
+		verify(gui).onOpen(player1);
+		verify(gui).onOpen(player2);
+		assertEquals("Every viewer should have its own view registered", 2, registry.size());
+
+		InventoryClickEvent click = mock(InventoryClickEvent.class);
+		doReturn(view1).when(click).getView();
+		doReturn(3).when(click).getRawSlot();
+		listener.onInventoryClick(click);
+		verify(click).setCancelled(true);
+		verify(gui).onClick(click);
+		InventoryClickEvent ownInventoryClick = mock(InventoryClickEvent.class);
+		doReturn(view1).when(ownInventoryClick).getView();
+		doReturn(30).when(ownInventoryClick).getRawSlot();
+		listener.onInventoryClick(ownInventoryClick);
+		verify(ownInventoryClick, never()).setCancelled(anyBoolean());
+		InventoryDragEvent drag = mock(InventoryDragEvent.class);
+		doReturn(mockView(gui)).when(drag).getView(); // A view object that has not been registered
+		listener.onItemDrag(drag);
+		verify(drag).setCancelled(true);
+
+		InventoryCloseEvent close1 = mock(InventoryCloseEvent.class);
+		doReturn(view1).when(close1).getView();
+		doReturn(player1).when(close1).getPlayer();
+		listener.onInventoryClose(close1);
+		verify(gui).onClose(player1);
+		assertEquals("The closed view should be removed, even if the gui is still viewed by another player", 1, registry.size());
+		InventoryCloseEvent close2 = mock(InventoryCloseEvent.class);
+		doReturn(view2).when(close2).getView();
+		doReturn(player2).when(close2).getPlayer();
+		listener.onInventoryClose(close2);
+		assertEquals("All views should be removed", 0, registry.size());
+	}
+
+	private static InventoryOpenEvent mockOpenEvent(final InventoryView view, final Player player)
+	{
+		InventoryOpenEvent event = mock(InventoryOpenEvent.class);
+		Inventory inventory = view.getTopInventory();
+		doReturn(view).when(event).getView();
+		doReturn(inventory).when(event).getInventory();
+		doReturn(player).when(event).getPlayer();
+		return event;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ItemFilterTest
+{
+	private static ItemStack mockItem(Material material, String name, String... lore)
+	{
+		ItemStack item = mock(ItemStack.class);
+		doReturn(material).when(item).getType();
+		if(name != null || lore.length > 0)
+		{
+			ItemMeta meta = mock(ItemMeta.class);
+			doReturn(name != null).when(meta).hasDisplayName();
+			doReturn(name).when(meta).getDisplayName();
+			doReturn(lore.length > 0).when(meta).hasLore();
+			doReturn(Arrays.asList(lore)).when(meta).getLore();
+			doReturn(true).when(item).hasItemMeta();
+			doReturn(meta).when(item).getItemMeta();
+		}
+		return item;
+	}
+
+	private static ItemFilter createFilter(boolean whitelistMode)
+	{
+		ItemFilter filter = new ItemFilter(whitelistMode);
+		filter.addFilteredMaterials(Collections.singletonList(new MinecraftMaterial(Material.TNT)));
+		filter.addFilteredNames(Collections.singletonList("Blocked"));
+		// "Aa\nBB" and "BB\nAa" share the same hash code
+		filter.addFilteredLore(Arrays.asList("Soulbound", "Line1\nLine2", "Aa\nBB"));
+		return filter;
+	}
+
+	@Test
+	public void testIsItemBlocked()
+	{
+		ItemFilter filter = createFilter(false);
+		assertFalse("Null should never be blocked", filter.isItemBlocked(null));
+		assertTrue("The material should be blocked", filter.isItemBlocked(mockItem(Material.TNT, null)));
+		assertTrue("The name should be blocked", filter.isItemBlocked(mockItem(Material.STONE, "Blocked")));
+		assertFalse("The name should not be blocked", filter.isItemBlocked(mockItem(Material.STONE, "Allowed")));
+		assertTrue("The lore line should be blocked", filter.isItemBlocked(mockItem(Material.STONE, null, "Other", "Soulbound")));
+		assertTrue("The multi line lore should be blocked", filter.isItemBlocked(mockItem(Material.STONE, null, "Line1", "Line2")));
+		assertFalse("Only the full lore should match the multi line lore", filter.isItemBlocked(mockItem(Material.STONE, null, "Line1", "Line2", "Line3")));
+		assertTrue("The multi line lore should be blocked", filter.isItemBlocked(mockItem(Material.STONE, null, "Aa", "BB")));
+		assertFalse("A lore with the same hash should not be blocked", filter.isItemBlocked(mockItem(Material.STONE, null, "BB", "Aa")));
+		assertTrue("The item should not be blocked in whitelist mode", createFilter(true).isItemBlocked(mockItem(Material.STONE, "Allowed")));
+		assertFalse("The item should be allowed in whitelist mode", createFilter(true).isItemBlocked(mockItem(Material.STONE, "Blocked")));
+	}
+
+	@Test
+	public void testFilter()
+	{
+		ItemFilter filter = createFilter(false);
+		ItemStack[] items = new ItemStack[] { null, mockItem(Material.TNT, null), mockItem(Material.STONE, "Allowed"), mockItem(Material.STONE, null, "Line1", "Line2"), mockItem(Material.STONE, null, "BB", "Aa") };
+		assertArrayEquals("The blocked slots should match", new boolean[] { false, true, false, true, false }, filter.filter(items));
+		filter.addFilteredNames(Collections.singletonList("Allowed"));
+		assertArrayEquals("Added rules should be used", new boolean[] { false, true, true, true, false }, filter.filter(items));
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit.Message;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PlaceholderApiTokensTest
+{
+	@Test
+	public void testScan()
+	{
+		String text = "{\"text\":\"Hello %player_name%, you have %vault_eco_balance% coins\"}";
+		PlaceholderApiTokens tokens = PlaceholderApiTokens.scan(text, null);
+		assertTrue("The tokens should be found", tokens.hasTokens());
+		assertEquals("The tokens should be resolved", "{\"text\":\"Hello <player_name>, you have <vault_eco_balance> coins\"}", tokens.resolve(token -> "<" + token.substring(1, token.length() - 1) + ">"));
+		assertSame("The cached scan should be reused for the same text", tokens, PlaceholderApiTokens.scan(text, tokens));
+		assertNotSame("The cached scan should not be used for another text", tokens, PlaceholderApiTokens.scan("Other", tokens));
+	}
+
+	@Test
+	public void testNoTokens()
+	{
+		String[] texts = { "No placeholders", "100% sure", "%% escaped %%", "%noUnderscore%", "% space_in%", "Unclosed %player_name" };
+		for(String text : texts)
+		{
+			PlaceholderApiTokens tokens = PlaceholderApiTokens.scan(text, null);
+			assertFalse("No tokens should be found in: " + text, tokens.hasTokens());
+			assertSame("The text should be returned as it is", text, tokens.resolve(token -> { throw new AssertionError("Nothing should be resolved"); }));
+		}
+	}
+
+	@Test
+	public void testMixedTokens()
+	{
+		PlaceholderApiTokens tokens = PlaceholderApiTokens.scan("50% %a% of %player_name%% b_c", null);
+		assertEquals("Only valid tokens should be resolved", "50% %a% of X% b_c", tokens.resolve(token -> "X"));
+	}
+}
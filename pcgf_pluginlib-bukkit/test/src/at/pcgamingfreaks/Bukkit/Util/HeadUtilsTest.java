@@ -0,0 +1,163 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit.Util;
+
+import at.pcgamingfreaks.Bukkit.MCVersion;
+
+import org.bukkit.Bukkit;
+import org.bukkit.UnsafeValues;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.*;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ Bukkit.class, MCVersion.class })
+@SuppressWarnings("deprecation")
+public class HeadUtilsTest
+{
+	private static final String TEXTURE_1 = "dGV4dHVyZTE=", TEXTURE_2 = "dGV4dHVyZTI=";
+	private UnsafeValues unsafe;
+
+	@Before
+	public void prepareTestData() throws Exception
+	{
+		mockStatic(MCVersion.class);
+		doReturn(true).when(MCVersion.class, "isNewerOrEqualThan", any());
+		doReturn(false).when(MCVersion.class, "isOlderThan", any());
+		unsafe = mock(UnsafeValues.class);
+		doAnswer(invocationOnMock -> invocationOnMock.getArgument(0)).when(unsafe).modifyItemStack(any(ItemStack.class), anyString());
+		mockStatic(Bukkit.class);
+		when(Bukkit.getUnsafe()).thenReturn(unsafe);
+		HeadUtils.clearCache();
+	}
+
+	@Test
+	public void testHeadsAreClonedFromCache()
+	{
+		ItemStack head1 = HeadUtils.fromBase64(TEXTURE_1, "Head", null);
+		ItemStack head2 = HeadUtils.fromBase64(TEXTURE_1, "Head", null);
+		assertNotSame("Every call should return a new item", head1, head2);
+		verify(unsafe, times(1)).modifyItemStack(any(ItemStack.class), anyString());
+		ItemStack head3 = HeadUtils.fromBase64(TEXTURE_1, "Head", null, 5);
+		assertEquals("The amount should be set on the returned item", 5, head3.getAmount());
+		assertEquals("The amount of the cached head should not be changed", 1, HeadUtils.fromBase64(TEXTURE_1, "Head", null).getAmount());
+		verify(unsafe, times(1)).modifyItemStack(any(ItemStack.class), anyString());
+	}
+
+	@Test
+	public void testCacheKey()
+	{
+		UUID owner = UUID.randomUUID();
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		HeadUtils.fromBase64(TEXTURE_2, null, null);
+		HeadUtils.fromBase64(TEXTURE_1, "Head", null);
+		HeadUtils.fromBase64(TEXTURE_1, null, owner);
+		HeadUtils.fromBase64(TEXTURE_1, "Head", owner);
+		verify(unsafe, times(5)).modifyItemStack(any(ItemStack.class), anyString());
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		HeadUtils.fromBase64(TEXTURE_2, null, null);
+		HeadUtils.fromBase64(TEXTURE_1, "Head", null);
+		HeadUtils.fromBase64(TEXTURE_1, null, owner);
+		HeadUtils.fromBase64(TEXTURE_1, "Head", UUID.fromString(owner.toString()));
+		verify(unsafe, times(5)).modifyItemStack(any(ItemStack.class), anyString());
+	}
+
+	@Test
+	public void testNullOwnerIsSharedPerCacheEntry()
+	{
+		ArgumentCaptor<String> nbtCaptor = ArgumentCaptor.forClass(String.class);
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		HeadUtils.fromBase64(TEXTURE_2, null, null);
+		verify(unsafe, times(2)).modifyItemStack(any(ItemStack.class), nbtCaptor.capture());
+		List<String> nbt = nbtCaptor.getAllValues();
+		assertNotEquals("Heads with a different texture should not share the random owner", getOwner(nbt.get(0)), getOwner(nbt.get(1)));
+		HeadUtils.clearCache();
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		verify(unsafe, times(3)).modifyItemStack(any(ItemStack.class), nbtCaptor.capture());
+		assertNotEquals("A rebuilt head should get a new random owner", getOwner(nbt.get(0)), getOwner(nbtCaptor.getValue()));
+	}
+
+	@Test
+	public void testGivenOwnerIsUsed()
+	{
+		ArgumentCaptor<String> nbtCaptor = ArgumentCaptor.forClass(String.class);
+		UUID owner = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+		HeadUtils.fromBase64(TEXTURE_1, null, owner);
+		verify(unsafe).modifyItemStack(any(ItemStack.class), nbtCaptor.capture());
+		assertEquals("The owner should be written as int array", "[I;19088743,-1985229329,19088743,-1985229329]", getOwner(nbtCaptor.getValue()));
+	}
+
+	@Test
+	public void testPreWarm()
+	{
+		HeadUtils.preWarm(Arrays.asList(TEXTURE_1, TEXTURE_2));
+		verify(unsafe, times(2)).modifyItemStack(any(ItemStack.class), anyString());
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		HeadUtils.fromBase64(TEXTURE_2, null, null);
+		verify(unsafe, times(2)).modifyItemStack(any(ItemStack.class), anyString());
+		HeadUtils.fromBase64(TEXTURE_1, "Head", null);
+		verify(unsafe, times(3)).modifyItemStack(any(ItemStack.class), anyString());
+	}
+
+	@Test
+	public void testClearCache()
+	{
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		HeadUtils.clearCache();
+		HeadUtils.fromBase64(TEXTURE_1, null, null);
+		verify(unsafe, times(2)).modifyItemStack(any(ItemStack.class), anyString());
+	}
+
+	@Test
+	public void testCacheIsLimited()
+	{
+		List<String> textures = new ArrayList<>(257);
+		for(int i = 0; i < 257; i++) textures.add("texture" + i);
+		HeadUtils.preWarm(textures.subList(0, 256));
+		verify(unsafe, times(256)).modifyItemStack(any(ItemStack.class), anyString());
+		HeadUtils.fromBase64(textures.get(0), null, null); // Mark the first head as recently used
+		HeadUtils.fromBase64(textures.get(256), null, null); // Evicts the least recently used head
+		verify(unsafe, times(257)).modifyItemStack(any(ItemStack.class), anyString());
+		HeadUtils.fromBase64(textures.get(0), null, null);
+		HeadUtils.fromBase64(textures.get(256), null, null);
+		verify(unsafe, times(257)).modifyItemStack(any(ItemStack.class), anyString());
+		HeadUtils.fromBase64(textures.get(1), null, null);
+		verify(unsafe, times(258)).modifyItemStack(any(ItemStack.class), anyString());
+	}
+
+	private static String getOwner(String nbt)
+	{
+		int start = nbt.indexOf("SkullOwner:{Id:") + "SkullOwner:{Id:".length();
+		return nbt.substring(start, nbt.indexOf(",Properties", start));
+	}
+}
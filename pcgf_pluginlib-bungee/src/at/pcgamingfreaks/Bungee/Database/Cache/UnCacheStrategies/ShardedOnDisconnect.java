@@ -0,0 +1,245 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bungee.Database.Cache.UnCacheStrategies;
+
+import at.pcgamingfreaks.Database.Cache.BaseUnCacheStrategy;
+import at.pcgamingfreaks.Database.Cache.ICacheablePlayer;
+import at.pcgamingfreaks.Database.Cache.IPlayerCache;
+
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.scheduler.ScheduledTask;
+import net.md_5.bungee.event.EventHandler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Uncaches players after they disconnected without blocking the event or scheduler threads of the proxy.
+ * The players are sharded by their UUID onto a fixed number of lanes. Each lane has a bounded queue that gets processed asynchronously
+ * in batches, with at most one task per lane running or waiting at any time. If a lane's queue is full (e.g. a backend restarted and thousands
+ * of players disconnected at once) the lane is marked as overflowed and sweeps its shard of the cache once it caught up with its queue.
+ */
+public class ShardedOnDisconnect extends BaseUnCacheStrategy implements Listener
+{
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	private final Plugin plugin;
+	private final long delay; // in ms
+	private final int batchSize;
+	private final Lane[] lanes;
+	private volatile boolean closed = false;
+
+	/**
+	 * @param plugin The plugin owning the cache.
+	 * @param cache The cache from which the players should be removed.
+	 * @param delay The delay in seconds after the disconnect before the player gets uncached. 0 to uncache them right away.
+	 * @param lanes The number of lanes the players get sharded onto.
+	 * @param batchSize The maximum number of players uncached by a lane in one run.
+	 */
+	public ShardedOnDisconnect(final @NotNull Plugin plugin, final @NotNull IPlayerCache cache, final long delay, final int lanes, final int batchSize)
+	{
+		this(plugin, cache, delay, lanes, batchSize, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @param plugin The plugin owning the cache.
+	 * @param cache The cache from which the players should be removed.
+	 * @param delay The delay in seconds after the disconnect before the player gets uncached. 0 to uncache them right away.
+	 * @param lanes The number of lanes the players get sharded onto.
+	 * @param batchSize The maximum number of players uncached by a lane in one run.
+	 * @param queueCapacity The maximum number of pending players per lane.
+	 */
+	public ShardedOnDisconnect(final @NotNull Plugin plugin, final @NotNull IPlayerCache cache, final long delay, final int lanes, final int batchSize, final int queueCapacity)
+	{
+		super(cache);
+		if(lanes < 1 || batchSize < 1 || queueCapacity < 1) throw new IllegalArgumentException("The lane count, batch size and queue capacity must be positive!");
+		this.plugin = plugin;
+		this.delay = TimeUnit.SECONDS.toMillis(Math.max(0, delay));
+		this.batchSize = batchSize;
+		this.lanes = new Lane[lanes];
+		for(int i = 0; i < lanes; i++)
+		{
+			this.lanes[i] = new Lane(i, queueCapacity);
+		}
+		plugin.getProxy().getPluginManager().registerListener(plugin, this);
+	}
+
+	@EventHandler(priority = Byte.MAX_VALUE)
+	public void playerLeaveEvent(PlayerDisconnectEvent event)
+	{
+		UUID uuid = event.getPlayer().getUniqueId();
+		lanes[getLane(uuid)].offer(uuid);
+	}
+
+	private int getLane(final @NotNull UUID uuid)
+	{
+		return (uuid.hashCode() & 0x7FFFFFFF) % lanes.length;
+	}
+
+	public int getLaneCount()
+	{
+		return lanes.length;
+	}
+
+	/**
+	 * @param lane The index of the lane.
+	 * @return The number of players waiting to be uncached by the lane.
+	 */
+	public int getQueueDepth(final int lane)
+	{
+		return lanes[lane].queue.size();
+	}
+
+	/**
+	 * @return The number of players waiting to be uncached, for every lane.
+	 */
+	public int[] getQueueDepths()
+	{
+		int[] depths = new int[lanes.length];
+		for(int i = 0; i < lanes.length; i++)
+		{
+			depths[i] = lanes[i].queue.size();
+		}
+		return depths;
+	}
+
+	private boolean tryUnCache(final @Nullable ICacheablePlayer player)
+	{
+		if(player == null || player.isOnline() || !player.canBeUncached()) return false;
+		cache.unCache(player);
+		return true;
+	}
+
+	@Override
+	public void close()
+	{
+		closed = true;
+		plugin.getProxy().getPluginManager().unregisterListener(this);
+		for(Lane lane : lanes)
+		{
+			lane.close();
+		}
+	}
+
+	private static final class PendingUnCache
+	{
+		private final UUID uuid;
+		private final long due;
+
+		private PendingUnCache(final @NotNull UUID uuid, final long due)
+		{
+			this.uuid = uuid;
+			this.due = due;
+		}
+	}
+
+	private final class Lane implements Runnable
+	{
+		private final int index;
+		private final BlockingQueue<PendingUnCache> queue;
+		private final AtomicBoolean scheduled = new AtomicBoolean(false);
+		private volatile boolean overflowed = false;
+		private volatile ScheduledTask task;
+
+		private Lane(final int index, final int queueCapacity)
+		{
+			this.index = index;
+			queue = new ArrayBlockingQueue<>(queueCapacity);
+		}
+
+		private void offer(final @NotNull UUID uuid)
+		{
+			if(!queue.offer(new PendingUnCache(uuid, System.currentTimeMillis() + delay))) overflowed = true; // Never block the event thread, the sweep will pick the player up
+			schedule(0);
+		}
+
+		private void schedule(final long delayMs)
+		{
+			if(closed || !scheduled.compareAndSet(false, true)) return;
+			if(delayMs > 0) task = plugin.getProxy().getScheduler().schedule(plugin, this, delayMs, TimeUnit.MILLISECONDS);
+			else task = plugin.getProxy().getScheduler().runAsync(plugin, this);
+		}
+
+		@Override
+		public void run()
+		{
+			long now = System.currentTimeMillis(), nextRun = 0;
+			try
+			{
+				PendingUnCache pending;
+				for(int processed = 0; processed < batchSize && !closed && (pending = queue.peek()) != null; processed++)
+				{
+					if(pending.due > now)
+					{ // The delay is the same for all players, so all following entries are not due either
+						nextRun = pending.due - now;
+						break;
+					}
+					queue.poll();
+					tryUnCache(cache.getCachedPlayer(pending.uuid));
+				}
+				if(overflowed && queue.isEmpty() && !closed) nextRun = sweep(now);
+			}
+			catch(Exception e)
+			{
+				plugin.getLogger().warning("Failed to uncache players! " + e.getMessage());
+			}
+			finally
+			{
+				scheduled.set(false);
+			}
+			// Reschedule instead of looping, so that every lane gets its share of the worker threads
+			if(!queue.isEmpty() || nextRun > 0) schedule(nextRun);
+		}
+
+		/**
+		 * Uncaches the players of the lane's shard that got dropped because the queue was full.
+		 *
+		 * @return The time in ms until the sweep has to be repeated for players which are not due yet. 0 if not needed.
+		 */
+		private long sweep(final long now)
+		{
+			overflowed = false; // Reset before the sweep, players dropped while sweeping will trigger another one
+			long nextDue = Long.MAX_VALUE;
+			for(ICacheablePlayer player : cache.getCachedPlayers())
+			{
+				if(getLane(player.getUUID()) != index || player.isOnline() || !player.canBeUncached()) continue;
+				long due = player.getLastPlayed() + delay;
+				if(due <= now) tryUnCache(player);
+				else nextDue = Math.min(nextDue, due);
+			}
+			if(nextDue == Long.MAX_VALUE) return 0;
+			overflowed = true;
+			return nextDue - now;
+		}
+
+		private void close()
+		{
+			ScheduledTask task = this.task;
+			if(task != null) task.cancel();
+			queue.clear();
+		}
+	}
+}
@@ -45,6 +45,7 @@ private UnCacheStrategyMaker()
 		{
 			case ON_DISCONNECT: return new OnDisconnect(plugin, cache);
 			case ON_DISCONNECT_DELAYED: return new OnDisconnectDelayed(plugin, cache, delay);
+			case ON_DISCONNECT_SHARDED: return new ShardedOnDisconnect(plugin, cache, delay, config.getUnCacheLanes(), config.getUnCacheBatchSize());
 			case INTERVAL_DELAYED: return new IntervalDelayed(plugin, cache, delay, interval);
 			case INTERVAL: default: return new Interval(plugin, cache, delay, interval);
 		}
@@ -0,0 +1,230 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bungee.Database.Cache.UnCacheStrategies;
+
+import at.pcgamingfreaks.Database.Cache.ICacheablePlayer;
+import at.pcgamingfreaks.Database.Cache.IPlayerCache;
+
+import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.plugin.PluginManager;
+import net.md_5.bungee.api.scheduler.ScheduledTask;
+import net.md_5.bungee.api.scheduler.TaskScheduler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ PluginManager.class })
+public class ShardedOnDisconnectTest
+{
+	private Plugin plugin;
+	private PluginManager pluginManager;
+	private TaskScheduler scheduler;
+	private ScheduledTask task;
+	private final List<Runnable> asyncTasks = new ArrayList<>();
+	private TestCache cache;
+
+	@Before
+	public void prepareTestObjects()
+	{
+		plugin = mock(Plugin.class);
+		ProxyServer proxy = mock(ProxyServer.class);
+		pluginManager = PowerMockito.mock(PluginManager.class);
+		scheduler = mock(TaskScheduler.class);
+		task = mock(ScheduledTask.class);
+		doReturn(proxy).when(plugin).getProxy();
+		doReturn(pluginManager).when(proxy).getPluginManager();
+		doReturn(scheduler).when(proxy).getScheduler();
+		asyncTasks.clear();
+		doAnswer(invocationOnMock -> {
+			asyncTasks.add(invocationOnMock.getArgument(1));
+			return task;
+		}).when(scheduler).runAsync(any(Plugin.class), any(Runnable.class));
+		doReturn(task).when(scheduler).schedule(any(Plugin.class), any(Runnable.class), anyLong(), any(TimeUnit.class));
+		cache = new TestCache();
+	}
+
+	/**
+	 * Runs the tasks that have been scheduled so far. Tasks scheduled by them are not run.
+	 */
+	private void runAsyncTasks()
+	{
+		List<Runnable> tasks = new ArrayList<>(asyncTasks);
+		asyncTasks.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+	private @NotNull ICacheablePlayer disconnect(final @NotNull ShardedOnDisconnect strategy, final long lastPlayed)
+	{
+		UUID uuid = UUID.randomUUID();
+		ICacheablePlayer player = mock(ICacheablePlayer.class);
+		doReturn(uuid).when(player).getUUID();
+		doReturn(lastPlayed).when(player).getLastPlayed();
+		doReturn(true).when(player).canBeUncached();
+		cache.players.put(uuid, player);
+		ProxiedPlayer proxiedPlayer = mock(ProxiedPlayer.class);
+		doReturn(uuid).when(proxiedPlayer).getUniqueId();
+		PlayerDisconnectEvent event = mock(PlayerDisconnectEvent.class);
+		doReturn(proxiedPlayer).when(event).getPlayer();
+		strategy.playerLeaveEvent(event);
+		return player;
+	}
+
+	private static int getLane(final @NotNull ICacheablePlayer player, final int lanes)
+	{
+		return (player.getUUID().hashCode() & 0x7FFFFFFF) % lanes;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLaneCount()
+	{
+		new ShardedOnDisconnect(plugin, cache, 0, 0, 1);
+	}
+
+	@Test
+	public void testLaneAssignment()
+	{
+		ShardedOnDisconnect strategy = new ShardedOnDisconnect(plugin, cache, 0, 4, 100);
+		verify(pluginManager).registerListener(plugin, strategy);
+		assertEquals("The lane count should match", 4, strategy.getLaneCount());
+		int[] expectedDepths = new int[4];
+		for(int i = 0; i < 50; i++)
+		{
+			expectedDepths[getLane(disconnect(strategy, 0), 4)]++;
+		}
+		assertArrayEquals("The players should be sharded by their uuid", expectedDepths, strategy.getQueueDepths());
+		for(int i = 0; i < 4; i++) assertEquals("The queue depth of the lane should match", expectedDepths[i], strategy.getQueueDepth(i));
+		int usedLanes = (int) Arrays.stream(expectedDepths).filter(depth -> depth > 0).count();
+		assertEquals("Only one task per lane should be scheduled", usedLanes, asyncTasks.size());
+		runAsyncTasks();
+		assertArrayEquals("All queues should be processed", new int[4], strategy.getQueueDepths());
+		assertTrue("All players should be uncached", cache.players.isEmpty());
+		assertTrue("Nothing should be rescheduled", asyncTasks.isEmpty());
+	}
+
+	@Test
+	public void testBatchLimit()
+	{
+		ShardedOnDisconnect strategy = new ShardedOnDisconnect(plugin, cache, 0, 1, 2);
+		for(int i = 0; i < 5; i++) disconnect(strategy, 0);
+		assertEquals("Only one task should be scheduled", 1, asyncTasks.size());
+		runAsyncTasks();
+		assertEquals("Only one batch should be processed per run", 3, strategy.getQueueDepth(0));
+		assertEquals("The lane should be rescheduled", 1, asyncTasks.size());
+		runAsyncTasks();
+		assertEquals("Only one batch should be processed per run", 1, strategy.getQueueDepth(0));
+		runAsyncTasks();
+		assertEquals("The queue should be empty", 0, strategy.getQueueDepth(0));
+		assertTrue("All players should be uncached", cache.players.isEmpty());
+		assertTrue("Nothing should be rescheduled", asyncTasks.isEmpty());
+	}
+
+	@Test
+	public void testOnlinePlayersAreKept()
+	{
+		ShardedOnDisconnect strategy = new ShardedOnDisconnect(plugin, cache, 0, 1, 10);
+		ICacheablePlayer online = disconnect(strategy, 0), locked = disconnect(strategy, 0);
+		doReturn(true).when(online).isOnline();
+		doReturn(false).when(locked).canBeUncached();
+		disconnect(strategy, 0);
+		runAsyncTasks();
+		assertEquals("Only the offline player should be uncached", new HashSet<>(Arrays.asList(online, locked)), new HashSet<>(cache.players.values()));
+	}
+
+	@Test
+	public void testDelay()
+	{
+		ShardedOnDisconnect strategy = new ShardedOnDisconnect(plugin, cache, 60, 1, 10);
+		disconnect(strategy, System.currentTimeMillis());
+		runAsyncTasks();
+		assertEquals("The player should not be uncached before the delay", 1, cache.players.size());
+		assertEquals("The player should stay queued", 1, strategy.getQueueDepth(0));
+		ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+		ArgumentCaptor<Runnable> lane = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(eq(plugin), lane.capture(), delay.capture(), eq(TimeUnit.MILLISECONDS));
+		assertTrue("The lane should be rescheduled when the player is due", delay.getValue() > 0 && delay.getValue() <= 60000);
+		disconnect(strategy, System.currentTimeMillis());
+		assertTrue("No other task should be scheduled while the lane is waiting", asyncTasks.isEmpty());
+		lane.getValue().run(); // Still not due
+		verify(scheduler, times(2)).schedule(eq(plugin), any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+		assertEquals("The players should stay queued", 2, strategy.getQueueDepth(0));
+		strategy.close();
+		verify(task).cancel();
+		verify(pluginManager).unregisterListener(strategy);
+		assertEquals("The queue should be cleared", 0, strategy.getQueueDepth(0));
+	}
+
+	@Test
+	public void testOverflowSweep()
+	{
+		ShardedOnDisconnect strategy = new ShardedOnDisconnect(plugin, cache, 0, 1, 10, 2);
+		long lastPlayed = System.currentTimeMillis() - 1000;
+		for(int i = 0; i < 5; i++) disconnect(strategy, lastPlayed);
+		ICacheablePlayer online = mock(ICacheablePlayer.class);
+		doReturn(UUID.randomUUID()).when(online).getUUID();
+		doReturn(true).when(online).isOnline();
+		doReturn(true).when(online).canBeUncached();
+		cache.players.put(online.getUUID(), online);
+		assertEquals("The queue should be limited", 2, strategy.getQueueDepth(0));
+		assertEquals("Only one task should be scheduled", 1, asyncTasks.size());
+		runAsyncTasks();
+		assertEquals("The dropped players should be uncached by the sweep", Collections.singletonList(online), new ArrayList<>(cache.players.values()));
+		assertTrue("Nothing should be rescheduled", asyncTasks.isEmpty());
+		verify(scheduler, never()).schedule(any(Plugin.class), any(Runnable.class), anyLong(), any(TimeUnit.class));
+	}
+
+	private static final class TestCache implements IPlayerCache
+	{
+		private final Map<UUID, ICacheablePlayer> players = new LinkedHashMap<>();
+
+		@Override
+		public @Nullable ICacheablePlayer getCachedPlayer(@NotNull UUID uuid)
+		{
+			return players.get(uuid);
+		}
+
+		@Override
+		public void unCache(@NotNull ICacheablePlayer player)
+		{
+			players.remove(player.getUUID());
+		}
+
+		@Override
+		public @NotNull Collection<? extends ICacheablePlayer> getCachedPlayers()
+		{
+			return new ArrayList<>(players.values());
+		}
+	}
+}
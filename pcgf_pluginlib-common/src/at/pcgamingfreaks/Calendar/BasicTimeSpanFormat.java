@@ -37,19 +37,23 @@ public BasicTimeSpanFormat(final @NotNull String[] timeUnitNames)
 
 	@Override
 	public String format(TimeSpan span)
+	{
+		return format(span, new StringBuilder(32)).toString();
+	}
+
+	@Override
+	public @NotNull StringBuilder format(@NotNull TimeSpan span, @NotNull StringBuilder stringBuilder)
 	{
 		int[] timeSpan = span.getArrayNoCopy();
-		StringBuilder stringBuilder = new StringBuilder();
+		final int start = stringBuilder.length();
 		for(int i = 0; i < TimeSpan.TOTAL_DAYS; i++)
 		{
-			if(timeSpan[i] > 0 || (i == TimeSpan.SECOND && stringBuilder.length() == 0))
+			if(timeSpan[i] > 0 || (i == TimeSpan.SECOND && stringBuilder.length() == start))
 			{
-				if(stringBuilder.length() > 0) stringBuilder.append(' ');
-				stringBuilder.append(timeSpan[i]);
-				stringBuilder.append(' ');
-				stringBuilder.append((timeSpan[i] == 1) ? unitNames[i*2] : unitNames[i*2+1]);
+				if(stringBuilder.length() > start) stringBuilder.append(' ');
+				stringBuilder.append(timeSpan[i]).append(' ').append((timeSpan[i] == 1) ? unitNames[i*2] : unitNames[i*2+1]);
 			}
 		}
-		return stringBuilder.toString();
+		return stringBuilder;
 	}
 }
\ No newline at end of file
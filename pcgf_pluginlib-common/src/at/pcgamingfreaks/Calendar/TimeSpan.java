@@ -20,6 +20,9 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -32,7 +35,6 @@
 	public static final byte YEAR = 0, MONTH = 1, DAY = 2, HOUR = 3, MINUTE = 4, SECOND = 5, TOTAL_DAYS = 6;
 
 	private static final BasicTimeSpanFormat DEFAULT_TIME_SPAN_FORMAT = new BasicTimeSpanFormat();
-	private static final int[] CAL_TYPES = new int[] { Calendar.YEAR, Calendar.MONTH, Calendar.DAY_OF_MONTH };
 	private int[] timeSpan = new int[] { 0, 0, 0, 0, 0, 0, 0};
 
 	//region TimeSpan constructors
@@ -160,30 +162,25 @@ public TimeSpan(@NotNull Calendar timeFrom, @NotNull Calendar timeTo, boolean fa
 	private TimeSpan(long from, @Nullable Calendar fromDate, long to, @Nullable Calendar toDate, boolean fastMode)
 	{
 		long totalDiffSeconds = totalDiffSeconds(from, to);
+		timeSpan[TOTAL_DAYS] = (int) (totalDiffSeconds / 86400L);
 		if(fastMode)
 		{
-			calcFast(totalDiffSeconds);
+			timeSpanDaysFast();
 		}
 		else
 		{
-			if(fromDate == null)
-			{
-				fromDate = Calendar.getInstance();
-				fromDate.setTimeInMillis(from);
-			}
-			if(toDate == null)
+			ZoneId zone = ZoneId.systemDefault();
+			if(to < from)
 			{
-				toDate = Calendar.getInstance();
-				toDate.setTimeInMillis(to);
+				long tmp = from;
+				from = to;
+				to = tmp;
+				if(toDate != null) zone = toDate.getTimeZone().toZoneId();
 			}
-			if(toDate.before(fromDate))
-			{
-				Calendar tmpDate = fromDate;
-				fromDate = toDate;
-				toDate = tmpDate;
-			}
-			calcCalendar(totalDiffSeconds, fromDate, toDate);
+			else if(fromDate != null) zone = fromDate.getTimeZone().toZoneId();
+			timeSpanDaysExact(from, to, zone);
 		}
+		timeSpanDayComponents(totalDiffSeconds);
 	}
 
 	private long totalDiffSeconds(long from, long to)
@@ -198,13 +195,6 @@ private void calcFast(long totalDiffSeconds)
 		timeSpanDayComponents(totalDiffSeconds);
 	}
 
-	private void calcCalendar(long totalDiffSeconds, @NotNull Calendar fromDate, @NotNull Calendar toDate)
-	{
-		timeSpan[TOTAL_DAYS] = (int) (totalDiffSeconds / 86400L);
-		timeSpanDaysCalendar(fromDate, toDate);
-		timeSpanDayComponents(totalDiffSeconds);
-	}
-
 	private void timeSpanDayComponents(long totalDiffSeconds)
 	{
 		int secondsOnDay = (int) (totalDiffSeconds % 86400);
@@ -222,25 +212,24 @@ private void timeSpanDaysFast()
 		timeSpan[DAY] -= timeSpan[MONTH] * (365/12.0);
 	}
 
-	@SuppressWarnings("MagicConstant")
-	private void timeSpanDaysCalendar(@NotNull Calendar fromDate, @NotNull Calendar toDate)
-	{
-		timeSpan[YEAR] = timeSpan[MONTH] = timeSpan[DAY] = -1;
-		Calendar from = (Calendar) fromDate.clone(), backup = (Calendar) from.clone();
-		for(int i = 0, dayOfMonth = from.get(Calendar.DAY_OF_MONTH); i < CAL_TYPES.length; i++)
-		{
-			while(!from.after(toDate))
-			{
-				backup = (Calendar) from.clone();
-				from.add(CAL_TYPES[i], 1);
-				if(CAL_TYPES[i] != Calendar.DAY_OF_MONTH && from.get(Calendar.DAY_OF_MONTH) < dayOfMonth && from.get(Calendar.DAY_OF_MONTH) < from.getActualMaximum(Calendar.DAY_OF_MONTH))
-				{
-					from.set(Calendar.DAY_OF_MONTH, Math.min(from.getActualMaximum(Calendar.DAY_OF_MONTH), dayOfMonth));
-				}
-				timeSpan[i]++;
-			}
-			from = backup;
-		}
+	/**
+	 * Calculates the full years, months and days between the two points in time.
+	 * Months are added to the start date (keeping its day of month if possible, e.g. Jan 31 + 1 month = Feb 28, + 2 months = Mar 31).
+	 * The amounts are estimated from the calendar fields of the end date and corrected by at most one step, no iteration over the single units is needed.
+	 */
+	private void timeSpanDaysExact(final long from, final long to, final @NotNull ZoneId zone)
+	{
+		ZonedDateTime start = Instant.ofEpochMilli(from).atZone(zone), end = Instant.ofEpochMilli(to).atZone(zone);
+		int years = end.getYear() - start.getYear();
+		if(years > 0 && start.plusYears(years).toInstant().toEpochMilli() > to) years--;
+		int months = (end.getYear() - start.getYear() - years) * 12 + end.getMonthValue() - start.getMonthValue();
+		if(months > 0 && start.plusMonths(years * 12L + months).toInstant().toEpochMilli() > to) months--;
+		ZonedDateTime monthStart = start.plusMonths(years * 12L + months);
+		int days = (int) (end.toLocalDate().toEpochDay() - monthStart.toLocalDate().toEpochDay());
+		if(days > 0 && monthStart.plusDays(days).toInstant().toEpochMilli() > to) days--;
+		timeSpan[YEAR] = years;
+		timeSpan[MONTH] = months;
+		timeSpan[DAY] = days;
 	}
 	//endregion
 
@@ -297,6 +286,18 @@ public String toString(TimeSpanFormat timeSpanFormat)
 	{
 		return timeSpanFormat.format(this);
 	}
+
+	/**
+	 * Appends the formatted TimeSpan to the given builder, without creating an intermediate string.
+	 *
+	 * @param timeSpanFormat The format to be used.
+	 * @param builder The builder the TimeSpan should be appended to.
+	 * @return The given builder.
+	 */
+	public @NotNull StringBuilder appendTo(@NotNull TimeSpanFormat timeSpanFormat, @NotNull StringBuilder builder)
+	{
+		return timeSpanFormat.format(this, builder);
+	}
 	//endregion
 
 	//region Getters
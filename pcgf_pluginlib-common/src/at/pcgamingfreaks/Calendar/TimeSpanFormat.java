@@ -17,7 +17,22 @@
 
 package at.pcgamingfreaks.Calendar;
 
+import org.jetbrains.annotations.NotNull;
+
 public interface TimeSpanFormat
 {
 	String format(TimeSpan timeSpan);
+
+	/**
+	 * Formats the time span and appends it to the given builder.
+	 * Formats that are used very often (e.g. in placeholders) should override this method to write directly into the builder.
+	 *
+	 * @param timeSpan The time span that should be formatted.
+	 * @param builder The builder the formatted time span should be appended to.
+	 * @return The given builder.
+	 */
+	default @NotNull StringBuilder format(@NotNull TimeSpan timeSpan, @NotNull StringBuilder builder)
+	{
+		return builder.append(format(timeSpan));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Config;
+
+import at.pcgamingfreaks.yaml.YamlGetter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typed handles for configuration values. The values of all handles are read from the yaml once when the configuration is (re)loaded
+ * and published as an immutable snapshot. Reading a handle is just an array access, no path lookup or string parsing is involved.
+ * <p>
+ * Handles should be bound once (e.g. in the constructor of the configuration class or during plugin enable) and kept.
+ * A reload updates the values of all existing handles.
+ */
+public final class ConfigBindings
+{
+	private static final class Snapshot
+	{
+		private final int[] ints;
+		private final double[] doubles;
+		private final boolean[] booleans;
+		private final String[] strings;
+
+		private Snapshot(final int[] ints, final double[] doubles, final boolean[] booleans, final String[] strings)
+		{
+			this.ints = ints;
+			this.doubles = doubles;
+			this.booleans = booleans;
+			this.strings = strings;
+		}
+	}
+
+	private final List<IntHandle> intHandles = new ArrayList<>();
+	private final List<DoubleHandle> doubleHandles = new ArrayList<>();
+	private final List<BoolHandle> boolHandles = new ArrayList<>();
+	private final List<StringHandle> stringHandles = new ArrayList<>();
+	private @Nullable YamlGetter source;
+	private volatile Snapshot snapshot = new Snapshot(new int[0], new double[0], new boolean[0], new String[0]);
+
+	//region handles
+	public final class IntHandle
+	{
+		private final String path;
+		private final int index, defaultValue;
+
+		private IntHandle(final @NotNull String path, final int index, final int defaultValue)
+		{
+			this.path = path;
+			this.index = index;
+			this.defaultValue = defaultValue;
+		}
+
+		public @NotNull String getPath()
+		{
+			return path;
+		}
+
+		public int get()
+		{
+			return snapshot.ints[index];
+		}
+	}
+
+	public final class DoubleHandle
+	{
+		private final String path;
+		private final int index;
+		private final double defaultValue;
+
+		private DoubleHandle(final @NotNull String path, final int index, final double defaultValue)
+		{
+			this.path = path;
+			this.index = index;
+			this.defaultValue = defaultValue;
+		}
+
+		public @NotNull String getPath()
+		{
+			return path;
+		}
+
+		public double get()
+		{
+			return snapshot.doubles[index];
+		}
+	}
+
+	public final class BoolHandle
+	{
+		private final String path;
+		private final int index;
+		private final boolean defaultValue;
+
+		private BoolHandle(final @NotNull String path, final int index, final boolean defaultValue)
+		{
+			this.path = path;
+			this.index = index;
+			this.defaultValue = defaultValue;
+		}
+
+		public @NotNull String getPath()
+		{
+			return path;
+		}
+
+		public boolean get()
+		{
+			return snapshot.booleans[index];
+		}
+	}
+
+	public final class StringHandle
+	{
+		private final String path;
+		private final int index;
+		private final String defaultValue;
+
+		private StringHandle(final @NotNull String path, final int index, final @Nullable String defaultValue)
+		{
+			this.path = path;
+			this.index = index;
+			this.defaultValue = defaultValue;
+		}
+
+		public @NotNull String getPath()
+		{
+			return path;
+		}
+
+		public @Nullable String get()
+		{
+			return snapshot.strings[index];
+		}
+	}
+	//endregion
+
+	//region binding
+	/**
+	 * Binds an int value of the configuration.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param defaultValue The value used if the key was not found or can't be parsed.
+	 * @return The handle for the value.
+	 */
+	public synchronized @NotNull IntHandle bindInt(final @NotNull String path, final int defaultValue)
+	{
+		IntHandle handle = new IntHandle(path, intHandles.size(), defaultValue);
+		intHandles.add(handle);
+		Snapshot current = snapshot;
+		int[] ints = Arrays.copyOf(current.ints, intHandles.size());
+		ints[handle.index] = (source == null) ? defaultValue : source.getInt(path, defaultValue);
+		snapshot = new Snapshot(ints, current.doubles, current.booleans, current.strings);
+		return handle;
+	}
+
+	/**
+	 * Binds a double value of the configuration.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param defaultValue The value used if the key was not found or can't be parsed.
+	 * @return The handle for the value.
+	 */
+	public synchronized @NotNull DoubleHandle bindDouble(final @NotNull String path, final double defaultValue)
+	{
+		DoubleHandle handle = new DoubleHandle(path, doubleHandles.size(), defaultValue);
+		doubleHandles.add(handle);
+		Snapshot current = snapshot;
+		double[] doubles = Arrays.copyOf(current.doubles, doubleHandles.size());
+		doubles[handle.index] = (source == null) ? defaultValue : source.getDouble(path, defaultValue);
+		snapshot = new Snapshot(current.ints, doubles, current.booleans, current.strings);
+		return handle;
+	}
+
+	/**
+	 * Binds a boolean value of the configuration.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param defaultValue The value used if the key was not found.
+	 * @return The handle for the value.
+	 */
+	public synchronized @NotNull BoolHandle bindBool(final @NotNull String path, final boolean defaultValue)
+	{
+		BoolHandle handle = new BoolHandle(path, boolHandles.size(), defaultValue);
+		boolHandles.add(handle);
+		Snapshot current = snapshot;
+		boolean[] booleans = Arrays.copyOf(current.booleans, boolHandles.size());
+		booleans[handle.index] = (source == null) ? defaultValue : source.getBoolean(path, defaultValue);
+		snapshot = new Snapshot(current.ints, current.doubles, booleans, current.strings);
+		return handle;
+	}
+
+	/**
+	 * Binds a string value of the configuration.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param defaultValue The value used if the key was not found.
+	 * @return The handle for the value.
+	 */
+	public synchronized @NotNull StringHandle bindString(final @NotNull String path, final @Nullable String defaultValue)
+	{
+		StringHandle handle = new StringHandle(path, stringHandles.size(), defaultValue);
+		stringHandles.add(handle);
+		Snapshot current = snapshot;
+		String[] strings = Arrays.copyOf(current.strings, stringHandles.size());
+		strings[handle.index] = (source == null) ? defaultValue : source.getString(path, defaultValue);
+		snapshot = new Snapshot(current.ints, current.doubles, current.booleans, strings);
+		return handle;
+	}
+	//endregion
+
+	/**
+	 * Reads the values of all bound handles from the given yaml and publishes them at once.
+	 *
+	 * @param yaml The yaml to read the values from. null to use the default values (e.g. if the file failed to load).
+	 */
+	public synchronized void refresh(final @Nullable YamlGetter yaml)
+	{
+		source = yaml;
+		int[] ints = new int[intHandles.size()];
+		for(IntHandle handle : intHandles)
+		{
+			ints[handle.index] = (yaml == null) ? handle.defaultValue : yaml.getInt(handle.path, handle.defaultValue);
+		}
+		double[] doubles = new double[doubleHandles.size()];
+		for(DoubleHandle handle : doubleHandles)
+		{
+			doubles[handle.index] = (yaml == null) ? handle.defaultValue : yaml.getDouble(handle.path, handle.defaultValue);
+		}
+		boolean[] booleans = new boolean[boolHandles.size()];
+		for(BoolHandle handle : boolHandles)
+		{
+			booleans[handle.index] = (yaml == null) ? handle.defaultValue : yaml.getBoolean(handle.path, handle.defaultValue);
+		}
+		String[] strings = new String[stringHandles.size()];
+		for(StringHandle handle : stringHandles)
+		{
+			strings[handle.index] = (yaml == null) ? handle.defaultValue : yaml.getString(handle.path, handle.defaultValue);
+		}
+		snapshot = new Snapshot(ints, doubles, booleans, strings);
+	}
+}
@@ -35,6 +35,7 @@ public class Configuration extends YamlFileManager
 	protected static final String DEFAULT_CONFIG_FILE_NAME = "config" + YAML_FILE_EXT;
 
 	private final Object plugin;
+	private final ConfigBindings bindings = new ConfigBindings();
 
 	//region constructors
 	//region alternative constructors
@@ -74,6 +75,7 @@ public Configuration(final @NotNull Object plugin, final @NotNull Logger logger,
 		super(logger, baseDir, version, null, path, inJarPrefix, null);
 		this.plugin = plugin;
 		load();
+		bindings.refresh(yaml);
 	}
 	//endregion
 
@@ -84,6 +86,13 @@ public void reload()
 	{
 		extracted = false;
 		load();
+		bindings.refresh(yaml);
+	}
+
+	@Override
+	protected void reloaded()
+	{
+		bindings.refresh(yaml);
 	}
 
 	//region General getter
@@ -214,6 +223,67 @@ public boolean getBool(final @NotNull String path, boolean returnOnNotFound)
 	}
 	//endregion
 
+	//region Typed handles
+	/**
+	 * Gets the bindings of this configuration. The values of all bound handles are updated when the configuration gets reloaded.
+	 *
+	 * @return The bindings of the configuration.
+	 */
+	public @NotNull ConfigBindings getBindings()
+	{
+		return bindings;
+	}
+
+	/**
+	 * Binds an {@link Integer} value of the configuration to a handle. The value is only read and parsed on (re)load,
+	 * use this for values that are read very often (e.g. in event handlers) instead of {@link #getInt(String, int)}.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param returnOnNotFound The value used if the key was not found.
+	 * @return The handle for the value.
+	 */
+	public @NotNull ConfigBindings.IntHandle bindInt(final @NotNull String path, final int returnOnNotFound)
+	{
+		return bindings.bindInt(path, returnOnNotFound);
+	}
+
+	/**
+	 * Binds a {@link Double} value of the configuration to a handle. The value is only read and parsed on (re)load.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param returnOnNotFound The value used if the key was not found.
+	 * @return The handle for the value.
+	 */
+	public @NotNull ConfigBindings.DoubleHandle bindDouble(final @NotNull String path, final double returnOnNotFound)
+	{
+		return bindings.bindDouble(path, returnOnNotFound);
+	}
+
+	/**
+	 * Binds a {@link Boolean} value of the configuration to a handle. The value is only read and parsed on (re)load.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param returnOnNotFound The value used if the key was not found.
+	 * @return The handle for the value.
+	 */
+	public @NotNull ConfigBindings.BoolHandle bindBool(final @NotNull String path, final boolean returnOnNotFound)
+	{
+		return bindings.bindBool(path, returnOnNotFound);
+	}
+
+	/**
+	 * Binds a {@link String} value of the configuration to a handle. The value is only read on (re)load.
+	 *
+	 * @param path The path to the value in the configuration file.
+	 * @param returnOnNotFound The value used if the key was not found.
+	 * @return The handle for the value.
+	 */
+	public @NotNull ConfigBindings.StringHandle bindString(final @NotNull String path, final @Nullable String returnOnNotFound)
+	{
+		return bindings.bindString(path, returnOnNotFound);
+	}
+	//endregion
+
 	//region General setter
 	/**
 	 * Sets an option in the configuration.
@@ -224,6 +294,7 @@ public boolean getBool(final @NotNull String path, boolean returnOnNotFound)
 	public void set(final @NotNull String path, final @NotNull String value)
 	{
 		yaml.set(path, value);
+		bindings.refresh(yaml);
 	}
 
 	/**
@@ -235,6 +306,7 @@ public void set(final @NotNull String path, final @NotNull String value)
 	public void set(final @NotNull String path, final int value)
 	{
 		yaml.set(path, value);
+		bindings.refresh(yaml);
 	}
 
 	/**
@@ -246,6 +318,7 @@ public void set(final @NotNull String path, final int value)
 	public void set(final @NotNull String path, final double value)
 	{
 		yaml.set(path, value);
+		bindings.refresh(yaml);
 	}
 
 	/**
@@ -257,6 +330,7 @@ public void set(final @NotNull String path, final double value)
 	public void set(final @NotNull String path, final boolean value)
 	{
 		yaml.set(path, value);
+		bindings.refresh(yaml);
 	}
 	//endregion
 
@@ -32,8 +32,7 @@
 import lombok.Getter;
 
 import java.io.File;
-import java.util.LinkedList;
-import java.util.Locale;
+import java.util.*;
 import java.util.logging.Logger;
 
 public class Language extends YamlFileManager
@@ -46,6 +45,26 @@ public class Language extends YamlFileManager
 	protected String language = "en", fallbackLanguage = "en";
 	private boolean extractedFallback = false;
 	@Getter private YamlFileUpdateMethod yamlUpdateMode;
+	private final Map<String, Integer> keyIds = new HashMap<>(); // Keys are never removed, so handles stay valid after a reload
+	private final List<String> keyNames = new ArrayList<>(); // The key for every handle
+	private volatile StringTable table = null;
+
+	/**
+	 * Flat, immutable copy of all the language strings, replaced as a whole when the file gets (re)loaded.
+	 */
+	private static final class StringTable
+	{
+		private final Map<String, Integer> index;
+		private final String[] keys, values, translatedValues;
+
+		private StringTable(final @NotNull Map<String, Integer> index, final @NotNull String[] keys, final @NotNull String[] values, final @NotNull String[] translatedValues)
+		{
+			this.index = index;
+			this.keys = keys;
+			this.values = values;
+			this.translatedValues = translatedValues;
+		}
+	}
 
 	//region constructors
 	//region alternative constructors
@@ -97,13 +116,105 @@ public Language(final @NotNull Object plugin, @NotNull Logger logger, @NotNull F
 	 */
 	public @NotNull String get(@NotNull String path)
 	{
-		String msg = yaml.getString(KEY_LANGUAGE + path, null);
-		if(msg == null)
+		StringTable table = getTable();
+		Integer id = table.index.get(path);
+		return (id == null) ? notFound(path) : get(table, id);
+	}
+
+	/**
+	 * Gets a handle for a language key. Getting a value through its handle doesn't need any lookup.
+	 * Handles stay valid after the language file has been reloaded.
+	 *
+	 * @param path The path to the language value (without the "Language." prefix).
+	 * @return The handle for the key.
+	 */
+	public synchronized int getHandle(@NotNull String path)
+	{
+		Integer id = keyIds.get(path);
+		if(id == null)
+		{
+			id = keyIds.size();
+			keyIds.put(path, id);
+			keyNames.add(path); // The table gets a slot for the new handle the next time it is compiled, till then the value is looked up directly
+		}
+		return id;
+	}
+
+	/**
+	 * @param handle The handle of the language value, obtained with {@link #getHandle(String)}.
+	 * @return returns the language data
+	 */
+	public @NotNull String get(int handle)
+	{
+		return get(getTable(), handle);
+	}
+
+	private @NotNull String get(final @NotNull StringTable table, final int id)
+	{
+		if(id >= table.values.length) return getUncompiled(id, false);
+		String msg = table.values[id];
+		return (msg == null) ? notFound(table.keys[id]) : msg;
+	}
+
+	/**
+	 * Looks up the value for a handle that has been created after the current string table has been compiled.
+	 */
+	private synchronized @NotNull String getUncompiled(final int id, final boolean translate)
+	{
+		String path = keyNames.get(id);
+		YAML yaml = this.yaml;
+		String msg = (yaml != null) ? yaml.getString(KEY_LANGUAGE + path, null) : null;
+		if(msg == null) msg = notFound(path);
+		return translate ? MessageColor.translateAlternateColorAndFormatCodes(msg) : msg;
+	}
+
+	private @NotNull String notFound(final @NotNull String path)
+	{
+		logger.warning("No translation for key: " + path);
+		return MESSAGE_NOT_FOUND;
+	}
+
+	private @NotNull StringTable getTable()
+	{
+		StringTable table = this.table;
+		return (table != null) ? table : compileTable();
+	}
+
+	/**
+	 * Copies all language strings from the yaml into a new string table, which replaces the current one at once.
+	 */
+	private synchronized @NotNull StringTable compileTable()
+	{
+		Map<String, String> values = new HashMap<>();
+		YAML yaml = this.yaml;
+		if(yaml != null)
 		{
-			logger.warning("No translation for key: " + path);
-			return MESSAGE_NOT_FOUND;
+			for(String key : yaml.getKeys())
+			{
+				if(!key.startsWith(KEY_LANGUAGE)) continue;
+				String value = yaml.getString(key, null);
+				if(value == null) continue;
+				String path = key.substring(KEY_LANGUAGE.length());
+				values.put(path, value);
+				if(!keyIds.containsKey(path))
+				{
+					keyIds.put(path, keyIds.size());
+					keyNames.add(path);
+				}
+			}
+		}
+		String[] keys = new String[keyIds.size()], tableValues = new String[keys.length], translatedValues = new String[keys.length];
+		for(Map.Entry<String, Integer> entry : keyIds.entrySet())
+		{
+			int id = entry.getValue();
+			String value = values.get(entry.getKey());
+			keys[id] = entry.getKey();
+			tableValues[id] = value;
+			if(value != null) translatedValues[id] = MessageColor.translateAlternateColorAndFormatCodes(value);
 		}
-		return msg;
+		StringTable table = new StringTable(new HashMap<>(keyIds), keys, tableValues, translatedValues);
+		this.table = table;
+		return table;
 	}
 
 	/**
@@ -123,6 +234,20 @@ public Language(final @NotNull Object plugin, @NotNull Logger logger, @NotNull F
 	protected void set(@NotNull String path, @NotNull String value)
 	{
 		yaml.set(path, value);
+		table = null;
+	}
+
+	@Override
+	protected void load()
+	{
+		super.load();
+		compileTable();
+	}
+
+	@Override
+	protected void reloaded()
+	{
+		compileTable();
 	}
 
 	/**
@@ -274,7 +399,27 @@ protected void doUpgrade(@NotNull YamlFileManager oldYamlFile)
 	 */
 	public @NotNull String getTranslated(final @NotNull String path)
 	{
-		return MessageColor.translateAlternateColorAndFormatCodes(get(path));
+		StringTable table = getTable();
+		Integer id = table.index.get(path);
+		return (id == null) ? MessageColor.translateAlternateColorAndFormatCodes(notFound(path)) : getTranslated(table, id);
+	}
+
+	/**
+	 * Gets the message from the language file and replaces bukkit color codes (&amp;) to minecraft color codes (§)
+	 *
+	 * @param handle The handle of the language value, obtained with {@link #getHandle(String)}.
+	 * @return returns the language data
+	 */
+	public @NotNull String getTranslated(final int handle)
+	{
+		return getTranslated(getTable(), handle);
+	}
+
+	private @NotNull String getTranslated(final @NotNull StringTable table, final int id)
+	{
+		if(id >= table.translatedValues.length) return getUncompiled(id, true);
+		String msg = table.translatedValues[id];
+		return (msg == null) ? MessageColor.translateAlternateColorAndFormatCodes(notFound(table.keys[id])) : msg;
 	}
 
 	//region language file property getters
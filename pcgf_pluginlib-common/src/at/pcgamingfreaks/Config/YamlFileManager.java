@@ -30,7 +30,12 @@
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
@@ -46,9 +51,18 @@
 	protected final File baseDir;
 	protected boolean extracted = false; // Flag to check whether the file has been extracted or not. It is used to prevent endless loops when the file version in the jar is outdated.
 	protected String file;
-	protected YAML yaml; // The object holding the parsed content of the yaml file
+	protected volatile YAML yaml; // The object holding the parsed content of the yaml file
 	protected File yamlFile; // The loaded yaml file
 	@Getter protected String fileDescription = "config", fileDescriptionCapitalized = "Config"; // Used to allow customisation of log messages based on what the yaml file is used for
+	/**
+	 * The reason why the last load of the file failed. null if it was successful.
+	 */
+	@Getter private volatile @Nullable Exception loadException;
+	private final List<YamlFileReloadListener> reloadListeners = new CopyOnWriteArrayList<>();
+	volatile long hotReloadDelay = -1; // Debounce time in ms, -1 if hot reload is disabled
+	private volatile @Nullable Executor reloadListenerExecutor;
+	private @Nullable FileTime loadedFileModified; // Used to skip change events caused by our own writes
+	private long loadedFileSize;
 
 	YamlFileManager(final @NotNull Logger logger, final @NotNull File baseDir, final Version version, final @Nullable String path,
 	                final @Nullable String file, final @NotNull String inJarPrefix, final @Nullable YAML oldConfig)
@@ -234,10 +248,30 @@ protected void loaded()
 	public void save() throws FileNotFoundException
 	{
 		yaml.save(yamlFile);
+		rememberFileState();
+	}
+
+	private synchronized void rememberFileState()
+	{
+		loadedFileModified = getLastModifiedTime(yamlFile);
+		loadedFileSize = yamlFile.length();
+	}
+
+	private static @Nullable FileTime getLastModifiedTime(final @NotNull File file)
+	{
+		try
+		{
+			return Files.getLastModifiedTime(file.toPath()); // Unlike File.lastModified this isn't limited to second precision on java 8
+		}
+		catch(IOException ignored)
+		{
+			return null;
+		}
 	}
 
 	protected void load()
 	{
+		loadException = null;
 		try
 		{
 			if(!yamlFile.exists() || yamlFile.length() == 0)
@@ -245,6 +279,7 @@ protected void load()
 				extractFile();
 			}
 			yaml = new YAML(yamlFile);
+			rememberFileState();
 			validate();
 			if(extracted && newConfigCreated())
 			{
@@ -255,6 +290,18 @@ protected void load()
 		{
 			logger.warning("Failed to load " + getFileDescription() + " file!");
 			e.printStackTrace();
+			loadException = e;
+		}
+		if(hotReloadDelay >= 0)
+		{ // The file might have changed (e.g. other language)
+			try
+			{
+				YamlFileWatcher.getInstance().register(this);
+			}
+			catch(IOException e)
+			{
+				logger.warning("Failed to watch " + getFileDescription() + " file for changes! " + e.getMessage());
+			}
 		}
 	}
 
@@ -303,6 +350,7 @@ protected void update()
 			logger.warning("Failed to update " + getFileDescription() + "!");
 			e.printStackTrace();
 			yaml = null;
+			loadException = e;
 		}
 	}
 
@@ -335,6 +383,7 @@ protected void upgrade()
 			logger.warning("Failed to upgrade " + getFileDescription() + " file.");
 			e.printStackTrace();
 			yaml = null;
+			loadException = e;
 		}
 	}
 
@@ -355,6 +404,187 @@ protected Class<?> jarClass()
 	{
 		return getClass();
 	}
+
+	/**
+	 * Loads multiple yaml files concurrently on the common fork join pool. Blocks until all the files are loaded.
+	 *
+	 * @param loaders The files that should be loaded, with the action that loads them (e.g. {@code language -> () -> language.load(config)}, {@code config -> config::reload}).
+	 *                The files must not depend on each other.
+	 * @return The files that failed to load, with the reason why. Empty if all the files have been loaded successfully.
+	 */
+	public static @NotNull Map<YamlFileManager, Exception> loadParallel(final @NotNull Map<? extends YamlFileManager, ? extends Runnable> loaders)
+	{
+		return loadParallel(ForkJoinPool.commonPool(), loaders);
+	}
+
+	/**
+	 * Loads multiple yaml files concurrently on the given pool. Blocks until all the files are loaded.
+	 *
+	 * @param pool The pool used to load the files.
+	 * @param loaders The files that should be loaded, with the action that loads them (e.g. {@code language -> () -> language.load(config)}, {@code config -> config::reload}).
+	 *                The files must not depend on each other.
+	 * @return The files that failed to load, with the reason why. Empty if all the files have been loaded successfully.
+	 */
+	public static @NotNull Map<YamlFileManager, Exception> loadParallel(final @NotNull ForkJoinPool pool, final @NotNull Map<? extends YamlFileManager, ? extends Runnable> loaders)
+	{
+		Map<YamlFileManager, Exception> failed = new ConcurrentHashMap<>();
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(loaders.size());
+		loaders.forEach((file, loader) -> tasks.add(pool.submit(() -> {
+			try
+			{
+				loader.run();
+				Exception loadException = file.getLoadException();
+				if(loadException != null) failed.put(file, loadException);
+				else if(!file.isLoaded()) failed.put(file, new IllegalStateException("The " + file.getFileDescription() + " file has not been loaded!"));
+			}
+			catch(Exception e)
+			{
+				failed.put(file, e);
+			}
+		})));
+		tasks.forEach(ForkJoinTask::join);
+		return failed;
+	}
+	//endregion
+
+	//region hot reload
+	/**
+	 * Enables the automatic reload of the file when it gets changed on disk.
+	 * The changed file gets parsed and validated on a background thread and only replaces the loaded content if it is valid.
+	 * The listeners will be called on the background thread.
+	 *
+	 * @param debounceMillis The time in ms the file has to be unchanged before it gets reloaded.
+	 * @throws IOException If the folder of the file can't be watched.
+	 */
+	public void enableHotReload(final long debounceMillis) throws IOException
+	{
+		enableHotReload(debounceMillis, null);
+	}
+
+	/**
+	 * Enables the automatic reload of the file when it gets changed on disk.
+	 * The changed file gets parsed and validated on a background thread and only replaces the loaded content if it is valid.
+	 *
+	 * @param debounceMillis The time in ms the file has to be unchanged before it gets reloaded.
+	 * @param listenerExecutor The executor used to call the listeners (e.g. one that runs the task on the main thread of the server). null to call them on the background thread.
+	 * @throws IOException If the folder of the file can't be watched.
+	 */
+	public void enableHotReload(final long debounceMillis, final @Nullable Executor listenerExecutor) throws IOException
+	{
+		if(debounceMillis < 0) throw new IllegalArgumentException("The debounce time must not be negative!");
+		reloadListenerExecutor = listenerExecutor;
+		hotReloadDelay = debounceMillis;
+		try
+		{
+			YamlFileWatcher.getInstance().register(this);
+		}
+		catch(IOException e)
+		{
+			hotReloadDelay = -1;
+			throw e;
+		}
+	}
+
+	/**
+	 * Stops watching the file for changes. Should be called when the plugin gets disabled.
+	 */
+	public void disableHotReload()
+	{
+		hotReloadDelay = -1;
+		YamlFileWatcher.getInstance().unregister(this);
+	}
+
+	public boolean isHotReloadEnabled()
+	{
+		return hotReloadDelay >= 0;
+	}
+
+	public void addReloadListener(final @NotNull YamlFileReloadListener listener)
+	{
+		reloadListeners.add(listener);
+	}
+
+	public void removeReloadListener(final @NotNull YamlFileReloadListener listener)
+	{
+		reloadListeners.remove(listener);
+	}
+
+	/**
+	 * Called by the {@link YamlFileWatcher} once the changes on the file have settled.
+	 */
+	void hotReload()
+	{
+		File file = yamlFile;
+		if(hotReloadDelay < 0 || file == null || !file.isFile()) return; // A deleted file gets reloaded once it's recreated
+		synchronized(this)
+		{
+			FileTime modified = getLastModifiedTime(file);
+			if(modified != null && modified.equals(loadedFileModified) && file.length() == loadedFileSize) return; // Nothing changed since our last load or save
+		}
+		YAML newYaml;
+		try
+		{
+			newYaml = new YAML(file);
+			validateReload(newYaml);
+		}
+		catch(Exception e)
+		{
+			logger.warning(ConsoleColor.RED + "Failed to reload changed " + getFileDescription() + " file! Keeping the currently loaded one. " + e.getMessage() + ConsoleColor.RESET);
+			notifyReloadListeners(listener -> listener.onReloadFailed(this, e));
+			return;
+		}
+		synchronized(this)
+		{
+			yaml = newYaml;
+			rememberFileState();
+			reloaded();
+		}
+		logger.info(ConsoleColor.GREEN + getFileDescriptionCapitalized() + " file successfully reloaded." + ConsoleColor.RESET);
+		notifyReloadListeners(listener -> listener.onReload(this));
+	}
+
+	private void notifyReloadListeners(final @NotNull Consumer<YamlFileReloadListener> action)
+	{
+		Executor executor = reloadListenerExecutor;
+		for(YamlFileReloadListener listener : reloadListeners)
+		{
+			Runnable notify = () -> {
+				try
+				{
+					action.accept(listener);
+				}
+				catch(Exception e)
+				{
+					logger.warning("Reload listener of " + getFileDescription() + " file failed!");
+					e.printStackTrace();
+				}
+			};
+			if(executor != null) executor.execute(notify);
+			else notify.run();
+		}
+	}
+
+	/**
+	 * Checks if a changed file can replace the loaded one. Runs on the background thread, before the loaded content gets replaced.
+	 * Files that would need an update or upgrade are rejected, they have to be reloaded manually.
+	 *
+	 * @param newYaml The parsed content of the changed file.
+	 * @throws Exception If the changed file should not be used.
+	 */
+	protected void validateReload(final @NotNull YAML newYaml) throws Exception
+	{
+		Version version = new Version(newYaml.getString(KEY_YAML_VERSION, "0"));
+		if(getExpectedVersion().newerThan(version))
+		{
+			throw new IllegalStateException("The file version (" + version + ") is older than the expected version (" + getExpectedVersion() + ")!");
+		}
+	}
+
+	/**
+	 * Allows inheriting classes to update data derived from the yaml after the hot reload has replaced it.
+	 * Called while holding the lock of the yaml file manager.
+	 */
+	protected void reloaded() {}
 	//endregion
 
 	public static class YamlFileNotInitializedException extends RuntimeException
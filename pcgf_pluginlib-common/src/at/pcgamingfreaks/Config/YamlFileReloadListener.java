@@ -0,0 +1,41 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Config;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Gets notified when a yaml file with enabled hot reload has been changed and reloaded.
+ */
+public interface YamlFileReloadListener
+{
+	/**
+	 * Called after the changed file has been parsed, validated and swapped in.
+	 *
+	 * @param yamlFileManager The yaml file that has been reloaded.
+	 */
+	void onReload(@NotNull YamlFileManager yamlFileManager);
+
+	/**
+	 * Called if the changed file could not be parsed or failed the validation. The previously loaded content is still in use.
+	 *
+	 * @param yamlFileManager The yaml file that failed to reload.
+	 * @param exception The exception that prevented the reload.
+	 */
+	default void onReloadFailed(@NotNull YamlFileManager yamlFileManager, @NotNull Exception exception) {}
+}
@@ -0,0 +1,184 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Watches the folders of all yaml files with enabled hot reload with a single {@link WatchService}.
+ * Changes are debounced and the reload is done on the watchers scheduler thread, so the thread of the plugin is never blocked by it.
+ * The threads are started with the first registered file and stopped once the last one gets unregistered.
+ */
+final class YamlFileWatcher
+{
+	private static final YamlFileWatcher INSTANCE = new YamlFileWatcher();
+
+	private final Map<Path, Set<YamlFileManager>> watchedFiles = new HashMap<>();
+	private final Map<YamlFileManager, Path> registeredFiles = new HashMap<>();
+	private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+	private final Map<YamlFileManager, ScheduledFuture<?>> pendingReloads = new HashMap<>();
+	private final Supplier<ScheduledExecutorService> schedulerFactory;
+	private WatchService watchService;
+	private ScheduledExecutorService scheduler;
+
+	private YamlFileWatcher()
+	{
+		this(() -> Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread reloadThread = new Thread(runnable, "PCGF_PluginLib-YamlFileReload");
+			reloadThread.setDaemon(true);
+			return reloadThread;
+		}));
+	}
+
+	/**
+	 * @param schedulerFactory Creates the scheduler used to debounce the reloads, called every time the watcher gets started.
+	 */
+	YamlFileWatcher(final @NotNull Supplier<ScheduledExecutorService> schedulerFactory)
+	{
+		this.schedulerFactory = schedulerFactory;
+	}
+
+	static @NotNull YamlFileWatcher getInstance()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Starts watching the file of the given yaml file manager. Calling it again after the file of the manager has changed moves the registration to the new file.
+	 *
+	 * @param manager The yaml file manager that should be reloaded when its file changes.
+	 * @throws IOException If the folder of the file can't be watched.
+	 */
+	synchronized void register(final @NotNull YamlFileManager manager) throws IOException
+	{
+		File yamlFile = manager.yamlFile;
+		if(yamlFile == null) return;
+		Path file = yamlFile.toPath().toAbsolutePath().normalize();
+		if(file.equals(registeredFiles.get(manager))) return;
+		unregister(manager);
+		if(watchService == null)
+		{
+			watchService = FileSystems.getDefault().newWatchService();
+			final WatchService service = watchService;
+			Thread thread = new Thread(() -> run(service), "PCGF_PluginLib-YamlFileWatcher");
+			thread.setDaemon(true);
+			thread.start();
+			scheduler = schedulerFactory.get();
+		}
+		Path folder = file.getParent();
+		if(!watchKeys.containsKey(folder))
+		{
+			watchKeys.put(folder, folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+		}
+		watchedFiles.computeIfAbsent(file, f -> new HashSet<>()).add(manager);
+		registeredFiles.put(manager, file);
+	}
+
+	synchronized void unregister(final @NotNull YamlFileManager manager)
+	{
+		Path file = registeredFiles.remove(manager);
+		if(file == null) return;
+		ScheduledFuture<?> pending = pendingReloads.remove(manager);
+		if(pending != null) pending.cancel(false);
+		Set<YamlFileManager> managers = watchedFiles.get(file);
+		managers.remove(manager);
+		if(!managers.isEmpty()) return;
+		watchedFiles.remove(file);
+		Path folder = file.getParent();
+		if(watchedFiles.keySet().stream().noneMatch(watched -> watched.getParent().equals(folder)))
+		{
+			watchKeys.remove(folder).cancel();
+		}
+		if(watchedFiles.isEmpty()) stop();
+	}
+
+	private void stop()
+	{
+		try
+		{
+			watchService.close(); // Ends the watcher thread
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+		scheduler.shutdown();
+		watchService = null;
+		scheduler = null;
+	}
+
+	private void run(final @NotNull WatchService service)
+	{
+		try
+		{
+			//noinspection InfiniteLoopStatement
+			while(true)
+			{
+				WatchKey key = service.take();
+				Path folder = (Path) key.watchable();
+				for(WatchEvent<?> event : key.pollEvents())
+				{
+					if(event.kind() == StandardWatchEventKinds.OVERFLOW)
+					{ // Events got lost, check all the files in the folder
+						scheduleFolder(folder);
+					}
+					else
+					{
+						scheduleFile(folder.resolve((Path) event.context()));
+					}
+				}
+				key.reset();
+			}
+		}
+		catch(InterruptedException | ClosedWatchServiceException ignored) {}
+	}
+
+	private synchronized void scheduleFolder(final @NotNull Path folder)
+	{
+		new ArrayList<>(watchedFiles.keySet()).stream().filter(file -> file.getParent().equals(folder)).forEach(this::scheduleFile);
+	}
+
+	synchronized void scheduleFile(final @NotNull Path file)
+	{
+		Set<YamlFileManager> managers = watchedFiles.get(file);
+		if(managers == null || scheduler == null) return;
+		for(YamlFileManager manager : managers)
+		{
+			// Editors often write a file in multiple steps, only reload once the changes have settled
+			ScheduledFuture<?> pending = pendingReloads.get(manager);
+			if(pending != null) pending.cancel(false);
+			final AtomicReference<ScheduledFuture<?>> reload = new AtomicReference<>();
+			reload.set(scheduler.schedule(() -> {
+				synchronized(this)
+				{ // Only remove our own reload, a newer one might have been scheduled while this one was already running
+					pendingReloads.remove(manager, reload.get());
+				}
+				manager.hotReload();
+			}, manager.hotReloadDelay, TimeUnit.MILLISECONDS));
+			pendingReloads.put(manager, reload.get()); // The reload can't remove itself before it is stored, the lock is held till then
+		}
+	}
+}
@@ -37,4 +37,14 @@ default long getUnCacheDelay()
 	{
 		return getConfigE().getLong("Database.Cache.UnCache.Delay", 600);
 	}
+
+	default int getUnCacheLanes()
+	{
+		return getConfigE().getInt("Database.Cache.UnCache.Lanes", 4);
+	}
+
+	default int getUnCacheBatchSize()
+	{
+		return getConfigE().getInt("Database.Cache.UnCache.BatchSize", 100);
+	}
 }
\ No newline at end of file
@@ -26,7 +26,11 @@
 	ON_DISCONNECT,
 	ON_DISCONNECT_DELAYED,
 	INTERVAL,
-	INTERVAL_DELAYED;
+	INTERVAL_DELAYED,
+	/**
+	 * Like {@link #ON_DISCONNECT_DELAYED}, but the players are uncached asynchronously in batches on multiple lanes. Only available on BungeeCord.
+	 */
+	ON_DISCONNECT_SHARDED;
 
 	/**
 	 * @param value The name of the uncache strategy.
@@ -43,6 +47,7 @@ public static UnCacheStrategy getStrategy(@NotNull String value) throws IllegalA
 			case "ondisconnectdelayed": case "on_disconnect_delayed": return ON_DISCONNECT_DELAYED;
 			case "intervalchecked": case "interval_delayed": return INTERVAL_DELAYED;
 			case "interval": return INTERVAL;
+			case "ondisconnectsharded": case "on_disconnect_sharded": return ON_DISCONNECT_SHARDED;
 		}
 		throw new IllegalArgumentException("Unknown UnCacheStrategy '" + value + "'");
 	}
@@ -31,6 +31,31 @@
 	 */
 	Connection getConnection() throws SQLException;
 
+	/**
+	 * Gets a connection that will only be used to read data.
+	 * Providers that separate readers from writers (e.g. {@link SQLiteWalConnectionProvider}) can serve reads concurrently to a running write.
+	 * If you take one, close it when you are done!
+	 *
+	 * @return A connection for reading data.
+	 * @throws SQLException If there was a problem with the connection.
+	 */
+	default Connection getReadConnection() throws SQLException
+	{
+		return getConnection();
+	}
+
+	/**
+	 * Gets a connection that can be used to write data.
+	 * If you take one, close it when you are done!
+	 *
+	 * @return A connection for writing data.
+	 * @throws SQLException If there was a problem with the connection.
+	 */
+	default Connection getWriteConnection() throws SQLException
+	{
+		return getConnection();
+	}
+
 	String getDatabaseType();
 
 	/**
@@ -0,0 +1,125 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import org.jetbrains.annotations.NotNull;
+
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power of two buckets (in µs).
+ * Every event is counted and checked for the max value, but only a sample of the events is recorded into the buckets.
+ */
+public final class LatencyHistogram
+{
+	private static final int BUCKETS = 32; // Bucket i holds values < 2^(i+1) µs, the last one also holds everything above
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder(), sampledNanos = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+	private final int sampleMask;
+
+	/**
+	 * @param sampleRate Only one out of sampleRate events is recorded into the buckets. Must be a power of two, 1 to record every event.
+	 */
+	public LatencyHistogram(final int sampleRate)
+	{
+		if(sampleRate < 1 || Integer.bitCount(sampleRate) != 1) throw new IllegalArgumentException("The sample rate must be a power of two!");
+		sampleMask = sampleRate - 1;
+	}
+
+	public void record(final long nanos)
+	{
+		count.increment();
+		if(nanos > max.get()) max.accumulate(nanos); // Avoid the CAS if it's not a new max
+		if(sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) return;
+		long micros = nanos / 1000;
+		buckets.incrementAndGet((micros <= 1) ? 0 : Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros - 1)));
+		sampledNanos.add(nanos);
+	}
+
+	/**
+	 * Gets the current values of the histogram.
+	 *
+	 * @param reset True to reset the histogram, so that the next snapshot only contains the events recorded after this one.
+	 * @return The snapshot of the histogram.
+	 */
+	public @NotNull Snapshot snapshot(final boolean reset)
+	{
+		long[] bucketCounts = new long[BUCKETS];
+		for(int i = 0; i < BUCKETS; i++)
+		{
+			bucketCounts[i] = reset ? buckets.getAndSet(i, 0) : buckets.get(i);
+		}
+		if(reset) return new Snapshot(count.sumThenReset(), sampledNanos.sumThenReset(), max.getThenReset(), bucketCounts);
+		return new Snapshot(count.sum(), sampledNanos.sum(), max.get(), bucketCounts);
+	}
+
+	public static final class Snapshot
+	{
+		@Getter private final long count, maxNanos;
+		private final long sampledNanos, samples;
+		private final long[] buckets;
+
+		private Snapshot(final long count, final long sampledNanos, final long maxNanos, final @NotNull long[] buckets)
+		{
+			this.count = count;
+			this.sampledNanos = sampledNanos;
+			this.maxNanos = maxNanos;
+			this.buckets = buckets;
+			long samples = 0;
+			for(long bucket : buckets) samples += bucket;
+			this.samples = samples;
+		}
+
+		public long getMeanNanos()
+		{
+			return (samples == 0) ? 0 : sampledNanos / samples;
+		}
+
+		/**
+		 * Estimates a percentile. The result is the upper bound of the bucket containing the percentile, but never more than the max.
+		 *
+		 * @param percentile The percentile (0-100).
+		 * @return The estimated value of the percentile in ns.
+		 */
+		public long getPercentileNanos(final double percentile)
+		{
+			if(samples == 0) return 0;
+			long rank = (long) Math.ceil(samples * percentile / 100.0), seen = 0;
+			for(int i = 0; i < buckets.length; i++)
+			{
+				seen += buckets[i];
+				if(seen >= rank) return Math.min(maxNanos, (1L << (i + 1)) * 1000);
+			}
+			return maxNanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("count=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms", count, getMeanNanos() / 1e6, getPercentileNanos(50) / 1e6,
+			                     getPercentileNanos(95) / 1e6, getPercentileNanos(99) / 1e6, maxNanos / 1e6);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Writes the pool metrics and slow queries into a logger.
+ */
+public class LoggingMetricsSink implements MetricsSink
+{
+	private final Logger logger;
+	private final int statementsToLog;
+
+	public LoggingMetricsSink(final @NotNull Logger logger)
+	{
+		this(logger, 5);
+	}
+
+	/**
+	 * @param logger The logger to write to.
+	 * @param statementsToLog The number of statements that should be logged (the ones with the highest total execution time).
+	 */
+	public LoggingMetricsSink(final @NotNull Logger logger, final int statementsToLog)
+	{
+		this.logger = logger;
+		this.statementsToLog = statementsToLog;
+	}
+
+	@Override
+	public void export(@NotNull PoolMetrics.Snapshot snapshot)
+	{
+		StringBuilder builder = new StringBuilder("Database pool: active=").append(snapshot.getActiveConnections()).append(" idle=").append(snapshot.getIdleConnections())
+				.append(" waiting=").append(snapshot.getPendingThreads()).append(" timeouts=").append(snapshot.getConnectionTimeouts())
+				.append(" slowQueries=").append(snapshot.getSlowQueries()).append("\n  Connection acquisition: ").append(snapshot.getAcquisition());
+		snapshot.getStatements().entrySet().stream()
+				.sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram.Snapshot> entry) -> entry.getValue().getMeanNanos() * entry.getValue().getCount()).reversed())
+				.limit(statementsToLog)
+				.forEach(entry -> builder.append("\n  ").append(entry.getValue()).append(" | ").append(entry.getKey()));
+		logger.info(builder.toString());
+	}
+
+	@Override
+	public void slowQuery(@NotNull String query, long nanos)
+	{
+		logger.warning(String.format("Slow query (%.2fms): %s", nanos / 1e6, query));
+	}
+}
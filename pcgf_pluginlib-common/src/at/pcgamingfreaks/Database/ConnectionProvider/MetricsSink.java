@@ -0,0 +1,41 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives the metrics of a connection pool.
+ */
+public interface MetricsSink
+{
+	/**
+	 * Called by {@link PoolMetrics#export()} with the metrics collected since the last export.
+	 *
+	 * @param snapshot The metrics of the pool.
+	 */
+	void export(@NotNull PoolMetrics.Snapshot snapshot);
+
+	/**
+	 * Called on the thread that executed the query, for every query that took longer than the slow query threshold.
+	 *
+	 * @param query The slow query.
+	 * @param nanos The execution time of the query in ns.
+	 */
+	default void slowQuery(@NotNull String query, long nanos) {}
+}
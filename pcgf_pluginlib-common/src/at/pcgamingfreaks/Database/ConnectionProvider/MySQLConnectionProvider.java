@@ -32,7 +32,7 @@ public class MySQLConnectionProvider extends PooledConnectionProvider
 
 	public MySQLConnectionProvider(@NotNull Logger logger, @NotNull String pluginName, @NotNull DatabaseConnectionConfiguration connectionConfiguration)
 	{
-		super(logger, pluginName);
+		super(logger, pluginName, connectionConfiguration.getSQLMetricsSampleRate());
 		this.connectionConfiguration = connectionConfiguration;
 		init();
 	}
@@ -0,0 +1,212 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the metrics of a connection pool: the connection usage of the pool, the time it takes to acquire a connection and the execution times of the statements.
+ * All counters are lock-free, so collecting the metrics does not add contention to the pool.
+ * The statement timings and the slow query log are disabled by default, since they require wrapping the connections handed out by the pool.
+ */
+public class PoolMetrics
+{
+	private static final int MAX_TRACKED_STATEMENTS = 512;
+	private static final String OTHER_STATEMENTS = "<other>";
+
+	private final LatencyHistogram acquisition;
+	private final Map<String, LatencyHistogram> statements = new ConcurrentHashMap<>();
+	private final LatencyHistogram otherStatements;
+	private final LongAdder connectionTimeouts = new LongAdder(), slowQueries = new LongAdder();
+	@Getter private final int sampleRate;
+	private volatile PoolStats poolStats;
+	private volatile long slowQueryThresholdNanos = -1;
+	/**
+	 * True to record the execution time of every statement.
+	 */
+	@Getter @Setter private volatile boolean statementTimings = false;
+	@Getter @Setter private volatile @Nullable MetricsSink sink;
+
+	public PoolMetrics()
+	{
+		this(1);
+	}
+
+	/**
+	 * @param sampleRate Only one out of sampleRate events is recorded into the histograms. Must be a power of two.
+	 */
+	public PoolMetrics(final int sampleRate)
+	{
+		this.sampleRate = sampleRate;
+		acquisition = new LatencyHistogram(sampleRate);
+		otherStatements = new LatencyHistogram(sampleRate);
+	}
+
+	/**
+	 * Sets the threshold for the slow query log. Queries taking longer than the threshold are reported to the sink.
+	 *
+	 * @param threshold The threshold. Negative to disable the slow query log.
+	 * @param unit The unit of the threshold.
+	 */
+	public void setSlowQueryThreshold(final long threshold, final @NotNull TimeUnit unit)
+	{
+		slowQueryThresholdNanos = (threshold < 0) ? -1 : unit.toNanos(threshold);
+	}
+
+	/**
+	 * @return True if the connections of the pool need to be wrapped to measure the statements.
+	 */
+	public boolean isStatementInstrumentationEnabled()
+	{
+		return statementTimings || slowQueryThresholdNanos >= 0;
+	}
+
+	/**
+	 * Wraps a connection so that the execution times of its statements get recorded.
+	 *
+	 * @param connection The connection to wrap.
+	 * @return The wrapped connection. The connection itself if the statement instrumentation is disabled.
+	 */
+	public @NotNull Connection instrument(final @NotNull Connection connection)
+	{
+		return isStatementInstrumentationEnabled() ? StatementTimer.wrap(connection, this) : connection;
+	}
+
+	/**
+	 * Records the execution time of a statement. Used for statements that are not executed through an instrumented connection (e.g. the ones of a {@link at.pcgamingfreaks.Database.StatementRegistry}).
+	 *
+	 * @param sql The query of the statement.
+	 * @param nanos The execution time in ns.
+	 */
+	public void recordStatement(final @NotNull String sql, final long nanos)
+	{
+		if(statementTimings)
+		{
+			LatencyHistogram histogram = statements.get(sql);
+			if(histogram == null)
+			{ // Limit the number of tracked statements, statements with inlined values would grow the map indefinitely
+				histogram = (statements.size() < MAX_TRACKED_STATEMENTS) ? statements.computeIfAbsent(sql, key -> new LatencyHistogram(sampleRate)) : otherStatements;
+			}
+			histogram.record(nanos);
+		}
+		long threshold = slowQueryThresholdNanos;
+		if(threshold >= 0 && nanos >= threshold)
+		{
+			slowQueries.increment();
+			MetricsSink sink = this.sink;
+			if(sink != null) sink.slowQuery(sql, nanos);
+		}
+	}
+
+	/**
+	 * Gets the current metrics.
+	 *
+	 * @param reset True to reset the counters and histograms.
+	 * @return The current metrics of the pool.
+	 */
+	public @NotNull Snapshot snapshot(final boolean reset)
+	{
+		Map<String, LatencyHistogram.Snapshot> statementSnapshots = new HashMap<>();
+		statements.forEach((sql, histogram) -> {
+			// Every histogram is reset on its own, so executions recorded while the snapshot is taken are not lost
+			LatencyHistogram.Snapshot snapshot = histogram.snapshot(reset);
+			// Statements without executions since the last reset are no longer tracked, to free the slots for other statements
+			if(reset && snapshot.getCount() == 0) statements.remove(sql, histogram);
+			else statementSnapshots.put(sql, snapshot);
+		});
+		LatencyHistogram.Snapshot other = otherStatements.snapshot(reset);
+		if(other.getCount() > 0) statementSnapshots.put(OTHER_STATEMENTS, other);
+		PoolStats stats = poolStats;
+		return new Snapshot(stats, acquisition.snapshot(reset), reset ? connectionTimeouts.sumThenReset() : connectionTimeouts.sum(),
+		                    reset ? slowQueries.sumThenReset() : slowQueries.sum(), Collections.unmodifiableMap(statementSnapshots));
+	}
+
+	/**
+	 * Exports the metrics collected since the last export to the sink and resets them.
+	 * Should be called periodically, for example from a repeating async task.
+	 */
+	public void export()
+	{
+		MetricsSink sink = this.sink;
+		if(sink != null) sink.export(snapshot(true));
+	}
+
+	/**
+	 * @return The factory that needs to be set in the config of the pool to collect the metrics of the pool.
+	 */
+	public @NotNull MetricsTrackerFactory getTrackerFactory()
+	{
+		return (poolName, stats) -> {
+			poolStats = stats;
+			return new IMetricsTracker() {
+				@Override
+				public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos)
+				{
+					acquisition.record(elapsedAcquiredNanos);
+				}
+
+				@Override
+				public void recordConnectionTimeout()
+				{
+					connectionTimeouts.increment();
+				}
+			};
+		};
+	}
+
+	@Getter
+	public static final class Snapshot
+	{
+		private final int activeConnections, idleConnections, totalConnections, pendingThreads;
+		private final long connectionTimeouts, slowQueries;
+		private final LatencyHistogram.Snapshot acquisition;
+		/**
+		 * The timings of the statements, only filled if the statement timings are enabled.
+		 */
+		private final Map<String, LatencyHistogram.Snapshot> statements;
+
+		private Snapshot(final @Nullable PoolStats stats, final @NotNull LatencyHistogram.Snapshot acquisition, final long connectionTimeouts, final long slowQueries,
+		                 final @NotNull Map<String, LatencyHistogram.Snapshot> statements)
+		{
+			activeConnections = (stats == null) ? 0 : stats.getActiveConnections();
+			idleConnections = (stats == null) ? 0 : stats.getIdleConnections();
+			totalConnections = (stats == null) ? 0 : stats.getTotalConnections();
+			pendingThreads = (stats == null) ? 0 : stats.getPendingThreads();
+			this.acquisition = acquisition;
+			this.connectionTimeouts = connectionTimeouts;
+			this.slowQueries = slowQueries;
+			this.statements = statements;
+		}
+	}
+}
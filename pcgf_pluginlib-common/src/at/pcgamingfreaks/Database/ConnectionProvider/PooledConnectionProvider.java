@@ -24,6 +24,8 @@
 
 import org.jetbrains.annotations.NotNull;
 
+import lombok.Getter;
+
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.logging.Logger;
@@ -33,11 +35,26 @@ public abstract class PooledConnectionProvider implements ConnectionProvider
 	protected final Logger logger;
 	private final String pluginName;
 	private HikariDataSource dataSource; // SQL Connection Pool
+	/**
+	 * The metrics of the connection pool. Statement timings and the slow query log can be enabled at any time, the connections handed out afterwards will be measured.
+	 */
+	@Getter private final PoolMetrics metrics;
 
 	protected PooledConnectionProvider(@NotNull Logger logger, @NotNull String pluginName)
+	{
+		this(logger, pluginName, 1);
+	}
+
+	/**
+	 * @param logger The logger used to report problems.
+	 * @param pluginName The name of the plugin, used to name the connection pool.
+	 * @param metricsSampleRate Only one out of metricsSampleRate events is recorded into the histograms of the metrics. Must be a power of two.
+	 */
+	protected PooledConnectionProvider(@NotNull Logger logger, @NotNull String pluginName, int metricsSampleRate)
 	{
 		this.logger = logger;
 		this.pluginName = pluginName;
+		this.metrics = new PoolMetrics(metricsSampleRate);
 	}
 
 	public void init()
@@ -51,6 +68,7 @@ public void init()
 			poolConfig.addDataSourceProperty("cachePrepStmts", "true");
 			poolConfig.addDataSourceProperty("prepStmtCacheSize", "250");
 			poolConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+			poolConfig.setMetricsTrackerFactory(metrics.getTrackerFactory());
 			dataSource = new HikariDataSource(poolConfig);
 		}
 		catch(Exception e)
@@ -71,7 +89,7 @@ public void init()
 	@Override
 	public Connection getConnection() throws SQLException
 	{
-		return dataSource.getConnection();
+		return metrics.instrument(dataSource.getConnection());
 	}
 
 	@Override
@@ -25,13 +25,28 @@
 
 import java.util.logging.Logger;
 
+/**
+ * SQLite connection provider using a single connection for reads and writes.
+ * Use the {@link SQLiteWalConnectionProvider} to allow reads while writing.
+ */
 public class SQLiteConnectionProvider extends PooledConnectionProvider
 {
 	private final String databasePath;
 
 	public SQLiteConnectionProvider(@NotNull Logger logger, @NotNull String pluginName, @NotNull String databasePath)
 	{
-		super(logger, pluginName);
+		this(logger, pluginName, databasePath, 1);
+	}
+
+	/**
+	 * @param logger The logger used to report problems.
+	 * @param pluginName The name of the plugin, used to name the connection pool.
+	 * @param databasePath The path to the SQLite database file.
+	 * @param metricsSampleRate Only one out of metricsSampleRate events is recorded into the histograms of the metrics. Must be a power of two.
+	 */
+	public SQLiteConnectionProvider(@NotNull Logger logger, @NotNull String pluginName, @NotNull String databasePath, int metricsSampleRate)
+	{
+		super(logger, pluginName, metricsSampleRate);
 		this.databasePath = databasePath;
 		init();
 	}
@@ -0,0 +1,266 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import at.pcgamingfreaks.ConsoleColor;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.io.PrintWriter;
+import java.sql.*;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite connection provider using the write-ahead log, which allows reads while a write is running.
+ * All writes go through one dedicated connection, reads are served by a small pool of read-only connections.
+ * Use {@link #getReadConnection()} for everything that doesn't change data. {@link #getConnection()} returns the write connection.
+ */
+public class SQLiteWalConnectionProvider implements ConnectionProvider
+{
+	public static final int DEFAULT_READ_CONNECTIONS = 4;
+	public static final String DEFAULT_SYNCHRONOUS = "NORMAL"; // Safe with WAL, only the last transactions might be lost on a power failure
+	public static final long DEFAULT_CACHE_SIZE = -8192; // Negative values are in KiB, so 8 MiB per connection
+	public static final long DEFAULT_MMAP_SIZE = 64 * 1024 * 1024;
+	private static final int BUSY_TIMEOUT = 5000;
+
+	protected final Logger logger;
+	private final String pluginName, databasePath;
+	@Getter private final int readConnections;
+	@Getter private final String synchronous;
+	@Getter private final long cacheSize, mmapSize;
+	private HikariDataSource writeDataSource, readDataSource;
+
+	public SQLiteWalConnectionProvider(@NotNull Logger logger, @NotNull String pluginName, @NotNull String databasePath)
+	{
+		this(logger, pluginName, databasePath, DEFAULT_READ_CONNECTIONS, DEFAULT_SYNCHRONOUS, DEFAULT_CACHE_SIZE, DEFAULT_MMAP_SIZE);
+	}
+
+	/**
+	 * @param logger The logger used to report problems.
+	 * @param pluginName The name of the plugin, used to name the connection pools.
+	 * @param databasePath The path to the SQLite database file.
+	 * @param readConnections The maximum amount of read-only connections.
+	 * @param synchronous The value for the synchronous pragma (OFF, NORMAL, FULL or EXTRA).
+	 * @param cacheSize The value for the cache_size pragma. Positive values are pages, negative values are KiB.
+	 * @param mmapSize The value for the mmap_size pragma in bytes. 0 to disable memory mapped I/O.
+	 */
+	public SQLiteWalConnectionProvider(@NotNull Logger logger, @NotNull String pluginName, @NotNull String databasePath, int readConnections, @NotNull String synchronous, long cacheSize, long mmapSize)
+	{
+		if(readConnections < 1) throw new IllegalArgumentException("At least one read connection is needed!");
+		synchronous = synchronous.toUpperCase(Locale.ROOT);
+		if(!synchronous.matches("OFF|NORMAL|FULL|EXTRA|[0-3]")) throw new IllegalArgumentException("Invalid synchronous mode: " + synchronous);
+		if(mmapSize < 0) throw new IllegalArgumentException("The mmap size must not be negative!");
+		this.logger = logger;
+		this.pluginName = pluginName;
+		this.databasePath = databasePath;
+		this.readConnections = readConnections;
+		this.synchronous = synchronous;
+		this.cacheSize = cacheSize;
+		this.mmapSize = mmapSize;
+		init();
+	}
+
+	private void init()
+	{
+		try
+		{
+			Class.forName("org.sqlite.JDBC"); // JDBC is unable to load the SQLite JDBC driver on its own.
+		}
+		catch(ClassNotFoundException e)
+		{
+			logger.severe(ConsoleColor.RED + " Failed to load SQLite JDBC driver!" + ConsoleColor.RESET);
+		}
+		try
+		{
+			// The writer has to be created first, the readers expect the database to be in WAL mode already
+			writeDataSource = new HikariDataSource(getPoolConfig("Writer", 1, false));
+			readDataSource = new HikariDataSource(getPoolConfig("Reader", readConnections, true));
+		}
+		catch(Exception e)
+		{
+			close();
+			Throwable cause = e;
+			while(cause.getCause() != null) { cause = cause.getCause(); }
+			logger.severe(ConsoleColor.RED + "There was a problem creating the connection pool for the SQLite database!" + ConsoleColor.RESET + "\nError: " + cause.getMessage());
+		}
+	}
+
+	private @NotNull HikariConfig getPoolConfig(final @NotNull String type, final int size, final boolean readOnly)
+	{
+		HikariConfig poolConfig = new HikariConfig();
+		poolConfig.setPoolName(pluginName + "-SQLite-" + type + "-Pool");
+		poolConfig.setDataSource(new PragmaDataSource("jdbc:sqlite:" + databasePath, getPragmas(readOnly)));
+		poolConfig.setMinimumIdle(1);
+		poolConfig.setMaximumPoolSize(size);
+		poolConfig.setConnectionTestQuery("SELECT 1;"); // HikariCP doesn't support connection tests on it's own.
+		return poolConfig;
+	}
+
+	private @NotNull String[] getPragmas(final boolean readOnly)
+	{
+		return new String[] {
+				"PRAGMA busy_timeout=" + BUSY_TIMEOUT + ";", // Wait for locks (e.g. during checkpoints) instead of failing right away
+				// Only the writer switches the journal mode, WAL mode is persisted in the database file
+				readOnly ? "PRAGMA query_only=ON;" : "PRAGMA journal_mode=WAL;",
+				"PRAGMA synchronous=" + synchronous + ";",
+				"PRAGMA cache_size=" + cacheSize + ";",
+				"PRAGMA mmap_size=" + mmapSize + ";"
+		};
+	}
+
+	/**
+	 * Gets the write connection. Only one thread can use it at a time.
+	 * If you take one, close it when you are done!
+	 *
+	 * @return The write connection.
+	 * @throws SQLException If there was a problem with the connection.
+	 */
+	@Override
+	public Connection getConnection() throws SQLException
+	{
+		return writeDataSource.getConnection();
+	}
+
+	@Override
+	public Connection getReadConnection() throws SQLException
+	{
+		return readDataSource.getConnection();
+	}
+
+	@Override
+	public Connection getWriteConnection() throws SQLException
+	{
+		return writeDataSource.getConnection();
+	}
+
+	@Override
+	public String getDatabaseType()
+	{
+		return "sqlite";
+	}
+
+	@Override
+	public void close()
+	{
+		if(readDataSource != null && !readDataSource.isClosed()) readDataSource.close();
+		if(writeDataSource != null && !writeDataSource.isClosed()) writeDataSource.close();
+		readDataSource = null;
+		writeDataSource = null;
+	}
+
+	@Override
+	public boolean isAvailable()
+	{
+		return writeDataSource != null && readDataSource != null;
+	}
+
+	/**
+	 * Opens connections through the driver manager and applies the pragmas to every new connection.
+	 * The pragmas are executed one by one, since the SQLite driver only executes the first statement of a query.
+	 */
+	private static final class PragmaDataSource implements DataSource
+	{
+		private final String url;
+		private final String[] pragmas;
+		private int loginTimeout = 0;
+		private @Nullable PrintWriter logWriter;
+
+		private PragmaDataSource(final @NotNull String url, final @NotNull String[] pragmas)
+		{
+			this.url = url;
+			this.pragmas = pragmas;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException
+		{
+			Connection connection = DriverManager.getConnection(url);
+			try(Statement statement = connection.createStatement())
+			{
+				for(String pragma : pragmas)
+				{
+					statement.execute(pragma);
+				}
+			}
+			catch(SQLException e)
+			{
+				connection.close();
+				throw e;
+			}
+			return connection;
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException
+		{
+			return getConnection();
+		}
+
+		@Override
+		public PrintWriter getLogWriter()
+		{
+			return logWriter;
+		}
+
+		@Override
+		public void setLogWriter(PrintWriter out)
+		{
+			logWriter = out;
+		}
+
+		@Override
+		public void setLoginTimeout(int seconds)
+		{
+			loginTimeout = seconds;
+		}
+
+		@Override
+		public int getLoginTimeout()
+		{
+			return loginTimeout;
+		}
+
+		@Override
+		public Logger getParentLogger() throws SQLFeatureNotSupportedException
+		{
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> iface) throws SQLException
+		{
+			if(iface.isInstance(this)) return iface.cast(this);
+			throw new SQLException("Not a wrapper for " + iface);
+		}
+
+		@Override
+		public boolean isWrapperFor(Class<?> iface)
+		{
+			return iface.isInstance(this);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Proxies a connection and the statements created by it, to record the execution times of the statements in the {@link PoolMetrics}.
+ */
+final class StatementTimer implements InvocationHandler
+{
+	private final Object target;
+	private final PoolMetrics metrics;
+	private final String sql; // Only set for prepared statements
+
+	private StatementTimer(final @NotNull Object target, final @NotNull PoolMetrics metrics, final @Nullable String sql)
+	{
+		this.target = target;
+		this.metrics = metrics;
+		this.sql = sql;
+	}
+
+	static @NotNull Connection wrap(final @NotNull Connection connection, final @NotNull PoolMetrics metrics)
+	{
+		return (Connection) Proxy.newProxyInstance(StatementTimer.class.getClassLoader(), new Class[] { Connection.class }, new StatementTimer(connection, metrics, null));
+	}
+
+	private @NotNull Statement wrap(final @NotNull Statement statement, final @Nullable String sql)
+	{
+		Class<?> type = (statement instanceof CallableStatement) ? CallableStatement.class : ((statement instanceof PreparedStatement) ? PreparedStatement.class : Statement.class);
+		return (Statement) Proxy.newProxyInstance(StatementTimer.class.getClassLoader(), new Class[] { type }, new StatementTimer(statement, metrics, sql));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+	{
+		String name = method.getName();
+		if(name.equals("equals") && args != null && args.length == 1) return proxy == args[0];
+		if(name.equals("hashCode") && args == null) return System.identityHashCode(proxy);
+		if(target instanceof Connection)
+		{
+			Object result = invokeTarget(method, args);
+			if(result instanceof Statement)
+			{
+				boolean prepared = name.startsWith("prepare") && args != null && args.length > 0 && args[0] instanceof String;
+				return wrap((Statement) result, prepared ? (String) args[0] : null);
+			}
+			return result;
+		}
+		if(!name.startsWith("execute")) return invokeTarget(method, args);
+		long start = System.nanoTime();
+		try
+		{
+			return invokeTarget(method, args);
+		}
+		finally
+		{
+			String statementSql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : sql;
+			metrics.recordStatement((statementSql != null) ? statementSql : "<batch>", System.nanoTime() - start);
+		}
+	}
+
+	private Object invokeTarget(final @NotNull Method method, final @Nullable Object[] args) throws Throwable
+	{
+		try
+		{
+			return method.invoke(target, args);
+		}
+		catch(InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+}
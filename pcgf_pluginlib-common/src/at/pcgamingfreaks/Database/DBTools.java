@@ -54,12 +54,28 @@
 	 * @throws SQLException If any handling with the database failed
 	 */
 	public static void updateDB(@NotNull Connection connection, @NotNull @Language("SQL") String tableDefinition, @Nullable Logger logger) throws IllegalArgumentException, SQLException
+	{
+		updateDB(connection, tableDefinition, logger, null);
+	}
+
+	/**
+	 * Updates the database so that the given table exists and matches the schema after using this function.
+	 * Works like {@link #updateDB(Connection, String, Logger)}, but skips the comparison of the table if neither the definition nor the table has changed since the last call.
+	 *
+	 * @param connection The JDBC database connection
+	 * @param tableDefinition A MySQL create query, see {@link #updateDB(Connection, String, Logger)} for the style guidelines.
+	 * @param logger (optional) A logger to print additional infos in case of a problem
+	 * @param fingerprintTable The name of the table used to store the fingerprints of the validated tables (e.g. {@link SQLTableValidator#DEFAULT_FINGERPRINT_TABLE}). null to always compare the full table definitions.
+	 * @throws IllegalArgumentException If the create query is not in the right format
+	 * @throws SQLException If any handling with the database failed
+	 */
+	public static void updateDB(final @NotNull Connection connection, final @NotNull @Language("SQL") String tableDefinition, final @Nullable Logger logger, final @Nullable String fingerprintTable) throws IllegalArgumentException, SQLException
 	{
 		String dbType = connection.getMetaData().getDatabaseProductName();
 		switch(dbType.toLowerCase(Locale.ENGLISH))
 		{
-			case "mysql": case "mariadb": new MySQLTableValidator().validate(connection, tableDefinition); return;
-			case "sqlite": new SQLiteTableValidator().validate(connection, tableDefinition); return;
+			case "mysql": case "mariadb": new MySQLTableValidator(fingerprintTable).validate(connection, tableDefinition, logger); return;
+			case "sqlite": new SQLiteTableValidator(fingerprintTable).validate(connection, tableDefinition, logger); return;
 			default: throw new RuntimeException("Unsupported database backend '" + dbType + "'!");
 		}
 	}
@@ -94,6 +110,7 @@ public static void updateDB(final @NotNull Connection connection, final @NotNull
 	/**
 	 * Creates an {@link PreparedStatement} form the {@link Connection}, fills it with the data given and executes it.
 	 * This method is not async! And the connection is not closed after it is done!
+	 * Frequently executed statements should be registered in a {@link StatementRegistry} instead, which reuses the prepared statements.
 	 *
 	 * @param connection The connection used for the query.
 	 * @param query The query to execute.
@@ -83,4 +83,14 @@ default long getSQLIdleTimeout()
 	{
 		return getConfigE().getLong("Database.SQL.IdleTimeout", -1) * 1000;
 	}
+
+	/**
+	 * Gets the sample rate for the histograms of the pool metrics. Only one out of sample rate events gets recorded.
+	 *
+	 * @return The sample rate, rounded down to a power of two.
+	 */
+	default int getSQLMetricsSampleRate()
+	{
+		return Integer.highestOneBit(Math.max(1, getConfigE().getInt("Database.SQL.MetricsSampleRate", 1)));
+	}
 }
\ No newline at end of file
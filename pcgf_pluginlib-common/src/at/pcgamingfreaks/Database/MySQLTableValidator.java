@@ -27,6 +27,25 @@
 
 public class MySQLTableValidator extends SQLTableValidator
 {
+	public MySQLTableValidator()
+	{
+		super();
+	}
+
+	/**
+	 * @param fingerprintTable The name of the table used to store the fingerprints of the validated tables (e.g. {@link #DEFAULT_FINGERPRINT_TABLE}). null to always compare the full table definitions.
+	 */
+	public MySQLTableValidator(final @Nullable String fingerprintTable)
+	{
+		super(fingerprintTable);
+	}
+
+	@Override
+	protected boolean supportsMultipleAlterations()
+	{
+		return true;
+	}
+
 	@Override
 	protected String getCurrentCreateStatement(@NotNull Connection connection, @NotNull String tableName) throws SQLException
 	{
@@ -46,91 +65,62 @@ protected String getCurrentCreateStatement(@NotNull Connection connection, @NotN
 	@Override
 	protected void addColumn(Connection connection, String tableName, String columnName, String columnDefinition) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE `" + tableName + "` ADD COLUMN `" + columnName + "` " + columnDefinition);
-		}
+		queueAlteration(connection, tableName, "ADD COLUMN `" + columnName + "` " + columnDefinition);
 	}
 
 	@Override
 	protected void modifyColumn(Connection connection, String tableName, String columnName, String columnDefinition) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE `" + tableName + "` MODIFY COLUMN `" + columnName + "` " + columnDefinition);
-		}
+		queueAlteration(connection, tableName, "MODIFY COLUMN `" + columnName + "` " + columnDefinition);
 	}
 
 	@Override
 	protected void addIndex(@NotNull Connection connection, String tableName, String columnName, String indexString) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " ADD INDEX " + (columnName != null && columnName.length() > 0 ? "`" + columnName + "` " : "") + "(" + indexString + ")");
-		}
+		queueAlteration(connection, tableName, "ADD INDEX " + (columnName != null && columnName.length() > 0 ? "`" + columnName + "` " : "") + "(" + indexString + ")");
 	}
 
 	@Override
 	protected void modifyIndex(@NotNull Connection connection, String tableName, String columnName, String indexString) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " DROP INDEX `" + columnName + "`, ADD INDEX `" + columnName + "` (" + indexString + ")");
-		}
+		queueAlteration(connection, tableName, "DROP INDEX `" + columnName + "`, ADD INDEX `" + columnName + "` (" + indexString + ")");
 	}
 
 	@Override
 	protected void makeIndexUnique(@NotNull Connection connection, String tableName, String columnName, String indexString) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " DROP INDEX `" + columnName + "`, ADD UNIQUE INDEX `" + columnName + "` (" + indexString + ")");
-		}
+		queueAlteration(connection, tableName, "DROP INDEX `" + columnName + "`, ADD UNIQUE INDEX `" + columnName + "` (" + indexString + ")");
 	}
 
 	@Override
 	protected void addUniqueIndex(@NotNull Connection connection, String tableName, @Nullable String columnName, String indexString) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " ADD UNIQUE INDEX " + (columnName == null ? "" : "`" + columnName + "` ") + "(" + indexString + ")");
-		}
+		queueAlteration(connection, tableName, "ADD UNIQUE INDEX " + (columnName == null ? "" : "`" + columnName + "` ") + "(" + indexString + ")");
 	}
 
 	@Override
 	protected void addConstraint(@NotNull Connection connection, String tableName, String columnName, String foreignKey, String references) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " ADD CONSTRAINT " + (columnName == null ? "" : "`" + columnName + "` ") + "FOREIGN KEY (" + foreignKey + ") REFERENCES " + references);
-		}
+		queueAlteration(connection, tableName, "ADD CONSTRAINT " + (columnName == null ? "" : "`" + columnName + "` ") + "FOREIGN KEY (" + foreignKey + ") REFERENCES " + references);
 	}
 
 	@Override
 	protected void modifyConstraint(@NotNull Connection connection, String tableName, String columnName, String foreignKey, String references) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " DROP FOREIGN KEY `" + columnName + "`");
-		}
+		queueAlteration(connection, tableName, "DROP FOREIGN KEY `" + columnName + "`");
+		executeQueuedAlterations(connection); // MySQL doesn't allow to drop and re-add a foreign key with the same name in one statement
 		addConstraint(connection, tableName, columnName, foreignKey, references);
 	}
 
 	@Override
 	protected void addPrimaryKey(@NotNull Connection connection, String tableName, String primaryKey) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " ADD PRIMARY KEY " + primaryKey);
-		}
+		queueAlteration(connection, tableName, "ADD PRIMARY KEY " + primaryKey);
 	}
 
 	@Override
 	protected void modifyPrimaryKey(@NotNull Connection connection, String tableName, String primaryKey) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE " + tableName + " DROP PRIMARY KEY, ADD PRIMARY KEY " + primaryKey);
-		}
+		queueAlteration(connection, tableName, "DROP PRIMARY KEY, ADD PRIMARY KEY " + primaryKey);
 	}
 }
\ No newline at end of file
@@ -21,9 +21,12 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Statement;
+import at.pcgamingfreaks.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -43,6 +46,27 @@
 	private static final Pattern COLUMN_TYPE_EXTRACTOR_PATTERN = Pattern.compile("^(\\w*(\\(\\d+(,\\d+)?\\))?)\\s+(.*)$", Pattern.CASE_INSENSITIVE);
 	private static final Pattern UNIQUE_INDEX_PATTERN = Pattern.compile("^(`(\\w+)`|\\w+)?\\s*\\((.*)\\)$", Pattern.CASE_INSENSITIVE);
 	private static final Pattern FOREIGN_KEY_PATTERN = Pattern.compile("^(`(\\w+)`|\\w+)?\\s*\\(([^)]*)\\)\\s+REFERENCES\\s+(`\\w+`|\\w+)\\s+\\(([^)]*)\\)\\s*(ON DELETE (RESTRICT|CASCADE|SET NULL|NO ACTION))?\\s*(ON UPDATE (RESTRICT|CASCADE|SET NULL|NO ACTION))?$", Pattern.CASE_INSENSITIVE);
+	private static final Pattern AUTO_INCREMENT_COUNTER_PATTERN = Pattern.compile("\\s+AUTO_INCREMENT=\\d+", Pattern.CASE_INSENSITIVE);
+	public static final String DEFAULT_FINGERPRINT_TABLE = "pcgf_table_fingerprints";
+
+	private final @Nullable String fingerprintTable;
+	private final List<String> queuedAlterations = new ArrayList<>();
+	private @Nullable String queuedAlterationsTable;
+	private boolean altered, fingerprintTableCreated;
+
+	protected SQLTableValidator()
+	{
+		this(null);
+	}
+
+	/**
+	 * @param fingerprintTable The name of the table used to store the fingerprints of the validated tables. null to always compare the full table definitions.
+	 *                         If set, the comparison of a table is skipped if neither the requested definition nor the table in the database has changed since the last validation.
+	 */
+	protected SQLTableValidator(final @Nullable String fingerprintTable)
+	{
+		this.fingerprintTable = fingerprintTable;
+	}
 
 	/**
 	 * Updates the database so that the given table exists and matches the schema after using this function
@@ -111,9 +135,11 @@ public void validate(@NotNull Connection connection, @NotNull @Language("SQL") S
 		//region get current definition
 		List<String> currentTableColumns;
 		@Language("SQL") String currentCreateStatement;
+		String definitionFingerprint = (fingerprintTable != null && createFingerprintTable(connection, logger)) ? fingerprint(tableDefinition) : null;
 		try
 		{
 			currentCreateStatement = getCurrentCreateStatement(connection, tableName);
+			if(definitionFingerprint != null && !currentCreateStatement.isEmpty() && isFingerprintUnchanged(connection, tableName, definitionFingerprint, currentCreateStatement, logger)) return;
 			currentTableColumns = getCurrentTableColumns(currentCreateStatement);
 		}
 		catch(SQLException ignored)
@@ -122,10 +148,14 @@ public void validate(@NotNull Connection connection, @NotNull @Language("SQL") S
 			{
 				statement.executeUpdate(tableDefinition);
 			}
+			if(definitionFingerprint != null) storeFingerprint(connection, tableName, definitionFingerprint, null, logger);
 			return;
 		}
 		//endregion
 		//region compare and update
+		queuedAlterations.clear();
+		queuedAlterationsTable = null;
+		altered = false;
 		try
 		{
 			for(int i = 0; i < definitionTableColumns.length; i++)
@@ -146,6 +176,7 @@ public void validate(@NotNull Connection connection, @NotNull @Language("SQL") S
 				columnMatcher = COLUMN_NAME_EXTRACTOR_PATTERN.matcher(definitionTableColumns[i]);
 				if(columnMatcher.find()) processName(connection, columnMatcher, tableName, definitionTableColumns[i], currentTableColumns);
 			}
+			executeQueuedAlterations(connection);
 		}
 		catch(SQLException e)
 		{
@@ -155,9 +186,159 @@ public void validate(@NotNull Connection connection, @NotNull @Language("SQL") S
 			}
 			throw e;
 		}
+		finally
+		{
+			queuedAlterations.clear();
+			queuedAlterationsTable = null;
+		}
 		//endregion
+		if(definitionFingerprint != null) storeFingerprint(connection, tableName, definitionFingerprint, altered ? null : currentCreateStatement, logger);
+	}
+
+	//region batched alterations
+	/**
+	 * Queues an alteration of a table. The queued alterations are executed together once the table has been compared with the requested definition.
+	 *
+	 * @param connection The JDBC database connection
+	 * @param tableName The name of the table that should be altered
+	 * @param alteration The alteration (e.g. "ADD COLUMN `name` INT")
+	 * @throws SQLException If alterations of another table have been queued and their execution failed
+	 */
+	protected void queueAlteration(@NotNull Connection connection, @NotNull String tableName, @NotNull String alteration) throws SQLException
+	{
+		if(queuedAlterationsTable != null && !queuedAlterationsTable.equals(tableName)) executeQueuedAlterations(connection);
+		queuedAlterationsTable = tableName;
+		queuedAlterations.add(alteration);
+	}
+
+	/**
+	 * Executes all queued alterations, with as few round trips as the database allows.
+	 * Can be used by database specific implementations if an alteration must not be combined with the following ones.
+	 *
+	 * @param connection The JDBC database connection
+	 * @throws SQLException If the alterations failed
+	 */
+	protected void executeQueuedAlterations(@NotNull Connection connection) throws SQLException
+	{
+		if(queuedAlterations.isEmpty()) return;
+		String alterTable = "ALTER TABLE `" + queuedAlterationsTable + "` ";
+		try(Statement statement = connection.createStatement())
+		{
+			if(queuedAlterations.size() == 1)
+			{
+				statement.executeUpdate(alterTable + queuedAlterations.get(0));
+			}
+			else if(supportsMultipleAlterations())
+			{
+				statement.executeUpdate(alterTable + String.join(", ", queuedAlterations));
+			}
+			else
+			{
+				for(String alteration : queuedAlterations)
+				{
+					statement.addBatch(alterTable + alteration);
+				}
+				statement.executeBatch();
+			}
+			altered = true;
+		}
+		finally
+		{
+			queuedAlterations.clear();
+			queuedAlterationsTable = null;
+		}
+	}
+
+	/**
+	 * @return True if the database allows multiple alterations in one ALTER TABLE statement. If not, the alterations are executed as a JDBC batch.
+	 */
+	protected boolean supportsMultipleAlterations()
+	{
+		return false;
+	}
+	//endregion
+
+	//region fingerprints
+	/**
+	 * Removes the parts of the create statement that change without a change of the table layout (e.g. the auto increment counter).
+	 *
+	 * @param createStatement The create statement of the table in the database.
+	 * @return The create statement without the volatile parts.
+	 */
+	protected @NotNull String normalizeCreateStatement(@NotNull String createStatement)
+	{
+		return AUTO_INCREMENT_COUNTER_PATTERN.matcher(createStatement.trim()).replaceAll("");
+	}
+
+	private static @NotNull String fingerprint(@NotNull String string)
+	{
+		try
+		{
+			return Utils.byteArrayToHex(MessageDigest.getInstance("SHA-256").digest(string.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch(NoSuchAlgorithmException e)
+		{ // Every java implementation must support SHA-256
+			throw new IllegalStateException(e);
+		}
 	}
 
+	private boolean isFingerprintUnchanged(@NotNull Connection connection, @NotNull String tableName, @NotNull String definitionFingerprint, @NotNull String currentCreateStatement, @Nullable Logger logger)
+	{
+		try(PreparedStatement statement = connection.prepareStatement("SELECT `definition_hash`,`schema_hash` FROM `" + fingerprintTable + "` WHERE `table_name`=?;"))
+		{
+			statement.setString(1, tableName);
+			try(ResultSet rs = statement.executeQuery())
+			{
+				return rs.next() && definitionFingerprint.equals(rs.getString("definition_hash")) && fingerprint(normalizeCreateStatement(currentCreateStatement)).equals(rs.getString("schema_hash"));
+			}
+		}
+		catch(SQLException e)
+		{
+			if(logger != null) logger.warning("Failed to read table fingerprint of " + tableName + "! " + e.getMessage());
+		}
+		return false;
+	}
+
+	/**
+	 * Creates the fingerprint table if it doesn't exist yet. Only done once per validator, before the first fingerprint is read or written.
+	 *
+	 * @return true if the fingerprint table exists, false if it could not be created and the fingerprints can't be used.
+	 */
+	private boolean createFingerprintTable(@NotNull Connection connection, @Nullable Logger logger)
+	{
+		if(fingerprintTableCreated) return true;
+		try(Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate("CREATE TABLE IF NOT EXISTS `" + fingerprintTable + "` (\n`table_name` VARCHAR(64) NOT NULL,\n`definition_hash` CHAR(64) NOT NULL,\n`schema_hash` CHAR(64) NOT NULL,\nPRIMARY KEY (`table_name`)\n);");
+			fingerprintTableCreated = true;
+		}
+		catch(SQLException e)
+		{
+			if(logger != null) logger.warning("Failed to create table fingerprint table! " + e.getMessage());
+		}
+		return fingerprintTableCreated;
+	}
+
+	private void storeFingerprint(@NotNull Connection connection, @NotNull String tableName, @NotNull String definitionFingerprint, @Nullable String createStatement, @Nullable Logger logger)
+	{
+		try
+		{
+			if(createStatement == null) createStatement = getCurrentCreateStatement(connection, tableName); // The table has been created or altered
+			try(PreparedStatement statement = connection.prepareStatement("REPLACE INTO `" + fingerprintTable + "` (`table_name`,`definition_hash`,`schema_hash`) VALUES (?,?,?);"))
+			{
+				statement.setString(1, tableName);
+				statement.setString(2, definitionFingerprint);
+				statement.setString(3, fingerprint(normalizeCreateStatement(createStatement)));
+				statement.executeUpdate();
+			}
+		}
+		catch(SQLException e)
+		{
+			if(logger != null) logger.warning("Failed to store table fingerprint of " + tableName + "! " + e.getMessage());
+		}
+	}
+	//endregion
+
 	protected List<String> getCurrentTableColumns(@NotNull @Language("SQL") String currentCreateStatement) throws SQLException
 	{
 		List<String> currentTableColumns = new LinkedList<>();
@@ -18,11 +18,25 @@
 package at.pcgamingfreaks.Database;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.*;
 
 public class SQLiteTableValidator extends SQLTableValidator
 {
+	public SQLiteTableValidator()
+	{
+		super();
+	}
+
+	/**
+	 * @param fingerprintTable The name of the table used to store the fingerprints of the validated tables (e.g. {@link #DEFAULT_FINGERPRINT_TABLE}). null to always compare the full table definitions.
+	 */
+	public SQLiteTableValidator(final @Nullable String fingerprintTable)
+	{
+		super(fingerprintTable);
+	}
+
 	@Override
 	protected String getCurrentCreateStatement(@NotNull Connection connection, @NotNull String tableName) throws SQLException
 	{
@@ -43,10 +57,7 @@ protected String getCurrentCreateStatement(@NotNull Connection connection, @NotN
 	@Override
 	protected void addColumn(Connection connection, String tableName, String columnName, String columnDefinition) throws SQLException
 	{
-		try(Statement statement = connection.createStatement())
-		{
-			statement.executeUpdate("ALTER TABLE `" + tableName + "` ADD COLUMN `" + columnName + "` " + columnDefinition);
-		}
+		queueAlteration(connection, tableName, "ADD COLUMN `" + columnName + "` " + columnDefinition);
 	}
 
 	@Override
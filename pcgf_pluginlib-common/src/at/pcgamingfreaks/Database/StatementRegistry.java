@@ -0,0 +1,429 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database;
+
+import at.pcgamingfreaks.Database.ConnectionProvider.PoolMetrics;
+
+import org.intellij.lang.annotations.Language;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Registry for the SQL statements used by a plugin. Every statement is registered once and executed through its {@link Handle}.
+ * The prepared statements are kept per physical connection and reused by all later executions on the same connection,
+ * even if the connection has been returned to the pool in the meantime.
+ * <p>
+ * Like JDBC connections, a connection (and with it the statements of the registry) must only be used by one thread at a time.
+ * The registry itself can be shared between threads.
+ * <p>
+ * Statements executed on the physical connection bypass the proxy of the pool. The pool's leak detection still covers the borrowed connection,
+ * but the pool doesn't see the statements themselves. To not hide uncommitted changes from the pool (which rolls them back when the connection is returned),
+ * statements used on a pooled connection that is not in auto-commit mode are prepared through the pooled connection and are not reused.
+ * Statements prepared on the physical connection are not measured by the statement timer of the pool, pass the {@link PoolMetrics} of the pool to record them.
+ */
+public class StatementRegistry implements AutoCloseable
+{
+	private volatile int registeredStatements = 0;
+	private final Map<Connection, PreparedStatement[]> statements = Collections.synchronizedMap(new IdentityHashMap<>()); // Entries of closed connections are dropped when a new connection gets added
+	private final @Nullable PoolMetrics metrics;
+
+	public StatementRegistry()
+	{
+		this(null);
+	}
+
+	/**
+	 * @param metrics The metrics of the pool the connections are coming from. The execution times of the statements are recorded into them if the statement instrumentation is enabled.
+	 */
+	public StatementRegistry(final @Nullable PoolMetrics metrics)
+	{
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Registers a SQL statement.
+	 *
+	 * @param query The query of the statement.
+	 * @return The handle used to execute the statement.
+	 */
+	public synchronized @NotNull Handle register(final @NotNull @Language("SQL") String query)
+	{
+		return new Handle(registeredStatements++, query);
+	}
+
+	/**
+	 * Closes all the prepared statements of the registry. The handles stay valid, the statements will be prepared again when they are used.
+	 */
+	@Override
+	public void close()
+	{
+		List<PreparedStatement[]> toClose;
+		synchronized(statements)
+		{
+			toClose = new ArrayList<>(statements.values());
+			statements.clear();
+		}
+		closeStatements(toClose);
+	}
+
+	/**
+	 * Drops the statements of all connections that have been closed (e.g. retired by the pool).
+	 * The statements reference their connection, so the connections would never be freed otherwise.
+	 */
+	private void evictClosedConnections()
+	{
+		List<PreparedStatement[]> toClose = new ArrayList<>();
+		synchronized(statements)
+		{
+			Iterator<Map.Entry<Connection, PreparedStatement[]>> iterator = statements.entrySet().iterator();
+			while(iterator.hasNext())
+			{
+				Map.Entry<Connection, PreparedStatement[]> entry = iterator.next();
+				if(isClosed(entry.getKey()))
+				{
+					toClose.add(entry.getValue());
+					iterator.remove();
+				}
+			}
+		}
+		closeStatements(toClose);
+	}
+
+	private static boolean isClosed(final @NotNull Connection connection)
+	{
+		try
+		{
+			return connection.isClosed();
+		}
+		catch(SQLException ignored)
+		{
+			return true;
+		}
+	}
+
+	private static void closeStatements(final @NotNull List<PreparedStatement[]> toClose)
+	{
+		for(PreparedStatement[] connectionStatements : toClose)
+		{
+			for(PreparedStatement statement : connectionStatements)
+			{
+				if(statement == null) continue;
+				try
+				{
+					statement.close();
+				}
+				catch(SQLException ignored) {}
+			}
+		}
+	}
+
+	private @NotNull Bound bind(final @NotNull Connection connection, final @NotNull Handle handle) throws SQLException
+	{
+		Connection physicalConnection = unwrap(connection);
+		if(physicalConnection != connection && !connection.getAutoCommit())
+		{ // Let the pool track the changes made in the transaction, the statement gets closed by the pool when the connection is returned
+			return new Bound(connection.prepareStatement(handle.query), handle.query, null);
+		}
+		return new Bound(getStatement(physicalConnection, handle), handle.query, metrics);
+	}
+
+	private @NotNull PreparedStatement getStatement(final @NotNull Connection physicalConnection, final @NotNull Handle handle) throws SQLException
+	{
+		PreparedStatement[] connectionStatements = statements.get(physicalConnection);
+		if(connectionStatements == null) evictClosedConnections();
+		if(connectionStatements == null || connectionStatements.length <= handle.id)
+		{
+			PreparedStatement[] grown = new PreparedStatement[Math.max(handle.id + 1, registeredStatements)];
+			if(connectionStatements != null) System.arraycopy(connectionStatements, 0, grown, 0, connectionStatements.length);
+			connectionStatements = grown;
+			statements.put(physicalConnection, connectionStatements);
+		}
+		PreparedStatement statement = connectionStatements[handle.id];
+		if(statement == null || statement.isClosed())
+		{
+			statement = physicalConnection.prepareStatement(handle.query);
+			connectionStatements[handle.id] = statement;
+		}
+		else
+		{
+			statement.clearParameters();
+		}
+		return statement;
+	}
+
+	/**
+	 * Pools (e.g. HikariCP) hand out a new proxy object for every borrow and close all statements created through it when it is returned.
+	 * The statements have to be prepared on the physical connection to survive this.
+	 */
+	private static @NotNull Connection unwrap(final @NotNull Connection connection)
+	{
+		try
+		{
+			Connection physicalConnection = connection.unwrap(Connection.class);
+			if(physicalConnection != null) return physicalConnection;
+		}
+		catch(SQLException ignored) {}
+		return connection;
+	}
+
+	/**
+	 * Maps the current row of a result set into an object.
+	 *
+	 * @param <T> The type of the mapped object.
+	 */
+	@FunctionalInterface
+	public interface RowMapper<T>
+	{
+		T map(@NotNull ResultSet row) throws SQLException;
+	}
+
+	/**
+	 * Consumes the current row of a result set.
+	 */
+	@FunctionalInterface
+	public interface RowConsumer
+	{
+		void accept(@NotNull ResultSet row) throws SQLException;
+	}
+
+	/**
+	 * Handle of a registered statement.
+	 */
+	public final class Handle
+	{
+		private final int id;
+		@Getter private final String query;
+
+		private Handle(final int id, final @NotNull String query)
+		{
+			this.id = id;
+			this.query = query;
+		}
+
+		/**
+		 * Gets the prepared statement of the connection to set its parameters and execute it.
+		 * The connection is not closed after the statement has been executed!
+		 *
+		 * @param connection The connection used to execute the statement.
+		 * @return The statement ready to be filled with parameters.
+		 * @throws SQLException If the statement could not be prepared.
+		 */
+		public @NotNull Bound on(final @NotNull Connection connection) throws SQLException
+		{
+			return bind(connection, this);
+		}
+	}
+
+	/**
+	 * A registered statement bound to a connection. Parameters start with 1.
+	 */
+	public static final class Bound
+	{
+		private static final long NOT_TIMED = Long.MIN_VALUE;
+
+		private final PreparedStatement statement;
+		private final String query;
+		private final PoolMetrics metrics;
+
+		private Bound(final @NotNull PreparedStatement statement, final @NotNull String query, final @Nullable PoolMetrics metrics)
+		{
+			this.statement = statement;
+			this.query = query;
+			this.metrics = metrics;
+		}
+
+		private long startTiming()
+		{
+			return (metrics != null && metrics.isStatementInstrumentationEnabled()) ? System.nanoTime() : NOT_TIMED;
+		}
+
+		private void stopTiming(final long start)
+		{
+			if(start != NOT_TIMED) metrics.recordStatement(query, System.nanoTime() - start);
+		}
+
+		//region parameters
+		public @NotNull Bound setInt(final int index, final int value) throws SQLException
+		{
+			statement.setInt(index, value);
+			return this;
+		}
+
+		public @NotNull Bound setLong(final int index, final long value) throws SQLException
+		{
+			statement.setLong(index, value);
+			return this;
+		}
+
+		public @NotNull Bound setDouble(final int index, final double value) throws SQLException
+		{
+			statement.setDouble(index, value);
+			return this;
+		}
+
+		public @NotNull Bound setBoolean(final int index, final boolean value) throws SQLException
+		{
+			statement.setBoolean(index, value);
+			return this;
+		}
+
+		public @NotNull Bound setString(final int index, final @Nullable String value) throws SQLException
+		{
+			statement.setString(index, value);
+			return this;
+		}
+
+		public @NotNull Bound setBytes(final int index, final @Nullable byte[] value) throws SQLException
+		{
+			statement.setBytes(index, value);
+			return this;
+		}
+
+		public @NotNull Bound setTimestamp(final int index, final @Nullable Timestamp value) throws SQLException
+		{
+			statement.setTimestamp(index, value);
+			return this;
+		}
+
+		public @NotNull Bound setNull(final int index, final int sqlType) throws SQLException
+		{
+			statement.setNull(index, sqlType);
+			return this;
+		}
+		//endregion
+
+		//region execution
+		/**
+		 * Executes the statement.
+		 *
+		 * @return The number of changed rows.
+		 * @throws SQLException If there was a problem executing the statement.
+		 */
+		public int executeUpdate() throws SQLException
+		{
+			long start = startTiming();
+			try
+			{
+				return statement.executeUpdate();
+			}
+			finally
+			{
+				stopTiming(start);
+			}
+		}
+
+		/**
+		 * Adds the current parameters to the batch of the statement. Use {@link #executeBatch()} to execute it.
+		 *
+		 * @return The statement, with cleared parameters for the next entry.
+		 * @throws SQLException If there was a problem adding the parameters.
+		 */
+		public @NotNull Bound addBatch() throws SQLException
+		{
+			statement.addBatch();
+			statement.clearParameters();
+			return this;
+		}
+
+		public int[] executeBatch() throws SQLException
+		{
+			long start = startTiming();
+			try
+			{
+				return statement.executeBatch();
+			}
+			finally
+			{
+				stopTiming(start);
+			}
+		}
+
+		/**
+		 * Executes the query and maps the first row.
+		 *
+		 * @param mapper The mapper for the row.
+		 * @param <T> The type of the mapped object.
+		 * @return The mapped row. null if the query has no results.
+		 * @throws SQLException If there was a problem executing the query.
+		 */
+		public <T> @Nullable T queryFirst(final @NotNull RowMapper<T> mapper) throws SQLException
+		{
+			try(ResultSet rs = executeQuery())
+			{
+				return rs.next() ? mapper.map(rs) : null;
+			}
+		}
+
+		/**
+		 * Executes the query and maps all rows.
+		 *
+		 * @param mapper The mapper for the rows.
+		 * @param <T> The type of the mapped objects.
+		 * @return The mapped rows.
+		 * @throws SQLException If there was a problem executing the query.
+		 */
+		public <T> @NotNull List<T> queryList(final @NotNull RowMapper<T> mapper) throws SQLException
+		{
+			List<T> result = new ArrayList<>();
+			try(ResultSet rs = executeQuery())
+			{
+				while(rs.next())
+				{
+					result.add(mapper.map(rs));
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Executes the query and passes every row to the consumer.
+		 *
+		 * @param consumer The consumer for the rows.
+		 * @throws SQLException If there was a problem executing the query.
+		 */
+		public void query(final @NotNull RowConsumer consumer) throws SQLException
+		{
+			try(ResultSet rs = executeQuery())
+			{
+				while(rs.next())
+				{
+					consumer.accept(rs);
+				}
+			}
+		}
+
+		private @NotNull ResultSet executeQuery() throws SQLException
+		{
+			long start = startTiming();
+			try
+			{
+				return statement.executeQuery();
+			}
+			finally
+			{
+				stopTiming(start);
+			}
+		}
+		//endregion
+	}
+}
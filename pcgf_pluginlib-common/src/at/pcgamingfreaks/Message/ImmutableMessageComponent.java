@@ -0,0 +1,316 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Message;
+
+import at.pcgamingfreaks.Util.PatternPreservingStringSplitter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * An immutable version of the {@link MessageComponent}.
+ * The style of the component is an interned {@link MessageStyle} and modifications create new components that share all unchanged parts (style and sub-trees) with the original.
+ * Because of this, instances can be cached and used from multiple threads without copying them.
+ * The selector, score and translate properties of the mutable component are not supported.
+ */
+public final class ImmutableMessageComponent
+{
+	private static final List<ImmutableMessageComponent> NO_EXTRAS = Collections.emptyList();
+
+	@Getter private final @Nullable String text;
+	@Getter private final @NotNull MessageStyle style;
+	private final @NotNull List<ImmutableMessageComponent> extras;
+	private final int hash;
+	private String json; // Lazy cache, a race only results in the json being generated twice
+
+	private ImmutableMessageComponent(final @Nullable String text, final @NotNull MessageStyle style, final @NotNull List<ImmutableMessageComponent> extras)
+	{
+		this.text = text;
+		this.style = style;
+		this.extras = extras;
+		this.hash = Objects.hash(text, style, extras);
+	}
+
+	public static @NotNull ImmutableMessageComponent of(final @Nullable String text, final @NotNull MessageStyle style)
+	{
+		return new ImmutableMessageComponent(text, style, NO_EXTRAS);
+	}
+
+	public static @NotNull ImmutableMessageComponent of(final @Nullable String text, final @NotNull MessageStyle style, final @NotNull List<ImmutableMessageComponent> extras)
+	{
+		return new ImmutableMessageComponent(text, style, freezeList(extras));
+	}
+
+	/**
+	 * Creates an immutable copy of a mutable component (including all its extras).
+	 *
+	 * @param component The component that should be converted.
+	 * @return The immutable component.
+	 */
+	public static @NotNull ImmutableMessageComponent of(final @NotNull MessageComponent component)
+	{
+		List<? extends MessageComponent> mutableExtras = component.getExtras();
+		List<ImmutableMessageComponent> extras = (mutableExtras == null || mutableExtras.isEmpty()) ? NO_EXTRAS : of(mutableExtras);
+		return new ImmutableMessageComponent(component.getText(), MessageStyle.of(component), extras);
+	}
+
+	/**
+	 * Creates immutable copies of mutable components.
+	 *
+	 * @param components The components that should be converted.
+	 * @return An unmodifiable list with the immutable components.
+	 */
+	public static @NotNull List<ImmutableMessageComponent> of(final @NotNull Collection<? extends MessageComponent> components)
+	{
+		List<ImmutableMessageComponent> result = new ArrayList<>(components.size());
+		for(MessageComponent component : components)
+		{
+			result.add(of(component));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Generates an immutable component list from a given JSON string.
+	 *
+	 * @param jsonString The JSON string representing the components.
+	 * @return An unmodifiable list with the immutable components.
+	 */
+	public static @NotNull List<ImmutableMessageComponent> fromJson(final @NotNull String jsonString)
+	{
+		return of(MessageComponent.fromJson(jsonString));
+	}
+
+	private static @NotNull List<ImmutableMessageComponent> freezeList(final @NotNull List<ImmutableMessageComponent> list)
+	{
+		return list.isEmpty() ? NO_EXTRAS : Collections.unmodifiableList(new ArrayList<>(list));
+	}
+
+	/**
+	 * Creates a mutable deep copy of the component.
+	 *
+	 * @return A new mutable component.
+	 */
+	public @NotNull MessageComponent toMutable()
+	{
+		MessageComponent component = style.applyTo(new MessageComponent());
+		component.setText(text);
+		if(!extras.isEmpty())
+		{
+			List<MessageComponent> mutableExtras = new ArrayList<>(extras.size());
+			for(ImmutableMessageComponent extra : extras)
+			{
+				mutableExtras.add(extra.toMutable());
+			}
+			component.setExtras(mutableExtras);
+		}
+		return component;
+	}
+
+	public static @NotNull List<MessageComponent> toMutable(final @NotNull Collection<ImmutableMessageComponent> components)
+	{
+		List<MessageComponent> result = new ArrayList<>(components.size());
+		for(ImmutableMessageComponent component : components)
+		{
+			result.add(component.toMutable());
+		}
+		return result;
+	}
+
+	/**
+	 * @return An unmodifiable list of the extras of the component.
+	 */
+	public @NotNull List<ImmutableMessageComponent> getExtras()
+	{
+		return extras;
+	}
+
+	//region modifiers
+	public @NotNull ImmutableMessageComponent withText(final @Nullable String text)
+	{
+		if(Objects.equals(this.text, text)) return this;
+		return new ImmutableMessageComponent(text, style, extras);
+	}
+
+	public @NotNull ImmutableMessageComponent withStyle(final @NotNull MessageStyle style)
+	{
+		if(this.style.equals(style)) return this;
+		return new ImmutableMessageComponent(text, style, extras);
+	}
+
+	public @NotNull ImmutableMessageComponent withExtras(final @NotNull List<ImmutableMessageComponent> extras)
+	{
+		return new ImmutableMessageComponent(text, style, freezeList(extras));
+	}
+
+	public @NotNull ImmutableMessageComponent withExtra(final int index, final @NotNull ImmutableMessageComponent extra)
+	{
+		if(extras.get(index) == extra) return this;
+		List<ImmutableMessageComponent> newExtras = new ArrayList<>(extras);
+		newExtras.set(index, extra);
+		return new ImmutableMessageComponent(text, style, Collections.unmodifiableList(newExtras));
+	}
+
+	public @NotNull ImmutableMessageComponent addExtra(final @NotNull ImmutableMessageComponent extra)
+	{
+		List<ImmutableMessageComponent> newExtras = new ArrayList<>(extras.size() + 1);
+		newExtras.addAll(extras);
+		newExtras.add(extra);
+		return new ImmutableMessageComponent(text, style, Collections.unmodifiableList(newExtras));
+	}
+
+	/**
+	 * Applies a function on the text of the component and all its extras.
+	 * Components whose text (and extras) did not change are reused, so only the path to changed components gets copied.
+	 *
+	 * @param mapper The function that should be applied on the texts.
+	 * @return The component with the new texts. This instance if no text has been changed.
+	 */
+	public @NotNull ImmutableMessageComponent mapText(final @NotNull UnaryOperator<String> mapper)
+	{
+		String newText = text == null ? null : mapper.apply(text);
+		List<ImmutableMessageComponent> newExtras = extras;
+		for(int i = 0; i < extras.size(); i++)
+		{
+			ImmutableMessageComponent extra = extras.get(i), newExtra = extra.mapText(mapper);
+			if(extra != newExtra)
+			{
+				if(newExtras == extras) newExtras = new ArrayList<>(extras);
+				newExtras.set(i, newExtra);
+			}
+		}
+		if(newExtras == extras && Objects.equals(text, newText)) return this;
+		return new ImmutableMessageComponent(newText, style, newExtras == extras ? extras : Collections.unmodifiableList(newExtras));
+	}
+
+	/**
+	 * Splits the text of the component (and all its extras) on the given pattern, the same way {@link MessageComponent#split(PatternPreservingStringSplitter)} does.
+	 * Sub-trees without matches are shared with this component.
+	 *
+	 * @param splitter The splitter that should be used.
+	 * @return The split component. This instance if nothing had to be split.
+	 */
+	public @NotNull ImmutableMessageComponent split(final @NotNull PatternPreservingStringSplitter splitter)
+	{
+		List<ImmutableMessageComponent> newExtras = extras;
+		for(int i = 0; i < extras.size(); i++)
+		{
+			ImmutableMessageComponent extra = extras.get(i), newExtra = extra.split(splitter);
+			if(extra != newExtra)
+			{
+				if(newExtras == extras) newExtras = new ArrayList<>(extras);
+				newExtras.set(i, newExtra);
+			}
+		}
+		String newText = text;
+		List<String> components = (text == null || text.isEmpty()) ? Collections.emptyList() : splitter.split(text);
+		if(components.size() > 1)
+		{
+			int start = 0;
+			if(splitter.getPlaceholderPattern().matcher(components.get(0)).matches())
+			{
+				newText = "";
+			}
+			else
+			{
+				newText = components.get(0);
+				start = 1;
+			}
+			List<ImmutableMessageComponent> splitComponents = new ArrayList<>(components.size() + newExtras.size());
+			for(int i = start; i < components.size(); i++)
+			{
+				if(components.get(i).isEmpty()) continue;
+				splitComponents.add(of(components.get(i), MessageStyle.EMPTY));
+			}
+			if(!splitComponents.isEmpty())
+			{
+				splitComponents.addAll(newExtras);
+				newExtras = splitComponents;
+			}
+		}
+		if(newExtras == extras && Objects.equals(newText, text)) return this;
+		return new ImmutableMessageComponent(newText, style, newExtras == extras ? extras : Collections.unmodifiableList(newExtras));
+	}
+	//endregion
+
+	/**
+	 * Converts the component into a classic chat message.
+	 *
+	 * @return The component in the classic chat format.
+	 */
+	public @NotNull String getClassicMessage()
+	{
+		StringBuilder stringBuilder = new StringBuilder();
+		appendClassicMessage(stringBuilder);
+		return stringBuilder.toString();
+	}
+
+	private void appendClassicMessage(final @NotNull StringBuilder stringBuilder)
+	{
+		stringBuilder.append(style.getClassicFormats());
+		if(text != null) stringBuilder.append(text);
+		for(ImmutableMessageComponent extra : extras)
+		{
+			extra.appendClassicMessage(stringBuilder);
+		}
+		stringBuilder.append(MessageColor.RESET);
+	}
+
+	public boolean isEmpty()
+	{
+		return (text == null || text.isEmpty()) && extras.isEmpty() && style.isEmpty();
+	}
+
+	/**
+	 * Gets the JSON string of the component.
+	 *
+	 * @return The JSON string of the component.
+	 */
+	@Override
+	public @NotNull String toString()
+	{
+		String result = json;
+		if(result == null) json = result = toMutable().toString();
+		return result;
+	}
+
+	public static @NotNull String toJSON(final @NotNull Collection<ImmutableMessageComponent> components)
+	{
+		return MessageComponent.toJSON(toMutable(components).toArray(new MessageComponent[0]));
+	}
+
+	@Override
+	public boolean equals(final Object other)
+	{
+		if(this == other) return true;
+		if(!(other instanceof ImmutableMessageComponent)) return false;
+		ImmutableMessageComponent component = (ImmutableMessageComponent) other;
+		return hash == component.hash && Objects.equals(text, component.text) && style.equals(component.style) && extras.equals(component.extras);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return hash;
+	}
+}
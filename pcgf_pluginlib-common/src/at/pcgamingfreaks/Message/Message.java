@@ -21,6 +21,7 @@
 import at.pcgamingfreaks.Message.Placeholder.Processors.IPlaceholderProcessor;
 import at.pcgamingfreaks.Message.Sender.IMetadata;
 import at.pcgamingfreaks.StringUtils;
+import at.pcgamingfreaks.Util.LiteralReplacer;
 
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.ApiStatus;
@@ -36,6 +37,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public abstract class Message<MESSAGE extends Message<?,?,?>, PLAYER, COMMAND_SENDER> implements IMessage<PLAYER, COMMAND_SENDER>, IPlaceholderable
 {
@@ -180,6 +182,36 @@ public int hashCode()
 		return (MESSAGE) this;
 	}
 
+	/**
+	 * Replaces literal strings within the JSON and the classic message of this message. No regular expressions are involved.
+	 * All tokens are replaced in a single pass, the tokens and replacements are automatically escaped for the JSON.
+	 * Within the JSON only the string values are modified, keys and the JSON structure stay untouched.
+	 *
+	 * @param replacements The tokens (keys) that should be replaced with their values.
+	 * @return             This message instance (for chaining).
+	 * @throws IllegalArgumentException If a token or a replacement is null.
+	 */
+	public @NotNull MESSAGE replaceAll(final @NotNull Map<String, String> replacements)
+	{
+		return replaceAll(new LiteralReplacer(replacements, true), new LiteralReplacer(replacements));
+	}
+
+	/**
+	 * Replaces literal strings within the JSON and the classic message of this message.
+	 * Use this if the same replacements should be applied to many messages, the replacers only need to be created once.
+	 *
+	 * @param jsonReplacer     The replacer that should be used for the JSON, must be created with JSON escaping enabled.
+	 * @param fallbackReplacer The replacer that should be used for the classic message.
+	 * @return                 This message instance (for chaining).
+	 */
+	public @NotNull MESSAGE replaceAll(final @NotNull LiteralReplacer jsonReplacer, final @NotNull LiteralReplacer fallbackReplacer)
+	{
+		json = jsonReplacer.replace(json);
+		fallback = fallbackReplacer.replace(fallback);
+		//noinspection unchecked
+		return (MESSAGE) this;
+	}
+
 	@Override
 	public @NotNull MESSAGE placeholder(@NotNull String placeholder)
 	{
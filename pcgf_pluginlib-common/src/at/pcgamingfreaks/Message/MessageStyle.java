@@ -0,0 +1,312 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Message;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * The immutable style (color, formats, font, insertion, click and hover event) of an {@link ImmutableMessageComponent}.
+ * Styles are interned, components with the same style share one instance. Use {@link #intern(MessageStyle)} or the factory methods to obtain instances.
+ */
+public final class MessageStyle
+{
+	private static final Map<MessageStyle, WeakReference<MessageStyle>> INTERNED_STYLES = new WeakHashMap<>(); // Styles (e.g. with player specific click/hover values) are dropped once no component uses them any more
+	private static final int BOLD = 1, ITALIC = 1 << 1, UNDERLINED = 1 << 2, STRIKETHROUGH = 1 << 3, OBFUSCATED = 1 << 4;
+
+	public static final MessageStyle EMPTY = intern(new MessageStyle(null, 0, 0, null, null, null, null, null, null));
+
+	@Getter private final @Nullable MessageColor color;
+	private final int formatsSet, formatsValue; // A format can be not set (null), false or true; the set mask tracks which formats have a value
+	@Getter private final @Nullable String font, insertion;
+	@Getter private final @Nullable MessageClickEvent.ClickEventAction clickAction;
+	@Getter private final @Nullable String clickValue;
+	@Getter private final @Nullable MessageHoverEvent.HoverEventAction hoverAction;
+	private final @Nullable Object hoverValue;
+	private final int hash;
+
+	private MessageStyle(final @Nullable MessageColor color, final int formatsSet, final int formatsValue, final @Nullable String font, final @Nullable String insertion,
+	                     final @Nullable MessageClickEvent.ClickEventAction clickAction, final @Nullable String clickValue,
+	                     final @Nullable MessageHoverEvent.HoverEventAction hoverAction, final @Nullable Object hoverValue)
+	{
+		this.color = color;
+		this.formatsSet = formatsSet;
+		this.formatsValue = formatsValue & formatsSet;
+		this.font = font;
+		this.insertion = insertion;
+		this.clickAction = clickAction;
+		this.clickValue = clickValue;
+		this.hoverAction = hoverAction;
+		this.hoverValue = hoverValue;
+		this.hash = Objects.hash(color, formatsSet, this.formatsValue, font, insertion, clickAction, clickValue, hoverAction, hoverValue);
+	}
+
+	/**
+	 * Returns the shared instance for a style.
+	 *
+	 * @param style The style that should be interned.
+	 * @return The shared instance that is equal to the given style.
+	 */
+	public static @NotNull MessageStyle intern(final @NotNull MessageStyle style)
+	{
+		synchronized(INTERNED_STYLES)
+		{
+			WeakReference<MessageStyle> reference = INTERNED_STYLES.get(style);
+			MessageStyle interned = (reference != null) ? reference.get() : null;
+			if(interned != null) return interned;
+			INTERNED_STYLES.put(style, new WeakReference<>(style));
+			return style;
+		}
+	}
+
+	static int getInternedCount()
+	{
+		synchronized(INTERNED_STYLES)
+		{
+			return INTERNED_STYLES.size();
+		}
+	}
+
+	/**
+	 * Extracts the style of a mutable component. The extras of the component are ignored.
+	 *
+	 * @param component The component from which the style should be extracted.
+	 * @return The interned style of the component.
+	 */
+	public static @NotNull MessageStyle of(final @NotNull MessageComponent component)
+	{
+		int set = 0, value = 0;
+		if(component.bold != null) { set |= BOLD; if(component.bold) value |= BOLD; }
+		if(component.italic != null) { set |= ITALIC; if(component.italic) value |= ITALIC; }
+		if(component.underlined != null) { set |= UNDERLINED; if(component.underlined) value |= UNDERLINED; }
+		if(component.strikethrough != null) { set |= STRIKETHROUGH; if(component.strikethrough) value |= STRIKETHROUGH; }
+		if(component.obfuscated != null) { set |= OBFUSCATED; if(component.obfuscated) value |= OBFUSCATED; }
+		MessageClickEvent clickEvent = component.getClickEvent();
+		MessageHoverEvent hoverEvent = component.getHoverEvent();
+		return intern(new MessageStyle(component.getColor(), set, value, component.getFont(), component.getInsertion(),
+		                               clickEvent != null ? clickEvent.getAction() : null, clickEvent != null ? clickEvent.getValue() : null,
+		                               hoverEvent != null ? hoverEvent.getAction() : null, hoverEvent != null ? freezeHoverValue(hoverEvent.getValue()) : null));
+	}
+
+	private static @Nullable Object freezeHoverValue(final @Nullable Object value)
+	{
+		if(value == null || value instanceof String) return value;
+		if(value instanceof JsonObject) return ((JsonObject) value).deepCopy();
+		if(value instanceof MessageComponent[]) return ImmutableMessageComponent.of(Arrays.asList((MessageComponent[]) value));
+		if(value instanceof Collection)
+		{
+			boolean allComponents = true;
+			for(Object o : (Collection<?>) value)
+			{
+				if(!(o instanceof MessageComponent)) { allComponents = false; break; }
+			}
+			//noinspection unchecked
+			if(allComponents) return ImmutableMessageComponent.of((Collection<? extends MessageComponent>) value);
+		}
+		// Values created by the json deserializer (maps and lists), convert them back into their json representation
+		JsonElement json = MessageComponent.GSON.toJsonTree(value);
+		if(json.isJsonObject()) return json.getAsJsonObject();
+		if(json.isJsonArray()) return ImmutableMessageComponent.of(MessageComponent.fromJsonArray((JsonArray) json));
+		return json.isJsonPrimitive() ? json.getAsString() : null;
+	}
+
+	/**
+	 * Applies the style onto a mutable component.
+	 *
+	 * @param component The component that should receive the style.
+	 * @return The given component.
+	 */
+	public @NotNull MessageComponent applyTo(final @NotNull MessageComponent component)
+	{
+		component.color = color;
+		component.bold = getFormat(BOLD);
+		component.italic = getFormat(ITALIC);
+		component.underlined = getFormat(UNDERLINED);
+		component.strikethrough = getFormat(STRIKETHROUGH);
+		component.obfuscated = getFormat(OBFUSCATED);
+		component.font = font;
+		component.insertion = insertion;
+		//noinspection ConstantConditions
+		component.clickEvent = clickAction != null ? new MessageClickEvent(clickAction, clickValue) : null;
+		component.hoverEvent = hoverAction != null ? thawHoverEvent() : null;
+		return component;
+	}
+
+	private @NotNull MessageHoverEvent thawHoverEvent()
+	{
+		//noinspection ConstantConditions
+		if(hoverValue instanceof JsonObject) return new MessageHoverEvent(hoverAction, ((JsonObject) hoverValue).deepCopy());
+		if(hoverValue instanceof List)
+		{
+			List<?> frozen = (List<?>) hoverValue;
+			List<MessageComponent> components = new ArrayList<>(frozen.size());
+			for(Object component : frozen)
+			{
+				components.add(((ImmutableMessageComponent) component).toMutable());
+			}
+			return new MessageHoverEvent(hoverAction, components);
+		}
+		return new MessageHoverEvent(hoverAction, hoverValue == null ? "" : (String) hoverValue);
+	}
+
+	private @Nullable Boolean getFormat(final int format)
+	{
+		return (formatsSet & format) == 0 ? null : (formatsValue & format) != 0;
+	}
+
+	private static int getFormatMask(final @NotNull MessageFormat format)
+	{
+		switch(format)
+		{
+			case BOLD: return BOLD;
+			case ITALIC: return ITALIC;
+			case UNDERLINE: return UNDERLINED;
+			case STRIKETHROUGH: return STRIKETHROUGH;
+			case MAGIC: return OBFUSCATED;
+			default: return 0;
+		}
+	}
+
+	//region getters
+	public boolean isBold()
+	{
+		return (formatsValue & BOLD) != 0;
+	}
+
+	public boolean isItalic()
+	{
+		return (formatsValue & ITALIC) != 0;
+	}
+
+	public boolean isUnderlined()
+	{
+		return (formatsValue & UNDERLINED) != 0;
+	}
+
+	public boolean isStrikethrough()
+	{
+		return (formatsValue & STRIKETHROUGH) != 0;
+	}
+
+	public boolean isObfuscated()
+	{
+		return (formatsValue & OBFUSCATED) != 0;
+	}
+
+	/**
+	 * Gets the value of the hover event. Either a {@link String}, a copy of the {@link JsonObject} or an unmodifiable list of {@link ImmutableMessageComponent}s.
+	 * The style is shared by all components using it, so json objects are copied to keep it from being modified.
+	 *
+	 * @return The value of the hover event.
+	 */
+	public @Nullable Object getHoverValue()
+	{
+		return hoverValue instanceof JsonObject ? ((JsonObject) hoverValue).deepCopy() : hoverValue;
+	}
+
+	/**
+	 * @return True if the style doesn't change anything, false if it sets a color, a format (also if it only disables it), a font, an insertion or an event.
+	 */
+	public boolean isEmpty()
+	{
+		return color == null && formatsSet == 0 && (font == null || font.isEmpty()) && (insertion == null || insertion.isEmpty()) && clickAction == null && hoverAction == null;
+	}
+
+	/**
+	 * Gets the formats of the style in the classic way (§[color/style-code]).
+	 *
+	 * @return The classic format string of the style.
+	 */
+	public @NotNull String getClassicFormats()
+	{
+		StringBuilder stringBuilder = new StringBuilder();
+		if (isBold()) stringBuilder.append(MessageFormat.BOLD);
+		if (isItalic()) stringBuilder.append(MessageFormat.ITALIC);
+		if (isObfuscated()) stringBuilder.append(MessageFormat.MAGIC);
+		if (isUnderlined()) stringBuilder.append(MessageFormat.UNDERLINE);
+		if (isStrikethrough()) stringBuilder.append(MessageFormat.STRIKETHROUGH);
+		if (color != null) stringBuilder.append(color.toString().toLowerCase(Locale.ROOT));
+		return stringBuilder.toString();
+	}
+	//endregion
+
+	//region modifiers
+	public @NotNull MessageStyle withColor(final @Nullable MessageColor color)
+	{
+		return intern(new MessageStyle(color == MessageColor.RESET ? null : color, formatsSet, formatsValue, font, insertion, clickAction, clickValue, hoverAction, hoverValue));
+	}
+
+	public @NotNull MessageStyle withFormat(final @NotNull MessageFormat format, final boolean enabled)
+	{
+		if(format == MessageFormat.RESET) return intern(new MessageStyle(color, BOLD | ITALIC | UNDERLINED | STRIKETHROUGH | OBFUSCATED, 0, font, insertion, clickAction, clickValue, hoverAction, hoverValue));
+		int mask = getFormatMask(format);
+		return intern(new MessageStyle(color, formatsSet | mask, enabled ? formatsValue | mask : formatsValue & ~mask, font, insertion, clickAction, clickValue, hoverAction, hoverValue));
+	}
+
+	public @NotNull MessageStyle withFont(final @Nullable String font)
+	{
+		return intern(new MessageStyle(color, formatsSet, formatsValue, font, insertion, clickAction, clickValue, hoverAction, hoverValue));
+	}
+
+	public @NotNull MessageStyle withInsertion(final @Nullable String insertion)
+	{
+		return intern(new MessageStyle(color, formatsSet, formatsValue, font, insertion, clickAction, clickValue, hoverAction, hoverValue));
+	}
+
+	public @NotNull MessageStyle withClickEvent(final @Nullable MessageClickEvent.ClickEventAction action, final @Nullable String value)
+	{
+		return intern(new MessageStyle(color, formatsSet, formatsValue, font, insertion, action, action == null ? null : value, hoverAction, hoverValue));
+	}
+
+	public @NotNull MessageStyle withHoverEvent(final @Nullable MessageHoverEvent.HoverEventAction action, final @Nullable String value)
+	{
+		return intern(new MessageStyle(color, formatsSet, formatsValue, font, insertion, clickAction, clickValue, action, action == null ? null : value));
+	}
+
+	public @NotNull MessageStyle withHoverEvent(final @Nullable MessageHoverEvent.HoverEventAction action, final @NotNull List<ImmutableMessageComponent> value)
+	{
+		return intern(new MessageStyle(color, formatsSet, formatsValue, font, insertion, clickAction, clickValue, action, action == null ? null : Collections.unmodifiableList(new ArrayList<>(value))));
+	}
+	//endregion
+
+	@Override
+	public boolean equals(final Object other)
+	{
+		if(this == other) return true;
+		if(!(other instanceof MessageStyle)) return false;
+		MessageStyle style = (MessageStyle) other;
+		return hash == style.hash && formatsSet == style.formatsSet && formatsValue == style.formatsValue && Objects.equals(color, style.color) &&
+				Objects.equals(font, style.font) && Objects.equals(insertion, style.insertion) && clickAction == style.clickAction && Objects.equals(clickValue, style.clickValue) &&
+				hoverAction == style.hoverAction && Objects.equals(hoverValue, style.hoverValue);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return hash;
+	}
+}
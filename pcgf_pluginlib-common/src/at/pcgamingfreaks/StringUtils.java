@@ -42,6 +42,7 @@
 	//region some useful char collections
 	private static final char[] CHAT_COLORS_CHAR_ARRAY = CHAT_COLORS.toCharArray(), ALPHABET_LOWERCASE_CHAR_ARRAY = ALPHABET_LOWERCASE.toCharArray(), ALPHABET_UPPERCASE_CHAR_ARRAY = ALPHABET_UPPERCASE.toCharArray();
 	private static final char[] NUMBERS_CHAR_ARRAY = NUMBERS.toCharArray(), ALPHABET_CHAR_ARRAY = ALPHABET.toCharArray(), ALPHANUMERIC_CHAR_ARRAY = ALPHANUMERIC.toCharArray();
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 	//endregion
 	//region some useful regex patterns
 	public static final Pattern EMAIL_PATTERN = Pattern.compile("^[_A-Za-z0-9-+]+(\\.[_A-Za-z0-9-]+)*@[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)*(\\.[A-Za-z]{2,})$");
@@ -176,13 +177,84 @@ public static boolean containsAny(final @NotNull String string, final @NotNull S
 
 	/**
 	 * Escapes special characters to allow the string to be placed inside a json string (e.g. to replace a text within an already built json).
+	 * Control characters and unpaired surrogates are written as unicode escapes, valid surrogate pairs are kept as they are.
 	 *
 	 * @param string The string to be escaped.
-	 * @return The escaped string.
+	 * @return The escaped string. The given string if nothing had to be escaped.
 	 */
 	public static @NotNull String escapeJsonString(final @NotNull String string)
 	{
-		return string.replace("\\", "\\\\").replace("\"", "\\\"").replace("\t", "\\t").replace("\n", "\\n").replace("\b", "\\b").replace("\f", "\\f");
+		final int firstEscape = findJsonEscape(string, 0);
+		if(firstEscape < 0) return string; // No need to create a new object if the string has not changed
+		StringBuilder builder = new StringBuilder(string.length() + 16);
+		builder.append(string, 0, firstEscape);
+		appendJsonEscaped(string, firstEscape, builder);
+		return builder.toString();
+	}
+
+	/**
+	 * Escapes special characters to allow the string to be placed inside a json string and appends it to the given builder.
+	 *
+	 * @param string The string to be escaped.
+	 * @param builder The builder the escaped string should be appended to.
+	 * @return The given builder.
+	 */
+	public static @NotNull StringBuilder escapeJsonString(final @NotNull String string, final @NotNull StringBuilder builder)
+	{
+		final int firstEscape = findJsonEscape(string, 0);
+		if(firstEscape < 0) return builder.append(string);
+		builder.append(string, 0, firstEscape);
+		appendJsonEscaped(string, firstEscape, builder);
+		return builder;
+	}
+
+	private static int findJsonEscape(final @NotNull String string, final int start)
+	{
+		for(int i = start, length = string.length(); i < length; i++)
+		{
+			char c = string.charAt(i);
+			if(c < 0x20 || c == '"' || c == '\\') return i;
+			if(Character.isSurrogate(c))
+			{
+				if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) i++; // Valid pair
+				else return i;
+			}
+		}
+		return -1;
+	}
+
+	private static void appendJsonEscaped(final @NotNull String string, int start, final @NotNull StringBuilder builder)
+	{
+		for(int length = string.length(), i = start; i < length; i++)
+		{
+			char c = string.charAt(i);
+			switch(c)
+			{
+				case '"': builder.append("\\\""); break;
+				case '\\': builder.append("\\\\"); break;
+				case '\t': builder.append("\\t"); break;
+				case '\n': builder.append("\\n"); break;
+				case '\r': builder.append("\\r"); break;
+				case '\b': builder.append("\\b"); break;
+				case '\f': builder.append("\\f"); break;
+				default:
+					if(c < 0x20 || (Character.isSurrogate(c) && !(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1)))))
+					{ // Control character or unpaired surrogate
+						builder.append("\\u").append(HEX_DIGITS[c >> 12]).append(HEX_DIGITS[(c >> 8) & 0xF]).append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+					}
+					else if(Character.isHighSurrogate(c))
+					{ // Valid pair, copy both chars
+						builder.append(c).append(string.charAt(++i));
+					}
+					else
+					{ // Copy everything up to the next char that needs escaping at once
+						int next = findJsonEscape(string, i + 1);
+						if(next < 0) next = length;
+						builder.append(string, i, next);
+						i = next - 1;
+					}
+			}
+		}
 	}
 
 	/**
@@ -0,0 +1,200 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Util;
+
+import at.pcgamingfreaks.StringUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Replaces multiple literal tokens in a single pass over the input, without using regular expressions.
+ * The tokens are stored in a prefix tree, at every position of the input the longest token starting there is replaced.
+ * Positions whose character can't start any token are skipped with a single bit lookup.
+ * Instances are immutable and thread safe, build them once and reuse them for all strings that need the same replacements.
+ * A replacer created with JSON escaping enabled only replaces tokens within the string values of a JSON document,
+ * keys, the JSON structure and escape sequences are never modified.
+ */
+public final class LiteralReplacer
+{
+	private static final class Node
+	{
+		private char[] keys = new char[0];
+		private Node[] children = new Node[0];
+		private @Nullable String replacement;
+
+		private @Nullable Node get(final char c)
+		{
+			for(int i = 0; i < keys.length; i++)
+			{
+				if(keys[i] == c) return children[i];
+			}
+			return null;
+		}
+
+		private @NotNull Node getOrCreate(final char c)
+		{
+			Node child = get(c);
+			if(child == null)
+			{
+				child = new Node();
+				keys = Arrays.copyOf(keys, keys.length + 1);
+				children = Arrays.copyOf(children, children.length + 1);
+				keys[keys.length - 1] = c;
+				children[children.length - 1] = child;
+			}
+			return child;
+		}
+	}
+
+	private final Node root = new Node();
+	private final BitSet firstChars = new BitSet();
+	private final boolean empty, json;
+
+	/**
+	 * @param replacements The tokens (keys) that should be replaced with their values. Empty tokens are ignored.
+	 * @throws IllegalArgumentException If a token or a replacement is null.
+	 */
+	public LiteralReplacer(final @NotNull Map<String, String> replacements)
+	{
+		this(replacements, false);
+	}
+
+	/**
+	 * @param replacements The tokens (keys) that should be replaced with their values. Empty tokens are ignored.
+	 * @param jsonEscape   If true the tokens and replacements are JSON escaped and only the string values of the JSON document given to {@link #replace(String)} are modified.
+	 * @throws IllegalArgumentException If a token or a replacement is null.
+	 */
+	public LiteralReplacer(final @NotNull Map<String, String> replacements, final boolean jsonEscape)
+	{
+		json = jsonEscape;
+		for(Map.Entry<String, String> entry : replacements.entrySet())
+		{
+			if(entry.getKey() == null) throw new IllegalArgumentException("The tokens must not be null!");
+			if(entry.getValue() == null) throw new IllegalArgumentException("The replacement for the token \"" + entry.getKey() + "\" must not be null!");
+			if(entry.getKey().isEmpty()) continue;
+			String token = jsonEscape ? StringUtils.escapeJsonString(entry.getKey()) : entry.getKey();
+			Node node = root;
+			for(int i = 0; i < token.length(); i++)
+			{
+				node = node.getOrCreate(token.charAt(i));
+			}
+			node.replacement = jsonEscape ? StringUtils.escapeJsonString(entry.getValue()) : entry.getValue();
+			firstChars.set(token.charAt(0));
+		}
+		empty = firstChars.isEmpty();
+	}
+
+	/**
+	 * Replaces all tokens in the given string.
+	 *
+	 * @param input The string in which the tokens should be replaced.
+	 * @return The string with the replaced tokens. The given string if it doesn't contain any token.
+	 */
+	public @NotNull String replace(final @NotNull String input)
+	{
+		if(empty) return input;
+		StringBuilder builder = null;
+		int copiedUntil = 0, length = input.length(), limit = length, stringEnd = -1;
+		for(int pos = 0; pos < length; pos++)
+		{
+			char c = input.charAt(pos);
+			if(json)
+			{
+				if(pos > stringEnd)
+				{ // Outside of a string, only look for the start of the next string value
+					if(c != '"') continue;
+					stringEnd = findStringEnd(input, pos + 1);
+					if(isKey(input, stringEnd + 1)) pos = stringEnd; // Keys are never modified
+					limit = stringEnd;
+					continue;
+				}
+				if(pos == stringEnd) continue;
+			}
+			if(!firstChars.get(c))
+			{
+				if(json && c == '\\') pos = skipEscape(input, pos, limit);
+				continue;
+			}
+			// Find the longest token starting at the current position
+			Node node = root;
+			String replacement = null;
+			int matchEnd = -1;
+			for(int i = pos; i < limit; i++)
+			{
+				node = node.get(input.charAt(i));
+				if(node == null) break;
+				if(node.replacement != null)
+				{
+					replacement = node.replacement;
+					matchEnd = i + 1;
+				}
+			}
+			if(replacement == null)
+			{
+				if(json && c == '\\') pos = skipEscape(input, pos, limit); // Never start a match within an escape sequence
+				continue;
+			}
+			if(builder == null) builder = new StringBuilder(length + 16);
+			builder.append(input, copiedUntil, pos).append(replacement);
+			copiedUntil = matchEnd;
+			pos = matchEnd - 1;
+		}
+		if(builder == null) return input;
+		return builder.append(input, copiedUntil, length).toString();
+	}
+
+	private static int findStringEnd(final @NotNull String input, int pos)
+	{
+		for(int length = input.length(); pos < length; pos++)
+		{
+			char c = input.charAt(pos);
+			if(c == '"') return pos;
+			if(c == '\\') pos++;
+		}
+		return input.length();
+	}
+
+	private static boolean isKey(final @NotNull String input, int pos)
+	{
+		for(int length = input.length(); pos < length; pos++)
+		{
+			char c = input.charAt(pos);
+			if(!Character.isWhitespace(c)) return c == ':';
+		}
+		return false;
+	}
+
+	/**
+	 * @return The position of the last char of the escape sequence starting at the given position.
+	 */
+	private static int skipEscape(final @NotNull String input, final int pos, final int limit)
+	{
+		int escapeLength = (pos + 1 < limit && input.charAt(pos + 1) == 'u') ? 6 : 2;
+		return Math.min(pos + escapeLength, limit) - 1;
+	}
+
+	public boolean isEmpty()
+	{
+		return empty;
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads plugin channel messages written by a {@link PluginMessageEncoder} or a {@link java.io.DataOutputStream}.
+ * The received array is wrapped, not copied. Works the same on Bukkit and BungeeCord. Decoders are not thread safe.
+ * <p>
+ * Reading past the end of the message throws a {@link BufferUnderflowException}, malformed data an {@link IllegalArgumentException}.
+ */
+public final class PluginMessageDecoder
+{
+	private final ByteBuffer buffer;
+	private char[] charBuffer = new char[64];
+
+	public PluginMessageDecoder(final @NotNull byte[] message)
+	{
+		this(message, 0, message.length);
+	}
+
+	public PluginMessageDecoder(final @NotNull byte[] message, final int offset, final int length)
+	{
+		buffer = ByteBuffer.wrap(message, offset, length);
+	}
+
+	public boolean hasRemaining()
+	{
+		return buffer.hasRemaining();
+	}
+
+	public int remaining()
+	{
+		return buffer.remaining();
+	}
+
+	//region readers
+	public byte readByte()
+	{
+		return buffer.get();
+	}
+
+	public boolean readBoolean()
+	{
+		return buffer.get() != 0;
+	}
+
+	public short readShort()
+	{
+		return buffer.getShort();
+	}
+
+	public int readInt()
+	{
+		return buffer.getInt();
+	}
+
+	public long readLong()
+	{
+		return buffer.getLong();
+	}
+
+	public float readFloat()
+	{
+		return buffer.getFloat();
+	}
+
+	public double readDouble()
+	{
+		return buffer.getDouble();
+	}
+
+	public int readVarInt()
+	{
+		int value = 0;
+		for(int shift = 0; shift < 35; shift += 7)
+		{
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if((b & 0x80) == 0) return value;
+		}
+		throw new IllegalArgumentException("VarInt too long");
+	}
+
+	public @NotNull byte[] readBytes(final int length)
+	{
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Reads a string written with {@link PluginMessageEncoder#writeUTF(String)} or {@link java.io.DataOutputStream#writeUTF(String)}.
+	 *
+	 * @return The read string.
+	 */
+	public @NotNull String readUTF()
+	{
+		final int utfLength = buffer.getShort() & 0xFFFF;
+		if(utfLength > buffer.remaining()) throw new BufferUnderflowException();
+		if(charBuffer.length < utfLength) charBuffer = new char[Math.max(utfLength, charBuffer.length * 2)];
+		final char[] chars = charBuffer;
+		final int end = buffer.position() + utfLength;
+		int count = 0;
+		while(buffer.position() < end)
+		{
+			int b = buffer.get() & 0xFF;
+			if(b < 0x80)
+			{
+				chars[count++] = (char) b;
+			}
+			else if((b & 0xE0) == 0xC0)
+			{
+				if(buffer.position() + 1 > end) throw new IllegalArgumentException("Malformed input: partial character at end");
+				int b2 = buffer.get();
+				if((b2 & 0xC0) != 0x80) throw new IllegalArgumentException("Malformed input around byte " + buffer.position());
+				chars[count++] = (char) (((b & 0x1F) << 6) | (b2 & 0x3F));
+			}
+			else if((b & 0xF0) == 0xE0)
+			{
+				if(buffer.position() + 2 > end) throw new IllegalArgumentException("Malformed input: partial character at end");
+				int b2 = buffer.get(), b3 = buffer.get();
+				if((b2 & 0xC0) != 0x80 || (b3 & 0xC0) != 0x80) throw new IllegalArgumentException("Malformed input around byte " + buffer.position());
+				chars[count++] = (char) (((b & 0x0F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F));
+			}
+			else throw new IllegalArgumentException("Malformed input around byte " + buffer.position());
+		}
+		return new String(chars, 0, count);
+	}
+
+	/**
+	 * Reads all remaining strings of the message, e.g. a message built with {@link PluginMessageEncoder#encodeStrings(String...)}.
+	 *
+	 * @return The read strings.
+	 */
+	public @NotNull String[] readRemainingStrings()
+	{
+		List<String> strings = new ArrayList<>();
+		while(buffer.hasRemaining())
+		{
+			strings.add(readUTF());
+		}
+		return strings.toArray(new String[0]);
+	}
+	//endregion
+}
@@ -0,0 +1,263 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes plugin channel messages into pooled buffers.
+ * Strings are written in the modified UTF-8 format of {@link java.io.DataOutputStream#writeUTF(String)}, all numbers are big endian,
+ * so the messages can be read with a {@link java.io.DataInputStream} or a {@link PluginMessageDecoder} on the other side.
+ * <p>
+ * Encoders are not thread safe. Obtain one, write the message, take the payload and close the encoder to return its buffer to the pool:
+ * <pre>{@code
+ * byte[] payload;
+ * try(PluginMessageEncoder encoder = PluginMessageEncoder.obtain())
+ * {
+ *     payload = encoder.writeUTF("Sync").writeVarInt(id).toByteArray();
+ * }
+ * }</pre>
+ */
+public final class PluginMessageEncoder implements AutoCloseable
+{
+	private static final int INITIAL_BUFFER_SIZE = 256, MAX_POOLED_BUFFER_SIZE = 64 * 1024, MAX_POOLED_BUFFERS = 16;
+	private static final Queue<ByteBuffer> BUFFER_POOL = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger POOLED_BUFFERS = new AtomicInteger();
+
+	private ByteBuffer buffer;
+
+	private PluginMessageEncoder(final @NotNull ByteBuffer buffer)
+	{
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Gets an encoder with an empty buffer from the pool.
+	 *
+	 * @return The encoder. Must be closed once the message has been built.
+	 */
+	public static @NotNull PluginMessageEncoder obtain()
+	{
+		ByteBuffer buffer = BUFFER_POOL.poll();
+		if(buffer == null) buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+		else POOLED_BUFFERS.decrementAndGet();
+		return new PluginMessageEncoder(buffer);
+	}
+
+	/**
+	 * Encodes the given strings, the same way {@link java.io.DataOutputStream#writeUTF(String)} would write them one after another.
+	 *
+	 * @param strings The strings to encode.
+	 * @return The encoded message.
+	 */
+	public static @NotNull byte[] encodeStrings(final @NotNull String... strings)
+	{
+		try(PluginMessageEncoder encoder = obtain())
+		{
+			for(String string : strings)
+			{
+				encoder.writeUTF(string);
+			}
+			return encoder.toByteArray();
+		}
+	}
+
+	private void ensureCapacity(final int bytes)
+	{
+		if(buffer == null) throw new IllegalStateException("The encoder has already been closed!");
+		if(buffer.remaining() >= bytes) return;
+		int newSize = buffer.capacity();
+		while(newSize - buffer.position() < bytes) newSize <<= 1;
+		ByteBuffer newBuffer = ByteBuffer.allocate(newSize);
+		buffer.flip();
+		newBuffer.put(buffer);
+		buffer = newBuffer;
+	}
+
+	//region writers
+	public @NotNull PluginMessageEncoder writeByte(final int value)
+	{
+		ensureCapacity(1);
+		buffer.put((byte) value);
+		return this;
+	}
+
+	public @NotNull PluginMessageEncoder writeBoolean(final boolean value)
+	{
+		return writeByte(value ? 1 : 0);
+	}
+
+	public @NotNull PluginMessageEncoder writeShort(final int value)
+	{
+		ensureCapacity(2);
+		buffer.putShort((short) value);
+		return this;
+	}
+
+	public @NotNull PluginMessageEncoder writeInt(final int value)
+	{
+		ensureCapacity(4);
+		buffer.putInt(value);
+		return this;
+	}
+
+	public @NotNull PluginMessageEncoder writeLong(final long value)
+	{
+		ensureCapacity(8);
+		buffer.putLong(value);
+		return this;
+	}
+
+	public @NotNull PluginMessageEncoder writeFloat(final float value)
+	{
+		ensureCapacity(4);
+		buffer.putFloat(value);
+		return this;
+	}
+
+	public @NotNull PluginMessageEncoder writeDouble(final double value)
+	{
+		ensureCapacity(8);
+		buffer.putDouble(value);
+		return this;
+	}
+
+	/**
+	 * Writes an int with 1 to 5 bytes, 7 bits per byte, the same way minecraft encodes VarInts.
+	 */
+	public @NotNull PluginMessageEncoder writeVarInt(int value)
+	{
+		ensureCapacity(5);
+		while((value & ~0x7F) != 0)
+		{
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+		return this;
+	}
+
+	public @NotNull PluginMessageEncoder writeBytes(final @NotNull byte[] bytes)
+	{
+		ensureCapacity(bytes.length);
+		buffer.put(bytes);
+		return this;
+	}
+
+	/**
+	 * Writes a string in modified UTF-8 with a two byte length prefix, compatible to {@link java.io.DataOutputStream#writeUTF(String)}.
+	 *
+	 * @param string The string to write.
+	 * @return The encoder.
+	 * @throws IllegalArgumentException If the encoded string is longer than 65535 bytes.
+	 */
+	public @NotNull PluginMessageEncoder writeUTF(final @NotNull String string)
+	{
+		final int length = string.length();
+		int utfLength = length;
+		for(int i = 0; i < length; i++)
+		{
+			char c = string.charAt(i);
+			if(c >= 0x80 || c == 0) utfLength += (c >= 0x800) ? 2 : 1;
+		}
+		if(utfLength > 0xFFFF) throw new IllegalArgumentException("Encoded string too long: " + utfLength + " bytes");
+		ensureCapacity(utfLength + 2);
+		buffer.putShort((short) utfLength);
+		if(utfLength == length)
+		{ // Only ascii characters
+			for(int i = 0; i < length; i++)
+			{
+				buffer.put((byte) string.charAt(i));
+			}
+			return this;
+		}
+		for(int i = 0; i < length; i++)
+		{
+			char c = string.charAt(i);
+			if(c >= 0x0001 && c < 0x0080)
+			{
+				buffer.put((byte) c);
+			}
+			else if(c < 0x0800)
+			{
+				buffer.put((byte) (0xC0 | ((c >> 6) & 0x1F)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			}
+			else
+			{
+				buffer.put((byte) (0xE0 | ((c >> 12) & 0x0F)));
+				buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			}
+		}
+		return this;
+	}
+	//endregion
+
+	/**
+	 * @return The amount of bytes written so far.
+	 */
+	public int size()
+	{
+		return buffer.position();
+	}
+
+	/**
+	 * Copies the written message into an array of its exact size. The returned array can be sent to any amount of players.
+	 *
+	 * @return The encoded message.
+	 */
+	public @NotNull byte[] toByteArray()
+	{
+		if(buffer == null) throw new IllegalStateException("The encoder has already been closed!");
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+	/**
+	 * Clears the written data, so the encoder can be used for another message.
+	 */
+	public void reset()
+	{
+		if(buffer != null) buffer.clear();
+	}
+
+	/**
+	 * Returns the buffer to the pool. The encoder can't be used afterwards.
+	 */
+	@Override
+	public void close()
+	{
+		if(buffer == null) return;
+		if(buffer.capacity() <= MAX_POOLED_BUFFER_SIZE)
+		{ // Buffers that grew very large are dropped, a single huge message should not keep its memory forever
+			if(POOLED_BUFFERS.incrementAndGet() <= MAX_POOLED_BUFFERS)
+			{
+				buffer.clear();
+				BUFFER_POOL.offer(buffer);
+			}
+			else POOLED_BUFFERS.decrementAndGet();
+		}
+		buffer = null;
+	}
+}
@@ -22,11 +22,16 @@
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.file.*;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -116,7 +121,7 @@ public static boolean extractFile(final @NotNull Class<?> pluginClass, final @No
 				logger.warning("Failed to delete old file (" + targetFile + ").");
 			}
 			File parentFile = targetFile.getParentFile();
-			if(!parentFile.exists() && !parentFile.mkdirs())
+			if(!parentFile.exists() && !parentFile.mkdirs() && !parentFile.isDirectory()) // Another thread might have created it in the meantime
 			{
 				logger.warning("Failed creating directory's! Expected path: " + parentFile);
 			}
@@ -269,6 +274,43 @@ public static void extractFiles(@NotNull Class<?> pluginClass, @NotNull String i
 	 * @param overwrite   If existing files should be overwritten.
 	 */
 	public static void extractFiles(@NotNull URL jar, @NotNull String inJarPath, @NotNull File targetDir, boolean overwrite)
+	{
+		Path jarPath;
+		try
+		{
+			jarPath = Paths.get(jar.toURI());
+		}
+		catch(URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e)
+		{ // Not a local file, fall back to reading the stream
+			extractFilesFromStream(jar, inJarPath, targetDir, overwrite);
+			return;
+		}
+		// The file system is not registered with the provider, so multiple threads can extract from the same jar at the same time
+		try(FileSystem jarFileSystem = FileSystems.newFileSystem(jarPath, (ClassLoader) null))
+		{
+			Path searchRoot = jarFileSystem.getPath("/" + inJarPath.substring(0, inJarPath.lastIndexOf('/') + 1));
+			if(!Files.isDirectory(searchRoot)) return;
+			List<Path> files;
+			try(Stream<Path> stream = Files.walk(searchRoot))
+			{
+				files = stream.filter(Files::isRegularFile).filter(file -> file.toString().startsWith(inJarPath, 1)).collect(Collectors.toList());
+			}
+			Path target = targetDir.toPath();
+			for(Path file : files)
+			{
+				Path targetFile = target.resolve(file.toString().substring(1).replace(inJarPath, ""));
+				if(!overwrite && Files.exists(targetFile)) continue;
+				Files.createDirectories(targetFile.getParent());
+				Files.copy(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch(IOException | ProviderNotFoundException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	private static void extractFilesFromStream(@NotNull URL jar, @NotNull String inJarPath, @NotNull File targetDir, boolean overwrite)
 	{
 		try(ZipInputStream zip = new ZipInputStream(jar.openStream()))
 		{
@@ -276,7 +318,7 @@ public static void extractFiles(@NotNull URL jar, @NotNull String inJarPath, @No
 			while((e = zip.getNextEntry()) != null)
 			{
 				String name = e.getName();
-				if (name.startsWith(inJarPath))
+				if (name.startsWith(inJarPath) && !e.isDirectory())
 				{
 					File target = new File(targetDir, name.replace(inJarPath, ""));
 					if(target.exists())
@@ -285,6 +327,8 @@ public static void extractFiles(@NotNull URL jar, @NotNull String inJarPath, @No
 						//noinspection ResultOfMethodCallIgnored
 						target.delete(); // Delete old file
 					}
+					//noinspection ResultOfMethodCallIgnored
+					target.getParentFile().mkdirs();
 					try(FileOutputStream fileOutputStream = new FileOutputStream(target))
 					{
 						streamCopy(zip, fileOutputStream);
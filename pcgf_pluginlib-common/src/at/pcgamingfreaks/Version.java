@@ -32,8 +32,13 @@ public class Version implements Comparable<Version>
 	private static final byte SAME = 0, OLDER = -1, NEWER = 1;
 	private static final String VERSION_SPLIT_REGEX = "\\.", TAG_SPLIT_REGEX = "-", UNIMPORTANT_VERSION_PARTS_REGEX = "(\\.0)*$", PRE_RELEASE_TAG_FORMAT = "(?<tag>\\w+)\\.?(?<number>\\d+)";
 	private static final Pattern PRE_RELEASE_TAG_FORMAT_PATTERN = Pattern.compile(PRE_RELEASE_TAG_FORMAT), VERSION_STING_FORMAT_PATTERN = Pattern.compile(VERSION_STING_FORMAT);
+	private static final Pattern UNIMPORTANT_VERSION_PARTS_PATTERN = Pattern.compile(UNIMPORTANT_VERSION_PARTS_REGEX);
+	private static final Pattern TIMESTAMP_PATTERN = buildParameterPattern("(t|ts|time(stamp)?)"), BUILD_NUMBER_PATTERN = buildParameterPattern("(b|build(number)?)");
 	private static final String[] PRE_RELEASE_TAGS = new String[] { "alpha", "beta", "pre", "rc", "snapshot"};
 	private static final Map<String, Integer> PRE_RELEASE_TAG_VALUE_RESOLUTION = new ConcurrentHashMap<>();
+	private static final int MAX_CACHED_VERSIONS = 512; // Versions from update checks are not limited, the cache should not be able to grow endless
+	private static final Map<String, Version> VERSION_CACHE = new ConcurrentHashMap<>();
+	private static final int PACKED_COMPONENTS = 4, PACKED_COMPONENT_BITS = 16, PACKED_HALF_RANGE = 1 << (PACKED_COMPONENT_BITS - 1);
 
 	static
 	{
@@ -50,6 +55,11 @@ public class Version implements Comparable<Version>
 	private final int hashCode;
 	private final long timestamp, buildNumber;
 	private final boolean preRelease;
+	/**
+	 * The version components packed into a single value that can be compared unsigned. Only valid if {@link #packed} is true.
+	 */
+	private final long packedKey;
+	private final boolean packed;
 
 	public Version(int majorVersion)
 	{
@@ -84,7 +94,7 @@ public Version(final @NotNull String rawVersion, final boolean ignoreTags) throw
 	{
 		Matcher versionMatcher = validateInput(rawVersion);
 		this.rawVersion = (rawVersion.startsWith("v") || rawVersion.startsWith("V")) ? rawVersion.substring(1) : rawVersion;
-		final String version = versionMatcher.group("version").replaceAll(UNIMPORTANT_VERSION_PARTS_REGEX, "");
+		final String version = UNIMPORTANT_VERSION_PARTS_PATTERN.matcher(versionMatcher.group("version")).replaceAll("");
 		// Prepare data
 		this.tags = versionMatcher.group("tags").split(TAG_SPLIT_REGEX); // Split the tags
 		String[] comps = version.split(VERSION_SPLIT_REGEX);
@@ -130,9 +140,52 @@ public Version(final @NotNull String rawVersion, final boolean ignoreTags) throw
 			this.preRelease = false;
 		}
 
-		timestamp = getBuildParameter(this.tags, "(t|ts|time(stamp)?)");
-		buildNumber = getBuildParameter(this.tags, "(b|build(number)?)");
+		timestamp = getBuildParameter(this.tags, TIMESTAMP_PATTERN);
+		buildNumber = getBuildParameter(this.tags, BUILD_NUMBER_PATTERN);
 		this.hashCode = Arrays.hashCode(this.version);
+		this.packedKey = pack(this.version);
+		this.packed = this.packedKey != -1;
+	}
+
+	/**
+	 * Gets a shared instance for a version string. Versions are immutable, so the instance can be used like a newly created one.
+	 * Prefer this over the constructor for versions that are checked repeatedly (e.g. dependency checks or update checks).
+	 *
+	 * @param version A string representing the version. Must be in the format: [vV]?\d+(\.\d+)*(-[^-\s]+)*
+	 * @return The version for the string.
+	 * @throws InvalidVersionStringException The exception is thrown when the given string doesn't match the required format.
+	 */
+	public static @NotNull Version of(final @NotNull String version) throws InvalidVersionStringException
+	{
+		Version cached = VERSION_CACHE.get(version);
+		if(cached == null)
+		{
+			cached = new Version(version);
+			if(VERSION_CACHE.size() < MAX_CACHED_VERSIONS) VERSION_CACHE.putIfAbsent(version, cached);
+		}
+		return cached;
+	}
+
+	/**
+	 * Packs the version components into a long. Every component gets 16 bits, the lower half of the range is used for normal version numbers
+	 * (with an offset, to allow the -1 produced by pre-releases of 0 versions), the upper half for the large values produced by pre-release tags.
+	 * Comparing two keys unsigned gives the same result as comparing the (zero padded) component arrays.
+	 *
+	 * @return The packed key. -1 if the version can't be packed (too many components or too large numbers).
+	 */
+	private static long pack(final int[] version)
+	{
+		if(version.length > PACKED_COMPONENTS) return -1;
+		long key = 0;
+		for(int i = 0; i < PACKED_COMPONENTS; i++)
+		{
+			int component = i < version.length ? version[i] : 0, encoded;
+			if(component >= -PACKED_HALF_RANGE / 2 && component < PACKED_HALF_RANGE / 2) encoded = component + PACKED_HALF_RANGE / 2;
+			else if(component > Integer.MAX_VALUE - PACKED_HALF_RANGE) encoded = PACKED_HALF_RANGE + (component - (Integer.MAX_VALUE - PACKED_HALF_RANGE + 1));
+			else return -1;
+			key = (key << PACKED_COMPONENT_BITS) | encoded;
+		}
+		return key; // A version that would pack to -1 is simply compared the slow way
 	}
 
 	private static Matcher validateInput(final String version)
@@ -143,9 +196,13 @@ private static Matcher validateInput(final String version)
 		return versionMatcher;
 	}
 
-	private static long getBuildParameter(@NotNull String[] tags, @NotNull String parameter)
+	private static @NotNull Pattern buildParameterPattern(final @NotNull String parameter)
+	{
+		return Pattern.compile(parameter + "[=:_]?(?<number>\\d+)", Pattern.CASE_INSENSITIVE);
+	}
+
+	private static long getBuildParameter(@NotNull String[] tags, @NotNull Pattern searchPattern)
 	{
-		Pattern searchPattern = Pattern.compile(parameter + "[=:_]?(?<number>\\d+)", Pattern.CASE_INSENSITIVE);
 		for(String tag : tags)
 		{
 			Matcher matcher = searchPattern.matcher(tag);
@@ -190,6 +247,12 @@ public static boolean isValidVersionString(@NotNull String version)
 	 */
 	private byte compare(@NotNull Version otherVersion)
 	{
+		if(this.packed && otherVersion.packed)
+		{
+			int packedCompare = Long.compareUnsigned(this.packedKey, otherVersion.packedKey);
+			if(packedCompare != 0) return packedCompare > 0 ? NEWER : OLDER;
+			return compareBuild(otherVersion);
+		}
 		int c = Math.min(this.version.length, otherVersion.version.length);
 		for(int i = 0; i < c; i++)
 		{
@@ -215,6 +278,11 @@ else if(otherVersion.version[i] < this.version[i])
 				}
 			}
 		}
+		return compareBuild(otherVersion);
+	}
+
+	private byte compareBuild(@NotNull Version otherVersion)
+	{
 		// If both versions have the same length we still can compare the build timestamp (if available)
 		if(this.timestamp > 0 && otherVersion.timestamp > 0)
 		{
@@ -306,7 +374,7 @@ public boolean olderOrEqualThan(@NotNull Version otherVersion)
 	 */
 	public boolean newerThan(@NotNull String otherVersion) throws InvalidVersionStringException
 	{
-		return compare(new Version(otherVersion)) == NEWER;
+		return compare(of(otherVersion)) == NEWER;
 	}
 
 	/**
@@ -317,7 +385,7 @@ public boolean newerThan(@NotNull String otherVersion) throws InvalidVersionStri
 	 */
 	public boolean newerOrEqualThan(@NotNull String otherVersion) throws InvalidVersionStringException
 	{
-		return compare(new Version(otherVersion))>= SAME;
+		return compare(of(otherVersion))>= SAME;
 	}
 
 	/**
@@ -328,7 +396,7 @@ public boolean newerOrEqualThan(@NotNull String otherVersion) throws InvalidVers
 	 */
 	public boolean olderThan(@NotNull String otherVersion) throws InvalidVersionStringException
 	{
-		return compare(new Version(otherVersion)) == OLDER;
+		return compare(of(otherVersion)) == OLDER;
 	}
 
 	/**
@@ -339,12 +407,12 @@ public boolean olderThan(@NotNull String otherVersion) throws InvalidVersionStri
 	 */
 	public boolean olderOrEqualThan(@NotNull String otherVersion) throws InvalidVersionStringException
 	{
-		return compare(new Version(otherVersion)) <= SAME;
+		return compare(of(otherVersion)) <= SAME;
 	}
 
 	public boolean equals(String otherVersion) throws InvalidVersionStringException
 	{
-		return this.equals(new Version(otherVersion));
+		return this.equals(of(otherVersion));
 	}
 	//endregion
 	//endregion
@@ -29,7 +29,7 @@
 
 	public VersionRange(@Nullable String minVersion, @Nullable String maxVersion)
 	{
-		this((minVersion != null) ? new Version(minVersion) : null, (maxVersion != null) ? new Version(maxVersion) : null);
+		this((minVersion != null) ? Version.of(minVersion) : null, (maxVersion != null) ? Version.of(maxVersion) : null);
 	}
 
 	public VersionRange(@Nullable Version minVersion, @Nullable Version maxVersion)
@@ -40,7 +40,7 @@ public VersionRange(@Nullable Version minVersion, @Nullable Version maxVersion)
 
 	public boolean inRange(@NotNull String version)
 	{
-		return inRange(new Version(version));
+		return inRange(Version.of(version));
 	}
 
 	public boolean inRange(@NotNull Version version)
@@ -50,7 +50,7 @@ public boolean inRange(@NotNull Version version)
 
 	public boolean inRangeExclusive(@NotNull String version)
 	{
-		return inRangeExclusive(new Version(version));
+		return inRangeExclusive(Version.of(version));
 	}
 
 	public boolean inRangeExclusive(@NotNull Version version)
@@ -21,9 +21,11 @@
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.TimeZone;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class TimeSpanTest
 {
@@ -92,6 +94,37 @@ public void testTimeSpanToString()
 		assertEquals("0 seconds", new TimeSpan(0, 0, true).toString());
 	}
 
+	@Test
+	public void testTimeSpanMonthEnd()
+	{
+		Calendar from = Calendar.getInstance(TimeZone.getTimeZone("UTC")), to = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		from.clear();
+		to.clear();
+		from.set(2019, Calendar.JANUARY, 31, 12, 0, 0);
+		to.set(2019, Calendar.FEBRUARY, 28, 12, 0, 0);
+		assertArrayEquals(new int[] { 0, 1, 0, 0, 0, 0, 28 }, new TimeSpan(from, to).getArray());
+		to.set(2019, Calendar.MARCH, 31, 12, 0, 0);
+		assertArrayEquals(new int[] { 0, 2, 0, 0, 0, 0, 59 }, new TimeSpan(from, to).getArray());
+		to.set(2019, Calendar.MARCH, 31, 11, 0, 0);
+		assertArrayEquals(new int[] { 0, 1, 30, 23, 0, 0, 58 }, new TimeSpan(from, to).getArray());
+		from.set(2016, Calendar.FEBRUARY, 29, 0, 0, 0);
+		to.set(2017, Calendar.FEBRUARY, 28, 0, 0, 0);
+		assertArrayEquals(new int[] { 1, 0, 0, 0, 0, 0, 365 }, new TimeSpan(from, to).getArray());
+		assertArrayEquals(new int[] { 1, 0, 0, 0, 0, 0, 365 }, new TimeSpan(to, from).getArray());
+	}
+
+	@Test
+	public void testTimeSpanAppendTo()
+	{
+		StringBuilder builder = new StringBuilder("Remaining: ");
+		assertSame(builder, new TimeSpan(TIME3, TIME1).appendTo(new BasicTimeSpanFormat(), builder));
+		assertEquals("Remaining: 11 months 30 days 23 hours 59 minutes 59 seconds", builder.toString());
+		builder.setLength(0);
+		builder.append("Remaining: ");
+		new TimeSpan(0, 0, true).appendTo(new BasicTimeSpanFormat(), builder);
+		assertEquals("Remaining: 0 seconds", builder.toString());
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testTimeSpanToStringWithError()
 	{
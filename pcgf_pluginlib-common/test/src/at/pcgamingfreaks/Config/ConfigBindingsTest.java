@@ -0,0 +1,58 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Config;
+
+import at.pcgamingfreaks.yaml.YamlGetter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ConfigBindingsTest
+{
+	@Test
+	public void testBindings()
+	{
+		ConfigBindings bindings = new ConfigBindings();
+		ConfigBindings.IntHandle intHandle = bindings.bindInt("Int", 1);
+		ConfigBindings.StringHandle stringHandle = bindings.bindString("String", "Default");
+		assertEquals("The default value should be used without a config", 1, intHandle.get());
+		assertEquals("The default value should be used without a config", "Default", stringHandle.get());
+		YamlGetter yaml = mock(YamlGetter.class);
+		doReturn(10).when(yaml).getInt(eq("Int"), anyInt());
+		doReturn(2.5).when(yaml).getDouble(eq("Double"), anyDouble());
+		doReturn(true).when(yaml).getBoolean(eq("Bool"), anyBoolean());
+		doReturn("Value").when(yaml).getString(eq("String"), any());
+		bindings.refresh(yaml);
+		assertEquals("The value should be read from the config", 10, intHandle.get());
+		assertEquals("The value should be read from the config", "Value", stringHandle.get());
+		ConfigBindings.DoubleHandle doubleHandle = bindings.bindDouble("Double", 0);
+		ConfigBindings.BoolHandle boolHandle = bindings.bindBool("Bool", false);
+		assertEquals("A handle bound after loading should be resolved at once", 2.5, doubleHandle.get(), 0);
+		assertTrue("A handle bound after loading should be resolved at once", boolHandle.get());
+		assertEquals("The path should match", "Bool", boolHandle.getPath());
+		verify(yaml, times(1)).getInt(eq("Int"), anyInt());
+		for(int i = 0; i < 10; i++) intHandle.get();
+		verify(yaml, times(1)).getInt(eq("Int"), anyInt());
+		bindings.refresh(null);
+		assertEquals("The defaults should be used after a failed reload", 1, intHandle.get());
+		assertFalse("The defaults should be used after a failed reload", boolHandle.get());
+	}
+}
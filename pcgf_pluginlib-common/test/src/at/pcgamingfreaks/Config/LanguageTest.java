@@ -0,0 +1,101 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Config;
+
+import at.pcgamingfreaks.Version;
+import at.pcgamingfreaks.yaml.YAML;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class LanguageTest
+{
+	private static YAML mockYaml(String... keysAndValues)
+	{
+		YAML yaml = mock(YAML.class);
+		HashSet<String> keys = new HashSet<>();
+		for(int i = 0; i < keysAndValues.length; i += 2)
+		{
+			keys.add(keysAndValues[i]);
+			doReturn(keysAndValues[i + 1]).when(yaml).getString(eq(keysAndValues[i]), any());
+		}
+		doReturn(keys).when(yaml).getKeys();
+		return yaml;
+	}
+
+	@Test
+	public void testStringTable()
+	{
+		Logger logger = mock(Logger.class);
+		Language language = new Language(this, logger, new File("."), new Version(1), null, "", "");
+		language.yaml = mockYaml("Version", "1", "Language.Test.Hello", "Hello &cWorld", "Language.Test.Bye", "Bye");
+		assertEquals("The value should be read from the table", "Hello &cWorld", language.get("Test.Hello"));
+		assertEquals("The translated value should be read from the table", "Hello §cWorld", language.getTranslated("Test.Hello"));
+		int byeHandle = language.getHandle("Test.Bye"), missingHandle = language.getHandle("Test.Missing");
+		assertEquals("The handle should be stable", byeHandle, language.getHandle("Test.Bye"));
+		assertEquals("The value should be read through the handle", "Bye", language.get(byeHandle));
+		assertTrue("A missing key should return the not found message", language.get(missingHandle).contains("Message not found!"));
+		assertTrue("A missing key should return the not found message", language.get("Test.Unknown").contains("Message not found!"));
+		verify(logger, times(2)).warning(anyString());
+		YAML yaml = language.yaml;
+		clearInvocations(yaml);
+		for(int i = 0; i < 10; i++) language.get(byeHandle);
+		verify(yaml, never()).getString(eq("Language.Test.Bye"), any());
+		// Replacing the yaml (e.g. with a reload) keeps the handles valid
+		language.yaml = mockYaml("Language.Test.Missing", "Found", "Language.Test.Bye", "Goodbye");
+		language.set("Language.Test.Other", "Other");
+		assertEquals("The handle should point to the new value", "Goodbye", language.get(byeHandle));
+		assertEquals("The handle should point to the new value", "Found", language.get(missingHandle));
+		assertTrue("A removed key should not be found any more", language.get("Test.Hello").contains("Message not found!"));
+		assertEquals("The handles should match", Arrays.asList(byeHandle, missingHandle), Arrays.asList(language.getHandle("Test.Bye"), language.getHandle("Test.Missing")));
+	}
+
+	@Test
+	public void testNewHandleDoesNotRecompileTable()
+	{
+		Logger logger = mock(Logger.class);
+		Language language = new Language(this, logger, new File("."), new Version(1), null, "", "");
+		language.yaml = mockYaml("Version", "1", "Language.Test.Hello", "Hello &cWorld");
+		int helloHandle = language.getHandle("Test.Hello");
+		assertEquals("The value should be read through the handle", "Hello &cWorld", language.get(helloHandle));
+		YAML yaml = language.yaml;
+		clearInvocations(yaml);
+		int[] handles = new int[10];
+		for(int i = 0; i < handles.length; i++) handles[i] = language.getHandle("Test.New" + i);
+		assertEquals("Known keys should still be read through the handle", "Hello &cWorld", language.get(helloHandle));
+		verify(yaml, never()).getKeys();
+		doReturn("New &c0").when(yaml).getString(eq("Language.Test.New0"), any());
+		assertEquals("A new handle should be looked up directly", "New &c0", language.get(handles[0]));
+		assertEquals("A new handle should be looked up directly", "New §c0", language.getTranslated(handles[0]));
+		assertTrue("A missing key should return the not found message", language.get(handles[1]).contains("Message not found!"));
+		verify(yaml, never()).getKeys();
+		language.yaml = yaml = mockYaml("Version", "1", "Language.Test.Hello", "Hello &cWorld", "Language.Test.New0", "New &c0");
+		language.set("Language.Test.Other", "Other");
+		assertEquals("The new handle should be in the recompiled table", "New &c0", language.get(handles[0]));
+		verify(yaml, times(1)).getKeys();
+	}
+}
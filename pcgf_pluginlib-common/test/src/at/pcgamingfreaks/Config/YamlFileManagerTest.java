@@ -0,0 +1,141 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Config;
+
+import at.pcgamingfreaks.Version;
+import at.pcgamingfreaks.yaml.YAML;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class YamlFileManagerTest
+{
+	@Test
+	public void testHotReload() throws Exception
+	{
+		File folder = Files.createTempDirectory("yaml_hot_reload").toFile();
+		folder.deleteOnExit();
+		File file = new File(folder, "test.yml");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "Version: 0\n".getBytes(StandardCharsets.UTF_8));
+		AtomicInteger reloads = new AtomicInteger(), validations = new AtomicInteger();
+		YamlFileManager manager = new YamlFileManager(mock(Logger.class), folder, new Version(0), null, "test.yml", "", null) {
+			@Override
+			protected void validateReload(@NotNull YAML newYaml) throws Exception
+			{
+				super.validateReload(newYaml);
+				if(validations.incrementAndGet() > 1) throw new IllegalStateException("Invalid");
+			}
+
+			@Override
+			protected void reloaded()
+			{
+				reloads.incrementAndGet();
+			}
+		};
+		manager.load();
+		YAML loaded = manager.getYaml();
+		assertNotNull("The file should be loaded", loaded);
+		AtomicInteger reloadedEvents = new AtomicInteger(), failedEvents = new AtomicInteger();
+		manager.addReloadListener(new YamlFileReloadListener() {
+			@Override
+			public void onReload(@NotNull YamlFileManager yamlFileManager)
+			{
+				reloadedEvents.incrementAndGet();
+			}
+
+			@Override
+			public void onReloadFailed(@NotNull YamlFileManager yamlFileManager, @NotNull Exception exception)
+			{
+				failedEvents.incrementAndGet();
+			}
+		});
+		manager.hotReload();
+		assertSame("Nothing should be reloaded while hot reload is disabled", loaded, manager.getYaml());
+		manager.hotReloadDelay = 0; // Enables the hot reload without registering the file on the watcher
+		manager.hotReload();
+		assertEquals("An unchanged file should not be reloaded", 0, reloads.get());
+		Files.write(file.toPath(), "Version: 0\nValue: 1\n".getBytes(StandardCharsets.UTF_8));
+		manager.hotReload();
+		assertEquals("The file should be reloaded", 1, reloads.get());
+		assertEquals("The listeners should be notified", 1, reloadedEvents.get());
+		YAML reloadedYaml = manager.getYaml();
+		assertNotSame("The yaml should have been replaced", loaded, reloadedYaml);
+		manager.hotReload();
+		assertEquals("The file should only be reloaded once", 1, reloads.get());
+		Files.write(file.toPath(), "Version: 0\nValue: invalid\n".getBytes(StandardCharsets.UTF_8));
+		manager.hotReload();
+		assertEquals("The failed reload should be reported", 1, failedEvents.get());
+		assertSame("The yaml should not be replaced by an invalid file", reloadedYaml, manager.getYaml());
+		assertEquals("The invalid file should not be swapped in", 1, reloads.get());
+		manager.hotReloadDelay = -1;
+		manager.enableHotReload(200);
+		try
+		{
+			assertTrue("Hot reload should be enabled", manager.isHotReloadEnabled());
+		}
+		finally
+		{
+			manager.disableHotReload();
+		}
+		assertFalse("Hot reload should be disabled", manager.isHotReloadEnabled());
+	}
+
+	@Test
+	public void testLoadParallel() throws Exception
+	{
+		File folder = Files.createTempDirectory("yaml_load_parallel").toFile();
+		folder.deleteOnExit();
+		Map<YamlFileManager, Runnable> loaders = new LinkedHashMap<>();
+		for(int i = 0; i < 4; i++)
+		{
+			File file = new File(folder, "file" + i + ".yml");
+			file.deleteOnExit();
+			Files.write(file.toPath(), "Version: 0\n".getBytes(StandardCharsets.UTF_8));
+			YamlFileManager manager = new YamlFileManager(mock(Logger.class), folder, new Version(0), null, file.getName(), "", null);
+			loaders.put(manager, manager::load);
+		}
+		YamlFileManager failingLoad = new YamlFileManager(mock(Logger.class), folder, new Version(0), null, "file0.yml", "", null) {
+			@Override
+			protected void validate()
+			{
+				throw new IllegalStateException("Invalid");
+			}
+		};
+		loaders.put(failingLoad, failingLoad::load);
+		YamlFileManager failingLoader = new YamlFileManager(mock(Logger.class), folder, new Version(0), null, "file0.yml", "", null);
+		loaders.put(failingLoader, () -> { throw new IllegalArgumentException("Loader failed"); });
+		Map<YamlFileManager, Exception> failed = YamlFileManager.loadParallel(loaders);
+		assertEquals("Only the failing files should be reported", 2, failed.size());
+		assertTrue("The exception of the load should be reported", failed.get(failingLoad) instanceof IllegalStateException);
+		assertSame("The exception should be available from the file", failed.get(failingLoad), failingLoad.getLoadException());
+		assertTrue("The exception of the loader should be reported", failed.get(failingLoader) instanceof IllegalArgumentException);
+		loaders.keySet().stream().limit(4).forEach(manager -> assertTrue("The file should be loaded", manager.isLoaded() && manager.getLoadException() == null));
+	}
+}
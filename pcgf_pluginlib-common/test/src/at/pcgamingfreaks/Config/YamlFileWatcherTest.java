@@ -0,0 +1,96 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Config;
+
+import at.pcgamingfreaks.Version;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class YamlFileWatcherTest
+{
+	@Test
+	public void testDebounce() throws Exception
+	{
+		File folder = Files.createTempDirectory("yaml_file_watcher").toFile();
+		folder.deleteOnExit();
+		File file = new File(folder, "test.yml");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "Version: 0\n".getBytes(StandardCharsets.UTF_8));
+		AtomicInteger reloads = new AtomicInteger();
+		YamlFileManager manager = new YamlFileManager(mock(Logger.class), folder, new Version(0), null, "test.yml", "", null) {
+			@Override
+			protected void reloaded()
+			{
+				reloads.incrementAndGet();
+			}
+		};
+		manager.load();
+		manager.hotReloadDelay = 200;
+		Files.write(file.toPath(), "Version: 0\nValue: 1\n".getBytes(StandardCharsets.UTF_8));
+
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		ScheduledFuture<?> future1 = mock(ScheduledFuture.class), future2 = mock(ScheduledFuture.class), future3 = mock(ScheduledFuture.class), future4 = mock(ScheduledFuture.class);
+		doReturn(future1, future2, future3, future4).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+		YamlFileWatcher watcher = new YamlFileWatcher(() -> scheduler);
+		watcher.register(manager);
+		try
+		{
+			Path path = file.toPath().toAbsolutePath().normalize();
+			for(int i = 0; i < 3; i++) watcher.scheduleFile(path); // Multiple changes in a short time should only trigger one reload
+			ArgumentCaptor<Runnable> reloadCaptor = ArgumentCaptor.forClass(Runnable.class);
+			verify(scheduler, times(3)).schedule(reloadCaptor.capture(), eq(200L), eq(TimeUnit.MILLISECONDS));
+			verify(future1).cancel(false);
+			verify(future2).cancel(false);
+			verify(future3, never()).cancel(anyBoolean());
+			List<Runnable> reloadTasks = reloadCaptor.getAllValues();
+			reloadTasks.get(0).run(); // A cancelled reload that was already running must not remove the newer pending one
+			watcher.unregister(manager);
+			verify(future3).cancel(false);
+			reloadTasks.get(2).run();
+			assertEquals("The file should be reloaded once", 1, reloads.get());
+			watcher.register(manager);
+			watcher.scheduleFile(path);
+			verify(scheduler, times(4)).schedule(reloadCaptor.capture(), eq(200L), eq(TimeUnit.MILLISECONDS));
+			reloadCaptor.getValue().run();
+			watcher.unregister(manager);
+			verify(future4, never()).cancel(anyBoolean()); // The reload has removed itself, there is nothing to cancel
+		}
+		finally
+		{
+			watcher.unregister(manager);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PoolMetricsTest
+{
+	@Test
+	public void testLatencyHistogram()
+	{
+		LatencyHistogram histogram = new LatencyHistogram(1);
+		for(int i = 1; i <= 100; i++)
+		{
+			histogram.record(i * 1000000L); // 1ms - 100ms
+		}
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot(true);
+		assertEquals("All events should be counted", 100, snapshot.getCount());
+		assertEquals("The max should be tracked", 100000000L, snapshot.getMaxNanos());
+		assertEquals("The mean should be calculated", 50500000L, snapshot.getMeanNanos());
+		long p50 = snapshot.getPercentileNanos(50);
+		assertTrue("The p50 should be within a factor of two", p50 >= 50000000L && p50 <= 100000000L);
+		assertEquals("The p100 should not exceed the max", 100000000L, snapshot.getPercentileNanos(100));
+		assertEquals("The histogram should be reset", 0, histogram.snapshot(false).getCount());
+		try
+		{
+			new LatencyHistogram(3);
+			fail("The sample rate must be a power of two");
+		}
+		catch(IllegalArgumentException ignored) {}
+	}
+
+	@Test
+	public void testStatementInstrumentation() throws SQLException
+	{
+		PoolMetrics metrics = new PoolMetrics();
+		Connection connection = mock(Connection.class);
+		assertSame("The connection should not be wrapped if the instrumentation is disabled", connection, metrics.instrument(connection));
+		MetricsSink sink = mock(MetricsSink.class);
+		metrics.setSink(sink);
+		metrics.setStatementTimings(true);
+		metrics.setSlowQueryThreshold(0, TimeUnit.MILLISECONDS);
+		PreparedStatement preparedStatement = mock(PreparedStatement.class);
+		Statement statement = mock(Statement.class);
+		doReturn(preparedStatement).when(connection).prepareStatement(anyString());
+		doReturn(statement).when(connection).createStatement();
+		doThrow(new SQLException("Failed")).when(statement).execute(anyString());
+		Connection wrapped = metrics.instrument(connection);
+		assertNotSame("The connection should be wrapped", connection, wrapped);
+		PreparedStatement wrappedStatement = wrapped.prepareStatement("SELECT 1;");
+		wrappedStatement.setInt(1, 1);
+		wrappedStatement.executeQuery();
+		wrappedStatement.executeQuery();
+		try
+		{
+			wrapped.createStatement().execute("DELETE FROM `test`;");
+			fail("The exception of the statement should be thrown");
+		}
+		catch(SQLException e)
+		{
+			assertEquals("The original exception should be thrown", "Failed", e.getMessage());
+		}
+		wrapped.close();
+		verify(preparedStatement).setInt(1, 1);
+		verify(connection).close();
+		verify(sink, times(2)).slowQuery(eq("SELECT 1;"), anyLong());
+		verify(sink).slowQuery(eq("DELETE FROM `test`;"), anyLong());
+		metrics.export();
+		verify(sink).export(argThat(snapshot -> snapshot.getSlowQueries() == 3 && snapshot.getStatements().get("SELECT 1;").getCount() == 2 &&
+				snapshot.getStatements().get("DELETE FROM `test`;").getCount() == 1));
+		assertEquals("The metrics should be reset after the export", 0, metrics.snapshot(false).getSlowQueries());
+	}
+
+	@Test
+	public void testStatementSnapshotReset()
+	{
+		PoolMetrics metrics = new PoolMetrics(4);
+		assertEquals(4, metrics.getSampleRate());
+		metrics.setStatementTimings(true);
+		metrics.recordStatement("SELECT 1;", 1000);
+		metrics.recordStatement("SELECT 1;", 1000);
+		metrics.recordStatement("SELECT 2;", 1000);
+		PoolMetrics.Snapshot snapshot = metrics.snapshot(true);
+		assertEquals("All executions should be counted", 2, snapshot.getStatements().get("SELECT 1;").getCount());
+		assertEquals("All executions should be counted", 1, snapshot.getStatements().get("SELECT 2;").getCount());
+		metrics.recordStatement("SELECT 1;", 1000);
+		snapshot = metrics.snapshot(true);
+		assertEquals("Only the executions after the reset should be counted", 1, snapshot.getStatements().get("SELECT 1;").getCount());
+		assertFalse("Statements without executions should not be reported", snapshot.getStatements().containsKey("SELECT 2;"));
+		assertFalse("Statements without executions since the last reset should no longer be tracked", metrics.snapshot(false).getStatements().containsKey("SELECT 2;"));
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import com.zaxxer.hikari.HikariConfig;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class PooledConnectionProviderTest
+{
+	@Test
+	public void testPoolMetrics() throws SQLException
+	{
+		DataSource dataSource = mock(DataSource.class);
+		doAnswer(invocationOnMock -> {
+			Connection connection = mock(Connection.class);
+			doReturn(true).when(connection).isValid(anyInt());
+			doReturn(true).when(connection).getAutoCommit();
+			return connection;
+		}).when(dataSource).getConnection();
+		PooledConnectionProvider provider = new PooledConnectionProvider(mock(Logger.class), "Test") {
+			@Override
+			protected @NotNull HikariConfig getPoolConfig()
+			{
+				HikariConfig config = new HikariConfig();
+				config.setDataSource(dataSource);
+				config.setMaximumPoolSize(2);
+				config.setMinimumIdle(1);
+				return config;
+			}
+
+			@Override
+			public String getDatabaseType()
+			{
+				return "test";
+			}
+		};
+		provider.init();
+		try
+		{
+			assertTrue("The pool should be created", provider.isAvailable());
+			try(Connection ignored = provider.getConnection())
+			{
+				PoolMetrics.Snapshot snapshot = provider.getMetrics().snapshot(false);
+				assertTrue("The pool stats should be collected", snapshot.getTotalConnections() > 0);
+				assertEquals("The borrowed connection should be active", 1, snapshot.getActiveConnections());
+				assertEquals("The connection acquisition should be recorded", 1, snapshot.getAcquisition().getCount());
+			}
+		}
+		finally
+		{
+			provider.close();
+		}
+	}
+
+	@Test
+	public void testMetricsSampleRate()
+	{
+		PooledConnectionProvider provider = new PooledConnectionProvider(mock(Logger.class), "Test", 8) {
+			@Override
+			protected @NotNull HikariConfig getPoolConfig()
+			{
+				return new HikariConfig();
+			}
+
+			@Override
+			public String getDatabaseType()
+			{
+				return "test";
+			}
+		};
+		assertEquals("The sample rate should be used for the metrics", 8, provider.getMetrics().getSampleRate());
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package at.pcgamingfreaks.Database.ConnectionProvider;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.sql.*;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class SQLiteWalConnectionProviderTest
+{
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	private SQLiteWalConnectionProvider provider;
+
+	@After
+	public void cleanup()
+	{
+		if(provider != null) provider.close();
+	}
+
+	private SQLiteWalConnectionProvider createProvider(final Logger logger, final String databasePath)
+	{
+		provider = new SQLiteWalConnectionProvider(logger, "Test", databasePath, 2, "full", -1024, 1024 * 1024);
+		return provider;
+	}
+
+	private static String queryString(final Connection connection, final String query) throws SQLException
+	{
+		try(Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(query))
+		{
+			assertTrue("The query should return a result: " + query, resultSet.next());
+			return resultSet.getString(1);
+		}
+	}
+
+	@Test
+	public void testReadWriteSeparation() throws Exception
+	{
+		createProvider(mock(Logger.class), new File(folder.getRoot(), "test.db").getAbsolutePath());
+		assertTrue("The pools should be created", provider.isAvailable());
+		assertEquals("sqlite", provider.getDatabaseType());
+		try(Connection writer = provider.getWriteConnection(); Statement statement = writer.createStatement())
+		{
+			statement.execute("CREATE TABLE test (id INTEGER PRIMARY KEY, value TEXT);");
+			statement.execute("INSERT INTO test (value) VALUES ('written');");
+		}
+		try(Connection reader = provider.getReadConnection())
+		{
+			assertEquals("The reader should see the committed data", "written", queryString(reader, "SELECT value FROM test;"));
+			try(Statement statement = reader.createStatement())
+			{
+				statement.execute("INSERT INTO test (value) VALUES ('not allowed');");
+				fail("The read connection should not allow writes");
+			}
+			catch(SQLException ignored) {}
+			try(Connection writer = provider.getConnection(); Statement statement = writer.createStatement())
+			{
+				writer.setAutoCommit(false);
+				statement.execute("INSERT INTO test (value) VALUES ('pending');");
+				assertEquals("The reader should not be blocked by a running write", "1", queryString(reader, "SELECT COUNT(*) FROM test;"));
+				writer.commit();
+				writer.setAutoCommit(true);
+			}
+			assertEquals("The reader should see the new data after the commit", "2", queryString(reader, "SELECT COUNT(*) FROM test;"));
+		}
+	}
+
+	@Test
+	public void testPragmas() throws Exception
+	{
+		createProvider(mock(Logger.class), new File(folder.getRoot(), "test.db").getAbsolutePath());
+		try(Connection writer = provider.getWriteConnection())
+		{
+			assertEquals("The database should use the write-ahead log", "wal", queryString(writer, "PRAGMA journal_mode;").toLowerCase());
+			assertEquals("The writer should allow writes", "0", queryString(writer, "PRAGMA query_only;"));
+			assertEquals("The synchronous mode should be set", "2", queryString(writer, "PRAGMA synchronous;"));
+			assertEquals("The cache size should be set", "-1024", queryString(writer, "PRAGMA cache_size;"));
+			assertEquals("The mmap size should be set", String.valueOf(1024 * 1024), queryString(writer, "PRAGMA mmap_size;"));
+			assertEquals("The busy timeout should be set", "5000", queryString(writer, "PRAGMA busy_timeout;"));
+		}
+		try(Connection reader = provider.getReadConnection())
+		{
+			assertEquals("The reader should use the write-ahead log", "wal", queryString(reader, "PRAGMA journal_mode;").toLowerCase());
+			assertEquals("The reader should be query only", "1", queryString(reader, "PRAGMA query_only;"));
+			assertEquals("The synchronous mode should be set", "2", queryString(reader, "PRAGMA synchronous;"));
+			assertEquals("The cache size should be set", "-1024", queryString(reader, "PRAGMA cache_size;"));
+			assertEquals("The busy timeout should be set", "5000", queryString(reader, "PRAGMA busy_timeout;"));
+		}
+	}
+
+	@Test
+	public void testInitFailure()
+	{
+		Logger logger = mock(Logger.class);
+		createProvider(logger, new File(folder.getRoot(), "missing" + File.separator + "test.db").getAbsolutePath());
+		assertFalse("The provider should not be available if the pools could not be created", provider.isAvailable());
+		verify(logger).severe(anyString());
+		provider.close(); // Closing a failed provider should not fail
+	}
+
+	@Test
+	public void testInvalidSettings()
+	{
+		String path = new File(folder.getRoot(), "test.db").getAbsolutePath();
+		try
+		{
+			new SQLiteWalConnectionProvider(mock(Logger.class), "Test", path, 0, "NORMAL", -1024, 0);
+			fail("At least one read connection should be required");
+		}
+		catch(IllegalArgumentException ignored) {}
+		try
+		{
+			new SQLiteWalConnectionProvider(mock(Logger.class), "Test", path, 1, "NORMAL; DROP TABLE test", -1024, 0);
+			fail("Invalid synchronous modes should be rejected");
+		}
+		catch(IllegalArgumentException ignored) {}
+		try
+		{
+			new SQLiteWalConnectionProvider(mock(Logger.class), "Test", path, 1, "NORMAL", -1024, -1);
+			fail("Negative mmap sizes should be rejected");
+		}
+		catch(IllegalArgumentException ignored) {}
+	}
+}
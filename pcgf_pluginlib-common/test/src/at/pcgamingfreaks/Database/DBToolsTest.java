@@ -20,9 +20,7 @@
 import org.junit.BeforeClass;
 import org.junit.Test;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
+import java.sql.*;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -49,4 +47,26 @@ public void testRunStatementWithoutException() throws SQLException
 		DBTools.runStatementWithoutException(mockedConnection, "SELECT * FROM table WHERE id = ? AND name = ?", 3, "TEST");
 		verify(mockedPreparedStatement, times(2)).execute();
 	}
+
+	@Test
+	public void testUpdateDBWithFingerprintTable() throws SQLException
+	{
+		Connection mockedConnection = mock(Connection.class);
+		DatabaseMetaData mockedMetaData = mock(DatabaseMetaData.class);
+		Statement mockedStatement = mock(Statement.class);
+		ResultSet mockedResultSet = mock(ResultSet.class);
+		doReturn(mockedMetaData).when(mockedConnection).getMetaData();
+		doReturn("MySQL").when(mockedMetaData).getDatabaseProductName();
+		doReturn(mockedStatement).when(mockedConnection).createStatement();
+		doReturn(mockedResultSet).when(mockedStatement).executeQuery(anyString());
+		doReturn(mock(PreparedStatement.class)).when(mockedConnection).prepareStatement(anyString());
+		String tableDefinition = "CREATE TABLE `test` (\n`id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT\n)";
+		DBTools.updateDB(mockedConnection, tableDefinition);
+		verify(mockedStatement, times(1)).executeUpdate(tableDefinition);
+		verify(mockedStatement, never()).executeUpdate(contains(SQLTableValidator.DEFAULT_FINGERPRINT_TABLE));
+		DBTools.updateDB(mockedConnection, tableDefinition, null, SQLTableValidator.DEFAULT_FINGERPRINT_TABLE);
+		verify(mockedStatement, times(2)).executeUpdate(tableDefinition);
+		verify(mockedStatement, times(1)).executeUpdate(contains("CREATE TABLE IF NOT EXISTS `" + SQLTableValidator.DEFAULT_FINGERPRINT_TABLE + "`"));
+		verify(mockedConnection, times(1)).prepareStatement(contains("REPLACE INTO `" + SQLTableValidator.DEFAULT_FINGERPRINT_TABLE + "`"));
+	}
 }
\ No newline at end of file
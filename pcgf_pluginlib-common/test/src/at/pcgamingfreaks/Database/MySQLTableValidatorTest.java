@@ -20,10 +20,14 @@
 import org.intellij.lang.annotations.Language;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import java.sql.*;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class MySQLTableValidatorTest
@@ -791,4 +795,98 @@ public void testWithEngineParameter() throws SQLException
 		new MySQLTableValidator().validate(mockedConnection, createStatement);
 		verify(mockedStatement, times(1)).executeUpdate(createStatement);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testBatchedAlterations() throws SQLException
+	{
+		doReturn("CREATE TABLE `test` (\n" +
+				         "  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT,\n" +
+				         "  `val` VARCHAR(100)\n" +
+				         ")").when(mockedResultSet).getString(2);
+		new MySQLTableValidator().validate(mockedConnection, "CREATE TABLE `test` (\n" +
+				"  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT,\n" +
+				"  `val` VARCHAR(255),\n" +
+				"  `usr` INT(10) UNSIGNED NOT NULL,\n" +
+				"  PRIMARY KEY (`id`)\n" +
+				")");
+		verify(mockedStatement, times(1)).executeUpdate("ALTER TABLE `test` MODIFY COLUMN `val` VARCHAR(255), ADD COLUMN `usr` INT(10) UNSIGNED NOT NULL, ADD PRIMARY KEY (`id`)");
+		verify(mockedStatement, times(1)).executeUpdate(anyString());
+	}
+
+	@Test
+	public void testFingerprint() throws SQLException
+	{
+		PreparedStatement selectFingerprint = mock(PreparedStatement.class), storeFingerprint = mock(PreparedStatement.class);
+		ResultSet fingerprintResult = mock(ResultSet.class);
+		doReturn(selectFingerprint).when(mockedConnection).prepareStatement(contains("SELECT `definition_hash`"));
+		doReturn(storeFingerprint).when(mockedConnection).prepareStatement(contains("REPLACE INTO"));
+		doReturn(fingerprintResult).when(selectFingerprint).executeQuery();
+		doReturn(false).when(fingerprintResult).next();
+		doReturn("CREATE TABLE `test` (\n" +
+				         "  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT\n" +
+				         ") ENGINE=InnoDB AUTO_INCREMENT=5").when(mockedResultSet).getString(2);
+		@Language("SQL") String tableDefinition = "CREATE TABLE `test` (\n" +
+				"  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT,\n" +
+				"  `val` VARCHAR(255)\n" +
+				")";
+		MySQLTableValidator validator = new MySQLTableValidator(MySQLTableValidator.DEFAULT_FINGERPRINT_TABLE);
+		validator.validate(mockedConnection, tableDefinition);
+		verify(mockedStatement, times(1)).executeUpdate(contains("ADD COLUMN `val`"));
+		ArgumentCaptor<String> definitionHash = ArgumentCaptor.forClass(String.class), schemaHash = ArgumentCaptor.forClass(String.class);
+		verify(storeFingerprint).setString(eq(2), definitionHash.capture());
+		verify(storeFingerprint).setString(eq(3), schemaHash.capture());
+		verify(storeFingerprint).executeUpdate();
+		assertEquals("The fingerprint should be a SHA-256 hash", 64, definitionHash.getValue().length());
+		// Unchanged definition and schema, the auto increment counter is not part of the schema
+		doReturn(true).when(fingerprintResult).next();
+		doReturn(definitionHash.getValue()).when(fingerprintResult).getString("definition_hash");
+		doReturn(schemaHash.getValue()).when(fingerprintResult).getString("schema_hash");
+		doReturn("CREATE TABLE `test` (\n" +
+				         "  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT\n" +
+				         ") ENGINE=InnoDB AUTO_INCREMENT=42").when(mockedResultSet).getString(2);
+		validator.validate(mockedConnection, tableDefinition);
+		verify(mockedStatement, times(1)).executeUpdate(contains("ALTER TABLE"));
+		verify(storeFingerprint, times(1)).executeUpdate();
+		// Changed schema
+		doReturn("CREATE TABLE `test` (\n" +
+				         "  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT,\n" +
+				         "  `other` INT\n" +
+				         ") ENGINE=InnoDB").when(mockedResultSet).getString(2);
+		validator.validate(mockedConnection, tableDefinition);
+		verify(mockedStatement, times(2)).executeUpdate(contains("ADD COLUMN `val`"));
+		verify(storeFingerprint, times(2)).executeUpdate();
+		verify(mockedStatement, times(1)).executeUpdate(contains("CREATE TABLE IF NOT EXISTS `" + MySQLTableValidator.DEFAULT_FINGERPRINT_TABLE + "`"));
+	}
+
+	@Test
+	public void testFingerprintTableIsCreatedBeforeUse() throws SQLException
+	{
+		PreparedStatement storeFingerprint = mock(PreparedStatement.class);
+		doReturn(storeFingerprint).when(mockedConnection).prepareStatement(contains("REPLACE INTO"));
+		doThrow(new SQLException("Table 'test' doesn't exist")).doReturn(mockedResultSet).when(mockedStatement).executeQuery(anyString());
+		doReturn("CREATE TABLE `test` (\n" +
+				         "  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT\n" +
+				         ") ENGINE=InnoDB").when(mockedResultSet).getString(2);
+		@Language("SQL") String tableDefinition = "CREATE TABLE `test` (\n" +
+				"  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT\n" +
+				")";
+		new MySQLTableValidator(MySQLTableValidator.DEFAULT_FINGERPRINT_TABLE).validate(mockedConnection, tableDefinition);
+		InOrder inOrder = inOrder(mockedStatement, storeFingerprint);
+		inOrder.verify(mockedStatement).executeUpdate(contains("CREATE TABLE IF NOT EXISTS `" + MySQLTableValidator.DEFAULT_FINGERPRINT_TABLE + "`"));
+		inOrder.verify(mockedStatement).executeUpdate(tableDefinition);
+		inOrder.verify(storeFingerprint).executeUpdate();
+	}
+
+	@Test
+	public void testFingerprintTableCanNotBeCreated() throws SQLException
+	{
+		doThrow(new SQLException("No permission")).when(mockedStatement).executeUpdate(contains("CREATE TABLE IF NOT EXISTS"));
+		doReturn(false).when(mockedResultSet).next();
+		@Language("SQL") String tableDefinition = "CREATE TABLE `test` (\n" +
+				"  `id` INT(10) UNSIGNED NOT NULL AUTO_INCREMENT\n" +
+				")";
+		new MySQLTableValidator(MySQLTableValidator.DEFAULT_FINGERPRINT_TABLE).validate(mockedConnection, tableDefinition);
+		verify(mockedStatement, times(1)).executeUpdate(tableDefinition);
+		verify(mockedConnection, never()).prepareStatement(contains(MySQLTableValidator.DEFAULT_FINGERPRINT_TABLE));
+	}
+}
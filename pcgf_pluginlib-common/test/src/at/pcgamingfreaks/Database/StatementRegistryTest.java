@@ -0,0 +1,147 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Database;
+
+import at.pcgamingfreaks.Database.ConnectionProvider.LatencyHistogram;
+import at.pcgamingfreaks.Database.ConnectionProvider.PoolMetrics;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StatementRegistryTest
+{
+	@Test
+	public void testStatementReuse() throws SQLException
+	{
+		Connection physicalConnection = mock(Connection.class), pooledConnection = mock(Connection.class), otherConnection = mock(Connection.class);
+		doReturn(physicalConnection).when(pooledConnection).unwrap(Connection.class);
+		doReturn(true).when(pooledConnection).getAutoCommit();
+		PreparedStatement statement = mock(PreparedStatement.class), otherStatement = mock(PreparedStatement.class);
+		doReturn(statement).when(physicalConnection).prepareStatement(anyString());
+		doReturn(otherStatement).when(otherConnection).prepareStatement(anyString());
+		try(StatementRegistry registry = new StatementRegistry())
+		{
+			StatementRegistry.Handle update = registry.register("UPDATE `test` SET `name`=? WHERE `id`=?;");
+			assertEquals("The query should be stored", "UPDATE `test` SET `name`=? WHERE `id`=?;", update.getQuery());
+			for(int i = 0; i < 3; i++)
+			{
+				update.on(pooledConnection).setString(1, "Name").setInt(2, i).executeUpdate();
+			}
+			verify(physicalConnection, times(1)).prepareStatement(anyString());
+			verify(pooledConnection, never()).prepareStatement(anyString());
+			verify(statement, times(3)).executeUpdate();
+			verify(statement, times(2)).clearParameters();
+			verify(statement).setInt(2, 2);
+			verify(statement, never()).setObject(anyInt(), any());
+			update.on(otherConnection).setString(1, "Other").setNull(2, java.sql.Types.INTEGER).executeUpdate();
+			verify(otherConnection, times(1)).prepareStatement(anyString());
+			doReturn(true).when(statement).isClosed(); // e.g. the connection has been recycled by the pool
+			update.on(pooledConnection).executeUpdate();
+			verify(physicalConnection, times(2)).prepareStatement(anyString());
+		}
+		verify(statement).close();
+		verify(otherStatement).close();
+	}
+
+	@Test
+	public void testRowMapper() throws SQLException
+	{
+		Connection connection = mock(Connection.class);
+		PreparedStatement statement = mock(PreparedStatement.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		doReturn(statement).when(connection).prepareStatement(anyString());
+		doReturn(resultSet).when(statement).executeQuery();
+		doReturn(true, true, false, false).when(resultSet).next();
+		doReturn("A", "B").when(resultSet).getString(1);
+		StatementRegistry registry = new StatementRegistry();
+		StatementRegistry.Handle select = registry.register("SELECT `name` FROM `test`;");
+		assertEquals("All rows should be mapped", Arrays.asList("A", "B"), select.on(connection).queryList(row -> row.getString(1)));
+		assertNull("No row should be mapped to null", select.on(connection).queryFirst(row -> row.getString(1)));
+		verify(resultSet, times(2)).close();
+	}
+
+	@Test
+	public void testClosedConnectionsAreEvicted() throws SQLException
+	{
+		Connection retiredConnection = mock(Connection.class), newConnection = mock(Connection.class);
+		PreparedStatement retiredStatement = mock(PreparedStatement.class), newStatement = mock(PreparedStatement.class);
+		doReturn(retiredStatement).when(retiredConnection).prepareStatement(anyString());
+		doReturn(newStatement).when(newConnection).prepareStatement(anyString());
+		StatementRegistry registry = new StatementRegistry();
+		StatementRegistry.Handle update = registry.register("UPDATE `test` SET `name`=?;");
+		update.on(retiredConnection).executeUpdate();
+		update.on(retiredConnection).executeUpdate();
+		verify(retiredConnection, never()).isClosed();
+		doReturn(true).when(retiredConnection).isClosed(); // e.g. the pool has reached the max lifetime of the connection
+		update.on(newConnection).executeUpdate();
+		verify(retiredStatement).close();
+		verify(newStatement, never()).close();
+		update.on(retiredConnection);
+		verify(retiredConnection, times(2)).prepareStatement(anyString()); // The statements of the evicted connection are gone
+		registry.close();
+		verify(newStatement).close();
+	}
+
+	@Test
+	public void testTransactionUsesPooledConnection() throws SQLException
+	{
+		Connection physicalConnection = mock(Connection.class), pooledConnection = mock(Connection.class);
+		doReturn(physicalConnection).when(pooledConnection).unwrap(Connection.class);
+		doReturn(false).when(pooledConnection).getAutoCommit();
+		PreparedStatement pooledStatement = mock(PreparedStatement.class);
+		doReturn(pooledStatement).when(pooledConnection).prepareStatement(anyString());
+		StatementRegistry registry = new StatementRegistry();
+		StatementRegistry.Handle update = registry.register("UPDATE `test` SET `name`=?;");
+		update.on(pooledConnection).setString(1, "A").executeUpdate();
+		update.on(pooledConnection).setString(1, "B").executeUpdate();
+		verify(pooledConnection, times(2)).prepareStatement(anyString());
+		verify(physicalConnection, never()).prepareStatement(anyString());
+		verify(pooledStatement, times(2)).executeUpdate();
+	}
+
+	@Test
+	public void testStatementTimings() throws SQLException
+	{
+		Connection connection = mock(Connection.class);
+		PreparedStatement statement = mock(PreparedStatement.class);
+		doReturn(statement).when(connection).prepareStatement(anyString());
+		doReturn(mock(ResultSet.class)).when(statement).executeQuery();
+		PoolMetrics metrics = new PoolMetrics();
+		StatementRegistry registry = new StatementRegistry(metrics);
+		StatementRegistry.Handle update = registry.register("UPDATE `test` SET `name`=?;"), select = registry.register("SELECT `name` FROM `test`;");
+		update.on(connection).executeUpdate();
+		assertTrue("Nothing should be recorded while the timings are disabled", metrics.snapshot(false).getStatements().isEmpty());
+		metrics.setStatementTimings(true);
+		update.on(connection).executeUpdate();
+		update.on(connection).addBatch().executeBatch();
+		select.on(connection).queryFirst(row -> row.getString(1));
+		Map<String, LatencyHistogram.Snapshot> statements = metrics.snapshot(false).getStatements();
+		assertEquals("The updates should be recorded", 2, statements.get(update.getQuery()).getCount());
+		assertEquals("The query should be recorded", 1, statements.get(select.getQuery()).getCount());
+	}
+}
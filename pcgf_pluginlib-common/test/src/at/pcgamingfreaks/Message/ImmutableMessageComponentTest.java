@@ -0,0 +1,139 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Message;
+
+import at.pcgamingfreaks.TestClasses.TestUtils;
+import at.pcgamingfreaks.Util.PatternPreservingStringSplitter;
+
+import com.google.gson.JsonObject;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ImmutableMessageComponentTest
+{
+	private static final String JSON = "[{\"text\":\"Hello \",\"color\":\"gold\",\"bold\":true,\"extra\":[{\"text\":\"World\",\"italic\":false,\"clickEvent\":{\"action\":\"run_command\",\"value\":\"/test\"}}," +
+			"{\"text\":\"!\",\"hoverEvent\":{\"action\":\"show_text\",\"value\":[{\"text\":\"Hover\",\"color\":\"red\"}]}}]},{\"text\":\"Second\",\"color\":\"gold\",\"bold\":true}]";
+
+	@BeforeClass
+	public static void prepareTestData() throws NoSuchFieldException
+	{
+		TestUtils.initReflection();
+	}
+
+	@Test
+	public void testRoundTrip()
+	{
+		List<MessageComponent> mutable = MessageComponent.fromJson(JSON);
+		List<ImmutableMessageComponent> immutable = ImmutableMessageComponent.fromJson(JSON);
+		assertEquals("The JSON should not change when converting to an immutable component and back", MessageComponent.toJSON(mutable.toArray(new MessageComponent[0])), ImmutableMessageComponent.toJSON(immutable));
+		assertEquals("The classic message should match the one of the mutable component", mutable.get(0).getClassicMessage(), immutable.get(0).getClassicMessage());
+		assertEquals("Components created from the same JSON should be equal", immutable, ImmutableMessageComponent.fromJson(JSON));
+		assertEquals("Equal components should have the same hash", immutable.hashCode(), ImmutableMessageComponent.fromJson(JSON).hashCode());
+		assertNotEquals("Components with different texts should not be equal", immutable.get(0), immutable.get(0).withText("Bye "));
+	}
+
+	@Test
+	public void testUnusedStylesAreDropped() throws InterruptedException
+	{
+		List<MessageStyle> styles = new ArrayList<>();
+		for(int i = 0; i < 5000; i++)
+		{
+			styles.add(MessageStyle.EMPTY.withClickEvent(MessageClickEvent.ClickEventAction.RUN_COMMAND, "/player " + i));
+		}
+		assertSame("Styles should be interned while they are used", styles.get(4999), MessageStyle.EMPTY.withClickEvent(MessageClickEvent.ClickEventAction.RUN_COMMAND, "/player 4999"));
+		int interned = MessageStyle.getInternedCount();
+		assertTrue("All used styles should be interned", interned >= 5000);
+		styles.clear();
+		for(int i = 0; i < 50 && MessageStyle.getInternedCount() > interned - 5000; i++)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertTrue("Styles that are not used any more should be dropped", MessageStyle.getInternedCount() <= interned - 5000);
+		assertSame("The empty style should stay interned", MessageStyle.EMPTY, MessageStyle.intern(MessageStyle.EMPTY.withColor(null)));
+	}
+
+	@Test
+	public void testStyleInterning()
+	{
+		List<ImmutableMessageComponent> components = ImmutableMessageComponent.fromJson(JSON);
+		assertSame("Equal styles should share one instance", components.get(0).getStyle(), components.get(1).getStyle());
+		assertSame("Components without a style should use the empty style", MessageStyle.EMPTY, ImmutableMessageComponent.of(new MessageComponent("test")).getStyle());
+		MessageStyle style = MessageStyle.EMPTY.withColor(MessageColor.GOLD).withFormat(MessageFormat.BOLD, true);
+		assertSame("A style created with modifiers should be interned", components.get(0).getStyle(), style);
+		assertTrue("The style should be bold", style.isBold());
+		assertFalse("The style should not be italic", style.isItalic());
+		assertEquals("The classic formats should match", "§l§6", style.getClassicFormats());
+	}
+
+	@Test
+	public void testStyleIsEmpty()
+	{
+		assertTrue("The empty style should be empty", MessageStyle.EMPTY.isEmpty());
+		assertFalse("A style that disables a format should not be empty", MessageStyle.EMPTY.withFormat(MessageFormat.BOLD, false).isEmpty());
+		assertFalse("A style that resets the formats should not be empty", MessageStyle.EMPTY.withFormat(MessageFormat.RESET, true).isEmpty());
+		assertFalse("A component that only resets the formats should not be empty", ImmutableMessageComponent.of("", MessageStyle.EMPTY.withFormat(MessageFormat.RESET, true)).isEmpty());
+	}
+
+	@Test
+	public void testStyleHoverValueCanNotBeModified()
+	{
+		JsonObject item = new JsonObject();
+		item.addProperty("id", "minecraft:stone");
+		MessageComponent component = new MessageComponent("test");
+		component.setHoverEvent(new MessageHoverEvent(MessageHoverEvent.HoverEventAction.SHOW_ITEM, item));
+		MessageStyle style = ImmutableMessageComponent.of(component).getStyle();
+		item.addProperty("id", "minecraft:dirt");
+		((JsonObject) style.getHoverValue()).addProperty("id", "minecraft:diamond");
+		assertEquals("The style should not be changed by modifying the hover value", "minecraft:stone", ((JsonObject) style.getHoverValue()).get("id").getAsString());
+		assertSame("The style should still be shared", style, ImmutableMessageComponent.of(component.setHoverEvent(new MessageHoverEvent(MessageHoverEvent.HoverEventAction.SHOW_ITEM, (JsonObject) style.getHoverValue()))).getStyle());
+	}
+
+	@Test
+	public void testMapTextSharesUnchangedParts()
+	{
+		ImmutableMessageComponent component = ImmutableMessageComponent.fromJson(JSON).get(0);
+		assertSame("The component should be reused if no text changed", component, component.mapText(text -> text));
+		ImmutableMessageComponent mapped = component.mapText(text -> text.replace("World", "Earth"));
+		assertNotSame("The component should be copied if a text changed", component, mapped);
+		assertEquals("The text should be replaced", "Earth", mapped.getExtras().get(0).getText());
+		assertSame("Unchanged extras should be shared", component.getExtras().get(1), mapped.getExtras().get(1));
+		assertSame("The style should be shared", component.getStyle(), mapped.getStyle());
+		assertEquals("The original component should not be modified", "World", component.getExtras().get(0).getText());
+	}
+
+	@Test
+	public void testSplit()
+	{
+		PatternPreservingStringSplitter splitter = new PatternPreservingStringSplitter("\\{\\d+}");
+		ImmutableMessageComponent component = ImmutableMessageComponent.of("Value: {0} done", MessageStyle.EMPTY.withColor(MessageColor.RED));
+		MessageComponent mutable = component.toMutable();
+		mutable.split(splitter);
+		ImmutableMessageComponent split = component.split(splitter);
+		assertEquals("The split should match the one of the mutable component", mutable.toString(), split.toString());
+		ImmutableMessageComponent noPlaceholder = ImmutableMessageComponent.of("No placeholder", MessageStyle.EMPTY);
+		assertSame("The component should be reused if nothing needs to be split", noPlaceholder, noPlaceholder.split(splitter));
+		assertTrue("An empty component should be empty", ImmutableMessageComponent.of("", MessageStyle.EMPTY).isEmpty());
+	}
+}
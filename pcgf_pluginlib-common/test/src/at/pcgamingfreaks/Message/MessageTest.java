@@ -26,10 +26,13 @@
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 
 @RunWith(PowerMockRunner.class)
@@ -58,6 +61,44 @@ public void testMessage()
 		assertNotEquals("The messages should not be equal", message1, message3);
 	}
 
+	@Test
+	public void testReplaceAllLiteral()
+	{
+		TestMessage message = new TestMessage("[{\"text\":\"Hello {Name}, \\\"{Name}\\\" has {Count} points. {NameX}\"}]");
+		Map<String, String> replacements = new HashMap<>();
+		replacements.put("{Name}", "Max \"M\"");
+		replacements.put("{NameX}", "long");
+		replacements.put("{Count}", "10");
+		replacements.put("\"", "'");
+		message.replaceAll(replacements);
+		assertEquals("The JSON should contain the escaped replacements", "[{\"text\":\"Hello Max \\\"M\\\", 'Max \\\"M\\\"' has 10 points. long\"}]", message.toString());
+		assertEquals("The classic message should contain the replacements", "Hello Max \"M\", 'Max \"M\"' has 10 points. long§r", message.getClassicMessage());
+		String unchanged = message.toString();
+		message.replaceAll(new HashMap<>());
+		assertSame("The JSON should not be copied if nothing was replaced", unchanged, message.toString());
+	}
+
+	@Test
+	public void testReplaceAllLiteralKeepsJsonStructure()
+	{
+		TestMessage message = new TestMessage("[{\"text\":\"C:\\\\\"},{\"text\":\"text \\\\\\\"quoted\\\\\\\"\",\"color\":\"gray\"}]");
+		Map<String, String> replacements = new HashMap<>();
+		replacements.put("\"", "'");
+		replacements.put("text", "word");
+		replacements.put("color", "colour");
+		message.replaceAll(replacements);
+		assertEquals("Only the string values of the JSON should be modified", "[{\"text\":\"C:\\\\\"},{\"text\":\"word \\\\'quoted\\\\'\",\"color\":\"gray\"}]", message.toString());
+		assertEquals("The classic message should contain the replacements", "C:\\§r§7word \\'quoted\\'§r", message.getClassicMessage());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReplaceAllLiteralNullValue()
+	{
+		Map<String, String> replacements = new HashMap<>();
+		replacements.put("{Name}", null);
+		new TestMessage("Hello {Name}").replaceAll(replacements);
+	}
+
 	@Test
 	public void testMessageJSON()
 	{
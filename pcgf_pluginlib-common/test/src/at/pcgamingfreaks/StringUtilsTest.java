@@ -113,6 +113,14 @@ public void testArrayContainsAnyIgnoreCase()
 	public void testEscapeJsonString()
 	{
 		assertEquals("The string should be escaped correctly", "\\\\Hello \\\"World!\\\"\\\\", StringUtils.escapeJsonString("\\Hello \"World!\"\\"));
+		String unchanged = "Nothing to escape \uD83D\uDE00 äöü";
+		assertSame("The string should not be copied if nothing has to be escaped", unchanged, StringUtils.escapeJsonString(unchanged));
+		assertEquals("Control characters should be escaped", "a\\tb\\nc\\rd\\be\\ff\\u0000g\\u001f", StringUtils.escapeJsonString("a\tb\nc\rd\be\ff\u0000g\u001f"));
+		assertEquals("Surrogate pairs should be kept", "\uD83D\uDE00\\\"", StringUtils.escapeJsonString("\uD83D\uDE00\""));
+		assertEquals("Unpaired surrogates should be escaped", "a\\ud83db\\ude00\\\\", StringUtils.escapeJsonString("a\uD83Db\uDE00\\"));
+		StringBuilder builder = new StringBuilder("{\"text\":\"");
+		assertSame("The builder should be returned", builder, StringUtils.escapeJsonString("Say \"Hi\"", builder));
+		assertEquals("The escaped string should be appended", "{\"text\":\"Say \\\"Hi\\\"", builder.toString());
 	}
 
 	@Test
@@ -0,0 +1,93 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Util;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+
+import static org.junit.Assert.*;
+
+public class PluginMessageEncoderTest
+{
+	private static final String[] STRINGS = { "", "Test", "Umlaut äöü", "\u0000 null char", "Emoji 😀", "€ 3 byte" };
+
+	@Test
+	public void testCompatibleWithDataOutputStream() throws IOException
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		try(DataOutputStream out = new DataOutputStream(stream))
+		{
+			for(String string : STRINGS) out.writeUTF(string);
+			out.writeInt(-5);
+			out.writeLong(Long.MAX_VALUE);
+			out.writeBoolean(true);
+			out.writeDouble(1.5);
+		}
+		byte[] encoded;
+		try(PluginMessageEncoder encoder = PluginMessageEncoder.obtain())
+		{
+			for(String string : STRINGS) encoder.writeUTF(string);
+			encoded = encoder.writeInt(-5).writeLong(Long.MAX_VALUE).writeBoolean(true).writeDouble(1.5).toByteArray();
+		}
+		assertArrayEquals("The encoded message should match the one of the DataOutputStream", stream.toByteArray(), encoded);
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		StringBuilder longString = new StringBuilder();
+		for(int i = 0; i < 1000; i++) longString.append("Longä");
+		byte[] encoded;
+		try(PluginMessageEncoder encoder = PluginMessageEncoder.obtain())
+		{
+			encoded = encoder.writeVarInt(0).writeVarInt(300).writeVarInt(-1).writeUTF(longString.toString()).writeShort(12).writeFloat(2.5f).toByteArray();
+		}
+		PluginMessageDecoder decoder = new PluginMessageDecoder(encoded);
+		assertEquals(0, decoder.readVarInt());
+		assertEquals(300, decoder.readVarInt());
+		assertEquals(-1, decoder.readVarInt());
+		assertEquals(longString.toString(), decoder.readUTF());
+		assertEquals(12, decoder.readShort());
+		assertEquals(2.5f, decoder.readFloat(), 0);
+		assertFalse(decoder.hasRemaining());
+		PluginMessageDecoder stringDecoder = new PluginMessageDecoder(PluginMessageEncoder.encodeStrings(STRINGS));
+		assertArrayEquals("The strings should match", STRINGS, stringDecoder.readRemainingStrings());
+		try(DataInputStream in = new DataInputStream(new ByteArrayInputStream(PluginMessageEncoder.encodeStrings(STRINGS))))
+		{
+			for(String string : STRINGS) assertEquals("The DataInputStream should read the string", string, in.readUTF());
+		}
+	}
+
+	@Test(expected = BufferUnderflowException.class)
+	public void testReadPastEnd()
+	{
+		new PluginMessageDecoder(PluginMessageEncoder.encodeStrings("Test")).readRemainingStrings();
+		PluginMessageDecoder decoder = new PluginMessageDecoder(new byte[] { 0, 5, 'a' });
+		decoder.readUTF();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosed()
+	{
+		PluginMessageEncoder encoder = PluginMessageEncoder.obtain();
+		encoder.close();
+		encoder.writeInt(1);
+	}
+}
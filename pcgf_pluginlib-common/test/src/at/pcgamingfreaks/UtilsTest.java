@@ -26,7 +26,11 @@
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.*;
@@ -110,6 +114,31 @@ public void testExtract() throws Exception
 		assertEquals("There should be all warnings messages in the log", 3, logCount[1]);
 	}
 
+	@Test
+	public void testExtractFiles() throws Exception
+	{
+		File folder = Files.createTempDirectory("extract_files").toFile(), jar = new File(folder, "test.jar"), target = new File(folder, "target");
+		try(ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar)))
+		{
+			for(String name : new String[] { "lang/", "lang/en.yml", "lang/de.yml", "lang/sub/fr.yml", "langs.txt", "config.yml" })
+			{
+				zip.putNextEntry(new ZipEntry(name));
+				if(!name.endsWith("/")) zip.write(name.getBytes(StandardCharsets.UTF_8));
+				zip.closeEntry();
+			}
+		}
+		File en = new File(target, "en.yml");
+		assertTrue("The target folder should be created", target.mkdirs());
+		Files.write(en.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+		Utils.extractFiles(jar.toURI().toURL(), "lang/", target, false);
+		assertEquals("Existing files should not be overwritten", "old", new String(Files.readAllBytes(en.toPath()), StandardCharsets.UTF_8));
+		assertEquals("The file should be extracted", "lang/de.yml", new String(Files.readAllBytes(new File(target, "de.yml").toPath()), StandardCharsets.UTF_8));
+		assertEquals("Files in sub folders should be extracted", "lang/sub/fr.yml", new String(Files.readAllBytes(new File(target, "sub/fr.yml").toPath()), StandardCharsets.UTF_8));
+		assertFalse("Files outside the path should not be extracted", new File(target, "config.yml").exists() || new File(target, "s.txt").exists());
+		Utils.extractFiles(jar.toURI().toURL(), "lang/", target, true);
+		assertEquals("Existing files should be overwritten", "lang/en.yml", new String(Files.readAllBytes(en.toPath()), StandardCharsets.UTF_8));
+	}
+
 	@Test
 	public void testTryParse()
 	{
@@ -659,4 +659,28 @@ public void testIntVersions()
 		stringVersion = new Version("1.2.3");
 		assertEquals(intVersion, stringVersion);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testVersionCache()
+	{
+		assertSame("The cached version should be reused", Version.of("1.2.3"), Version.of("1.2.3"));
+		assertEquals("The cached version should equal a new version", new Version("1.2.3-beta"), Version.of("1.2.3-beta"));
+		assertTrue("The string comparison should work with cached versions", version_1_2.newerThan(VERSION_1_2_SNAPSHOT));
+	}
+
+	@Test
+	public void testPackedComparison()
+	{
+		String[] ordered = { "0-alpha", "0", "0.0.9", "0.1-beta", "0.1", "1.2.3", "1.2.3.4", "1.2.3.4.5-alpha", "1.2.3.4.5", "1.2.4-rc2", "1.2.4", "1.100000", "40000.1" };
+		for(int i = 0; i < ordered.length; i++)
+		{
+			for(int j = 0; j < ordered.length; j++)
+			{
+				Version a = new Version(ordered[i]), b = new Version(ordered[j]);
+				assertEquals(ordered[i] + " compared with " + ordered[j], Integer.signum(Integer.compare(i, j)), a.compareTo(b));
+			}
+		}
+		assertEquals("Versions with the same components should be compared by their build number", -1, new Version("1.2-SNAPSHOT-b5").compareTo(new Version("1.2-SNAPSHOT-b8")));
+		assertEquals("Trailing zeros should not be relevant", new Version("1.2.0.0.0.0"), new Version("1.2"));
+	}
+}
@@ -24,17 +24,10 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * This class is providing NMS reflection support for servers running on cauldron/uranium.
@@ -43,21 +36,15 @@
 @Deprecated
 public class NMSReflectionCauldron extends OBCReflection implements NmsReflector
 {
-	/**
-	 * Map of mc-dev simple class name to fully qualified Forge class name.
-	 */
-	private static Map<String, String> forgeClassMappings;
-	/**
-	 * Map of Forge fully qualified class names to a map from mc-dev field names to Forge field names.
-	 */
-	private static Map<String, Map<String, String>> forgeFieldMappings;
+	private static final Map<Class<?>, String> primitiveTypes = ImmutableMap.<Class<?>, String>builder().put(boolean.class, "Z").put(byte.class, "B").put(char.class, "C").put(short.class, "S").put(int.class, "I").put(long.class, "J").put(float.class, "F").put(double.class, "D").put(void.class, "V").build();
 
 	/**
-	 * Map of Forge fully qualified class names to a map from mc-dev method names to a map from method signatures to Forge method
-	 * names.
+	 * The srg mappings are only loaded on the first lookup.
 	 */
-	private static Map<String, Map<String, Map<String, String>>> forgeMethodMappings;
-	private static Map<Class<?>, String> primitiveTypes;
+	private static final class MappingsHolder
+	{
+		private static final SrgMappingIndex MAPPINGS = SrgMappingIndex.load(BUKKIT_VERSION);
+	}
 
 	static
 	{
@@ -65,74 +52,6 @@ public class NMSReflectionCauldron extends OBCReflection implements NmsReflector
 		{
 			throw new RuntimeException("Using Cauldron Reflections for non Cauldron / Uranium based server!");
 		}
-
-		final String nameseg_class = "a-zA-Z0-9$_";
-		final String fqn_class = nameseg_class + "/";
-
-		primitiveTypes = ImmutableMap.<Class<?>, String>builder().put(boolean.class, "Z").put(byte.class, "B").put(char.class, "C").put(short.class, "S").put(int.class, "I").put(long.class, "J").put(float.class, "F").put(double.class, "D").put(void.class, "V").build();
-
-		// Initialize the maps by reading the srg file
-		forgeClassMappings = new HashMap<>();
-		forgeFieldMappings = new HashMap<>();
-		forgeMethodMappings = new HashMap<>();
-		try(InputStream stream = Class.forName("net.minecraftforge.common.MinecraftForge").getClassLoader().getResourceAsStream("mappings/" + BUKKIT_VERSION + "/cb2numpkg.srg");
-		    BufferedReader reader = new BufferedReader(new InputStreamReader(stream)))
-		{
-			// 1: cb-simpleName
-			// 2: forge-fullName (Needs dir2fqn())
-			Pattern classPattern = Pattern.compile("^CL: net/minecraft/server/([" + nameseg_class + "]+) ([" + fqn_class + "]+)$");
-			// 1: cb-simpleName
-			// 2: cb-fieldName
-			// 3: forge-fullName (Needs dir2fqn())
-			// 4: forge-fieldName
-			Pattern fieldPattern = Pattern.compile("^FD: net/minecraft/server/([" + nameseg_class + "]+)/([" + nameseg_class + "]+) ([" + fqn_class + "]+)/([" + nameseg_class + "]+)$");
-			// 1: cb-simpleName
-			// 2: cb-methodName
-			// 3: cb-signature-args
-			// 4: cb-signature-ret
-			// 5: forge-fullName (Needs dir2fqn())
-			// 6: forge-methodName
-			// 7: forge-signature-args
-			// 8: forge-signature-ret
-			Pattern methodPattern = Pattern.compile("^MD: net/minecraft/server/([" + fqn_class + "]+)/([" + nameseg_class + "]+) \\(([;\\[" + fqn_class + "]*)\\)([;\\[" + fqn_class + "]+) " + "([" + fqn_class + "]+)/([" + nameseg_class + "]+) \\(([;\\[" + fqn_class + "]*)\\)([;\\[" + fqn_class + "]+)$");
-
-			String line;
-			while((line = reader.readLine()) != null)
-			{
-				Matcher classMatcher = classPattern.matcher(line);
-				if(classMatcher.matches())
-				{
-					// by CB class name
-					forgeClassMappings.put(classMatcher.group(1), classMatcher.group(2).replaceAll("/", "."));
-					continue;
-				}
-				Matcher fieldMatcher = fieldPattern.matcher(line);
-				if(fieldMatcher.matches())
-				{
-					// by CB class name
-					Map<String, String> innerMap = forgeFieldMappings.computeIfAbsent(fieldMatcher.group(3).replaceAll("/", "."), k -> new HashMap<>());
-					// by CB field name to Forge field name
-					innerMap.put(fieldMatcher.group(2), fieldMatcher.group(4));
-					continue;
-				}
-				Matcher methodMatcher = methodPattern.matcher(line);
-				if(methodMatcher.matches())
-				{
-					// get by CB class name
-					Map<String, Map<String, String>> middleMap = forgeMethodMappings.computeIfAbsent(methodMatcher.group(5).replaceAll("/", "."), k -> new HashMap<>());
-					// get by CB method name
-					Map<String, String> innerMap = middleMap.computeIfAbsent(methodMatcher.group(2), k -> new HashMap<>());
-					// store the parameter strings
-					innerMap.put(methodMatcher.group(3), methodMatcher.group(6));
-					innerMap.put(methodMatcher.group(7), methodMatcher.group(6));
-				}
-			}
-		}
-		catch(ClassNotFoundException | IOException e)
-		{
-			e.printStackTrace();
-			System.err.println("Warning: Running on Cauldron server, but couldn't load mappings file.");
-		}
 	}
 
 	/**
@@ -145,7 +64,7 @@ public class NMSReflectionCauldron extends OBCReflection implements NmsReflector
 	{
 		try
 		{
-			String forgeName = forgeClassMappings.get(className);
+			String forgeName = MappingsHolder.MAPPINGS.getClassName(className);
 			if(forgeName != null)
 			{
 				try
@@ -188,15 +107,16 @@ public static Method getNMSMethod(@Nullable Class<?> clazz, @NotNull String meth
 		if(clazz == null) return null;
 		try
 		{
-			Map<String, String> innerMap = forgeMethodMappings.get(clazz.getName()).get(methodName);
 			StringBuilder sb = new StringBuilder();
 			for(Class<?> cl : args)
 			{
 				sb.append(methodSignaturePart(cl));
 			}
-			return clazz.getMethod(innerMap.get(sb.toString()), args);
+			String forgeName = MappingsHolder.MAPPINGS.getMethodName(clazz.getName(), methodName, sb.toString());
+			if(forgeName == null) throw new NoSuchMethodException("Missing Forge mapping for " + clazz.getName() + "#" + methodName + "(" + sb + ")");
+			return clazz.getMethod(forgeName, args);
 		}
-		catch(NoSuchMethodException e)
+		catch(Exception e)
 		{
 			e.printStackTrace();
 		}
@@ -256,9 +176,12 @@ else if(param.isPrimitive())
 	{
 		try
 		{
-			return (clazz == null) ? null : clazz.getField(forgeFieldMappings.get(clazz.getName()).get(name));
+			if(clazz == null) return null;
+			String forgeName = MappingsHolder.MAPPINGS.getFieldName(clazz.getName(), name);
+			if(forgeName == null) throw new NoSuchFieldException("Missing Forge mapping for " + clazz.getName() + "#" + name);
+			return clazz.getField(forgeName);
 		}
-		catch(NoSuchFieldException ex)
+		catch(Exception ex)
 		{
 			ex.printStackTrace();
 		}
@@ -24,13 +24,9 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
@@ -39,40 +35,20 @@
 public final class NMSReflectionRemapped implements NmsReflector
 {
 	private static final Map<String, Class<?>> CLASS_MAP = new ConcurrentHashMap<>();
-	private static final Map<String, String> CLASS_NAME_MAP = new HashMap<>();
-	private static final Map<String, String> FIELD_NAME_MAP = new HashMap<>();
-	private static final Map<String, String> METHOD_NAME_MAP = new HashMap<>();
 
-	static
-	{
-		loadMappings(CLASS_NAME_MAP, "Class");
-		loadMappings(FIELD_NAME_MAP, "Field");
-		loadMappings(METHOD_NAME_MAP, "Method");
-	}
-
-	private static void loadMappings(final @NotNull Map<String, String> map, final @NotNull String type)
-	{
-		InputStream fieldMappingStream = NMSReflectionRemapped.class.getClassLoader().getResourceAsStream("mappings/" + MCVersion.CURRENT_VERSION.getIdentifier() + "/" + type + "Mappings.txt");
-		if(fieldMappingStream == null) return;
-		try(BufferedReader reader = new BufferedReader(new InputStreamReader(fieldMappingStream)))
-		{
-			String line;
-			while((line = reader.readLine()) != null)
-			{
-				if(line.startsWith("#")) continue;
-				String[] l = line.split(" ");
-				if(l.length != 2) continue;
-				map.put(l[0], l[1]);
-			}
-		}
-		catch(IOException e)
-		{
-			e.printStackTrace();
-		}
+	private static final class Index
+	{ // Holder, the index is loaded on the first lookup instead of when the reflector gets created
+		private static final NmsClassIndex INDEX = NmsClassIndex.load();
+		private static final Map<String, String> CLASS_NAME_MAP = INDEX.getClassMappings();
+		private static final Map<String, String> FIELD_NAME_MAP = INDEX.getFieldMappings();
+		private static final Map<String, String> METHOD_NAME_MAP = INDEX.getMethodMappings();
 	}
 
 	public Class<?> findClass(@NotNull String className)
 	{
+		String fullName = Index.INDEX.getClasses().get(className);
+		if(fullName != null) return Reflection.getClass(fullName);
+		if(Index.INDEX.isComplete()) return null; // The index contains all classes of the server jar, no need to scan it
 		try(ZipInputStream zipStream = new ZipInputStream(Bukkit.getServer().getClass().getProtectionDomain().getCodeSource().getLocation().openStream()))
 		{
 			ZipEntry e;
@@ -99,7 +75,7 @@ public Class<?> findClass(@NotNull String className)
 	{
 		Class<?> clazz = CLASS_MAP.get(className);
 		if(clazz != null) return clazz;
-		clazz = Reflection.getClassSilent(CLASS_NAME_MAP.getOrDefault(className, NMSReflection.NMS_CLASS_PATH + className));
+		clazz = Reflection.getClassSilent(Index.CLASS_NAME_MAP.getOrDefault(className, NMSReflection.NMS_CLASS_PATH + className));
 		if(clazz == null) clazz = findClass(className);
 		if(clazz == null) Reflection.getClass(className);
 		if(clazz != null) CLASS_MAP.put(className, clazz);
@@ -111,7 +87,7 @@ public Class<?> findClass(@NotNull String className)
 	public @Nullable Method getNmsMethod(@Nullable Class<?> clazz, @NotNull String name, @NotNull Class<?>... args)
 	{
 		if(clazz == null) return null;
-		String remapped = METHOD_NAME_MAP.get(clazz.getName() + "#" + name);
+		String remapped = Index.METHOD_NAME_MAP.get(clazz.getName() + "#" + name);
 		if(remapped != null) name = remapped;
 		return Reflection.getMethod(clazz, name, args);
 	}
@@ -121,7 +97,7 @@ public Class<?> findClass(@NotNull String className)
 	public @Nullable Field getNmsField(@Nullable Class<?> clazz, @NotNull String name)
 	{
 		if(clazz == null) return null;
-		String remapped = FIELD_NAME_MAP.get(clazz.getName() + "#" + name);
+		String remapped = Index.FIELD_NAME_MAP.get(clazz.getName() + "#" + name);
 		if(remapped != null) name = remapped;
 		return Reflection.getField(clazz, name);
 	}
@@ -139,7 +115,7 @@ public Class<?> findClass(@NotNull String className)
 	{
 		Class<?> clazz = getNmsClass(enumClass);
 		if(clazz == null) return null;
-		String remapped = FIELD_NAME_MAP.get(clazz.getName() + "#" + enumName);
+		String remapped = Index.FIELD_NAME_MAP.get(clazz.getName() + "#" + enumName);
 		if(remapped != null) enumName = remapped;
 		return Reflection.getEnum(clazz, enumName);
 	}
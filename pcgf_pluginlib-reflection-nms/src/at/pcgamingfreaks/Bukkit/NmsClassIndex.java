@@ -0,0 +1,313 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Index of the net.minecraft classes (simple name to fully qualified name) of the server jar and the name mappings shipped with the library.
+ * The index is built once for every server jar and stored in a binary file within the plugins/PCGF_PluginLib/cache folder.
+ * On later starts the file gets memory mapped and read instead of scanning the whole server jar again.
+ * The server jar is identified by its path, size, modification date and the Minecraft version, so checking the index doesn't need to read the jar.
+ * The file name contains a hash of the mapping resources, so plugins shading different versions of the library don't overwrite each others index,
+ * while plugins shading the same version share it.
+ */
+final class NmsClassIndex
+{
+	private static final int MAGIC = 0x50434e49, FORMAT_VERSION = 2; // "PCNI"
+	private static final String CLASS_PREFIX = "net/minecraft", CLASS_SUFFIX = ".class";
+	private static final String[] MAPPING_TYPES = { "Class", "Field", "Method" };
+
+	@Getter private final Map<String, String> classes = new HashMap<>(); // Simple name -> fully qualified name
+	@Getter private final Map<String, String> classMappings = new HashMap<>(), fieldMappings = new HashMap<>(), methodMappings = new HashMap<>();
+	/**
+	 * False if the server jar could not be scanned. Classes not in the index should be searched the slow way in this case.
+	 */
+	@Getter private boolean complete = false;
+
+	private NmsClassIndex() {}
+
+	/**
+	 * Loads the index of the running server. Builds (and stores) it if there is no valid index file.
+	 *
+	 * @return The index for the running server.
+	 */
+	static @NotNull NmsClassIndex load()
+	{
+		return load(getJarFile(Bukkit.getServer().getClass()), new File(Bukkit.getUpdateFolderFile().getParentFile(), "PCGF_PluginLib" + File.separator + "cache"),
+		            MCVersion.CURRENT_VERSION.getIdentifier(), NmsClassIndex.class.getClassLoader());
+	}
+
+	/**
+	 * Loads the index for a server jar. Builds (and stores) it if there is no valid index file.
+	 *
+	 * @param serverJar The jar of the server. Null if it is unknown, only the mappings will be loaded in this case.
+	 * @param cacheFolder The folder in which the index file is stored.
+	 * @param mcVersion The identifier of the Minecraft version, used to find the mapping resources.
+	 * @param resourceLoader The class loader providing the mapping resources.
+	 * @return The index for the server jar.
+	 */
+	static @NotNull NmsClassIndex load(final @Nullable File serverJar, final @NotNull File cacheFolder, final @NotNull String mcVersion, final @NotNull ClassLoader resourceLoader)
+	{
+		NmsClassIndex index = new NmsClassIndex();
+		byte[][] mappingResources = readMappingResources(resourceLoader, mcVersion);
+		if(serverJar == null)
+		{
+			index.loadMappings(mappingResources);
+			return index;
+		}
+		long fingerprint = calculateFingerprint(serverJar, mcVersion), resourceHash = hashResources(mappingResources);
+		File indexFile = new File(cacheFolder, "nms_index_" + mcVersion + "_" + Long.toHexString(resourceHash) + ".bin");
+		if(indexFile.isFile() && index.read(indexFile, fingerprint, resourceHash)) return index;
+		index.clear();
+		index.loadMappings(mappingResources);
+		try
+		{
+			index.scanJar(serverJar);
+			index.write(indexFile, fingerprint, resourceHash);
+		}
+		catch(IOException e)
+		{
+			System.out.println("Failed to load NMS class index! " + e.getMessage());
+			if(!index.complete)
+			{
+				index.clear();
+				index.loadMappings(mappingResources);
+			}
+		}
+		return index;
+	}
+
+	private static @Nullable File getJarFile(final @NotNull Class<?> clazz)
+	{
+		try
+		{
+			URL location = clazz.getProtectionDomain().getCodeSource().getLocation();
+			File file = new File(location.toURI());
+			return file.isFile() ? file : null;
+		}
+		catch(Exception ignored) {}
+		return null;
+	}
+
+	/**
+	 * Identifies the server jar without reading it.
+	 */
+	private static long calculateFingerprint(final @NotNull File serverJar, final @NotNull String mcVersion)
+	{
+		long fingerprint = serverJar.getAbsolutePath().hashCode();
+		fingerprint = fingerprint * 31 + serverJar.length();
+		fingerprint = fingerprint * 31 + serverJar.lastModified();
+		return fingerprint * 31 + mcVersion.hashCode();
+	}
+
+	private static long hashResources(final @NotNull byte[][] resources)
+	{
+		CRC32 crc = new CRC32();
+		for(byte[] resource : resources)
+		{
+			if(resource == null) crc.update(0);
+			else
+			{
+				crc.update(1);
+				crc.update(resource);
+			}
+		}
+		return crc.getValue();
+	}
+
+	private void clear()
+	{
+		classes.clear();
+		classMappings.clear();
+		fieldMappings.clear();
+		methodMappings.clear();
+		complete = false;
+	}
+
+	private static @NotNull byte[][] readMappingResources(final @NotNull ClassLoader resourceLoader, final @NotNull String mcVersion)
+	{
+		byte[][] resources = new byte[MAPPING_TYPES.length][];
+		for(int i = 0; i < MAPPING_TYPES.length; i++)
+		{
+			try(InputStream mappingStream = resourceLoader.getResourceAsStream("mappings/" + mcVersion + "/" + MAPPING_TYPES[i] + "Mappings.txt"))
+			{
+				if(mappingStream == null) continue;
+				ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+				byte[] buffer = new byte[8192];
+				int read;
+				while((read = mappingStream.read(buffer)) > 0)
+				{
+					outputStream.write(buffer, 0, read);
+				}
+				resources[i] = outputStream.toByteArray();
+			}
+			catch(IOException e)
+			{
+				e.printStackTrace();
+			}
+		}
+		return resources;
+	}
+
+	private void loadMappings(final @NotNull byte[][] mappingResources)
+	{
+		loadMappings(classMappings, mappingResources[0]);
+		loadMappings(fieldMappings, mappingResources[1]);
+		loadMappings(methodMappings, mappingResources[2]);
+	}
+
+	private static void loadMappings(final @NotNull Map<String, String> map, final @Nullable byte[] mappingResource)
+	{
+		if(mappingResource == null) return;
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(mappingResource), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while((line = reader.readLine()) != null)
+			{
+				if(line.startsWith("#")) continue;
+				String[] l = line.split(" ");
+				if(l.length != 2) continue;
+				map.put(l[0], l[1]);
+			}
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	private void scanJar(final @NotNull File serverJar) throws IOException
+	{
+		try(ZipInputStream zipStream = new ZipInputStream(new BufferedInputStream(new FileInputStream(serverJar))))
+		{
+			ZipEntry entry;
+			while((entry = zipStream.getNextEntry()) != null)
+			{
+				String name = entry.getName();
+				if(!name.startsWith(CLASS_PREFIX) || !name.endsWith(CLASS_SUFFIX)) continue;
+				name = name.substring(0, name.length() - CLASS_SUFFIX.length());
+				// The first class with a simple name wins, the same way the jar scan it replaces did
+				classes.putIfAbsent(name.substring(name.lastIndexOf('/') + 1), name.replace('/', '.'));
+			}
+		}
+		complete = true;
+	}
+
+	//region binary file
+	private boolean read(final @NotNull File indexFile, final long fingerprint, final long resourceHash)
+	{
+		try(FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ))
+		{
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != fingerprint || buffer.getLong() != resourceHash) return false;
+			readMap(buffer, classes);
+			readMap(buffer, classMappings);
+			readMap(buffer, fieldMappings);
+			readMap(buffer, methodMappings);
+			complete = true;
+			return true;
+		}
+		catch(Exception e)
+		{ // Corrupt or incompatible file, it will be rebuilt
+			return false;
+		}
+	}
+
+	private static void readMap(final @NotNull ByteBuffer buffer, final @NotNull Map<String, String> map)
+	{
+		int size = buffer.getInt();
+		for(int i = 0; i < size; i++)
+		{
+			map.put(readString(buffer), readString(buffer));
+		}
+	}
+
+	private static @NotNull String readString(final @NotNull ByteBuffer buffer)
+	{
+		byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private void write(final @NotNull File indexFile, final long fingerprint, final long resourceHash) throws IOException
+	{
+		File folder = indexFile.getParentFile();
+		if(!folder.isDirectory() && !folder.mkdirs()) throw new IOException("Failed to create folder " + folder);
+		// Other plugins shading the library might write the same file at the same time, write to a temp file and move it into place
+		File tempFile = File.createTempFile(indexFile.getName(), ".tmp", folder);
+		try(DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))
+		{
+			outputStream.writeInt(MAGIC);
+			outputStream.writeInt(FORMAT_VERSION);
+			outputStream.writeLong(fingerprint);
+			outputStream.writeLong(resourceHash);
+			writeMap(outputStream, classes);
+			writeMap(outputStream, classMappings);
+			writeMap(outputStream, fieldMappings);
+			writeMap(outputStream, methodMappings);
+		}
+		try
+		{
+			Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch(AtomicMoveNotSupportedException ignored)
+		{
+			Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	private static void writeMap(final @NotNull DataOutputStream outputStream, final @NotNull Map<String, String> map) throws IOException
+	{
+		outputStream.writeInt(map.size());
+		for(Map.Entry<String, String> entry : map.entrySet())
+		{
+			writeString(outputStream, entry.getKey());
+			writeString(outputStream, entry.getValue());
+		}
+	}
+
+	private static void writeString(final @NotNull DataOutputStream outputStream, final @NotNull String string) throws IOException
+	{
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		outputStream.writeShort(bytes.length);
+		outputStream.write(bytes);
+	}
+	//endregion
+}
@@ -0,0 +1,311 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted, binary searchable index of the srg mappings used on Cauldron/Uranium servers.
+ * The srg file is only parsed when the index is built. The index is stored within the plugins/PCGF_PluginLib/cache folder
+ * and memory mapped on later starts. Lookups binary search the mapped data, so only the entries that are actually used get decoded.
+ * <p>
+ * Keys: "C" + mc-dev simple class name, "F" + forge class name + "#" + mc-dev field name
+ * and "M" + forge class name + "#" + mc-dev method name + "#" + parameter signature.
+ */
+final class SrgMappingIndex
+{
+	private static final int MAGIC = 0x50435352, FORMAT_VERSION = 1, HEADER_SIZE = 20; // "PCSR"
+	private static final SrgMappingIndex EMPTY = new SrgMappingIndex(ByteBuffer.wrap(new byte[0]), 0);
+
+	private final ByteBuffer data;
+	private final int count;
+
+	private SrgMappingIndex(final @NotNull ByteBuffer data, final int count)
+	{
+		this.data = data;
+		this.count = count;
+	}
+
+	/**
+	 * Loads the index from the cache or builds it from the srg file.
+	 *
+	 * @param bukkitVersion The bukkit version for which the mappings should be loaded.
+	 * @return The index. An empty index if the mappings could not be loaded.
+	 */
+	static @NotNull SrgMappingIndex load(final @NotNull String bukkitVersion)
+	{
+		URL srgUrl;
+		try
+		{
+			srgUrl = Class.forName("net.minecraftforge.common.MinecraftForge").getClassLoader().getResource("mappings/" + bukkitVersion + "/cb2numpkg.srg");
+			if(srgUrl == null) throw new FileNotFoundException("mappings/" + bukkitVersion + "/cb2numpkg.srg");
+		}
+		catch(ClassNotFoundException | IOException e)
+		{
+			e.printStackTrace();
+			System.err.println("Warning: Running on Cauldron server, but couldn't load mappings file.");
+			return EMPTY;
+		}
+		try
+		{
+			URLConnection connection = srgUrl.openConnection();
+			long fingerprint = (srgUrl.toString().hashCode() * 31L + connection.getContentLengthLong()) * 31L + connection.getLastModified();
+			File indexFile = new File(new File(Bukkit.getUpdateFolderFile().getParentFile(), "PCGF_PluginLib" + File.separator + "cache"), "srg_index_" + bukkitVersion + ".bin");
+			SrgMappingIndex index = indexFile.isFile() ? read(indexFile, fingerprint) : null;
+			if(index != null) return index;
+			byte[] indexData;
+			try(BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream())))
+			{
+				indexData = build(reader, fingerprint);
+			}
+			try
+			{
+				write(indexFile, indexData);
+			}
+			catch(IOException e)
+			{
+				System.out.println("Failed to store srg mapping index! " + e.getMessage());
+			}
+			return wrap(indexData);
+		}
+		catch(IOException e)
+		{
+			e.printStackTrace();
+			System.err.println("Warning: Running on Cauldron server, but couldn't load mappings file.");
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Creates an index backed by the data created by {@link #build(BufferedReader, long)}.
+	 */
+	static @NotNull SrgMappingIndex wrap(final byte[] indexData)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(indexData);
+		buffer.position(HEADER_SIZE - 4);
+		return new SrgMappingIndex(buffer, buffer.getInt());
+	}
+
+	//region lookups
+	public @Nullable String getClassName(final @NotNull String mcDevClassName)
+	{
+		return get("C" + mcDevClassName);
+	}
+
+	public @Nullable String getFieldName(final @NotNull String forgeClassName, final @NotNull String mcDevFieldName)
+	{
+		return get("F" + forgeClassName + "#" + mcDevFieldName);
+	}
+
+	public @Nullable String getMethodName(final @NotNull String forgeClassName, final @NotNull String mcDevMethodName, final @NotNull String parameterSignature)
+	{
+		return get("M" + forgeClassName + "#" + mcDevMethodName + "#" + parameterSignature);
+	}
+
+	private @Nullable String get(final @NotNull String key)
+	{
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int low = 0, high = count - 1;
+		while(low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			int entryOffset = data.getInt(HEADER_SIZE + mid * 4);
+			int cmp = compareKey(entryOffset, keyBytes);
+			if(cmp < 0) low = mid + 1;
+			else if(cmp > 0) high = mid - 1;
+			else
+			{
+				int valueOffset = entryOffset + 2 + (data.getShort(entryOffset) & 0xFFFF);
+				byte[] value = new byte[data.getShort(valueOffset) & 0xFFFF];
+				for(int i = 0; i < value.length; i++)
+				{
+					value[i] = data.get(valueOffset + 2 + i);
+				}
+				return new String(value, StandardCharsets.UTF_8);
+			}
+		}
+		return null;
+	}
+
+	private int compareKey(final int entryOffset, final byte[] key)
+	{
+		int length = data.getShort(entryOffset) & 0xFFFF, min = Math.min(length, key.length);
+		for(int i = 0; i < min; i++)
+		{
+			int cmp = (data.get(entryOffset + 2 + i) & 0xFF) - (key[i] & 0xFF);
+			if(cmp != 0) return cmp;
+		}
+		return length - key.length;
+	}
+	//endregion
+
+	//region index building
+	static byte[] build(final @NotNull BufferedReader reader, final long fingerprint) throws IOException
+	{
+		// The names only contain ascii characters, so the natural string order equals the byte order used for the lookups
+		Map<String, String> entries = new TreeMap<>();
+		final String nameseg_class = "a-zA-Z0-9$_";
+		final String fqn_class = nameseg_class + "/";
+		// 1: cb-simpleName
+		// 2: forge-fullName (Needs dir2fqn())
+		Pattern classPattern = Pattern.compile("^CL: net/minecraft/server/([" + nameseg_class + "]+) ([" + fqn_class + "]+)$");
+		// 1: cb-simpleName
+		// 2: cb-fieldName
+		// 3: forge-fullName (Needs dir2fqn())
+		// 4: forge-fieldName
+		Pattern fieldPattern = Pattern.compile("^FD: net/minecraft/server/([" + nameseg_class + "]+)/([" + nameseg_class + "]+) ([" + fqn_class + "]+)/([" + nameseg_class + "]+)$");
+		// 1: cb-simpleName
+		// 2: cb-methodName
+		// 3: cb-signature-args
+		// 4: cb-signature-ret
+		// 5: forge-fullName (Needs dir2fqn())
+		// 6: forge-methodName
+		// 7: forge-signature-args
+		// 8: forge-signature-ret
+		Pattern methodPattern = Pattern.compile("^MD: net/minecraft/server/([" + fqn_class + "]+)/([" + nameseg_class + "]+) \\(([;\\[" + fqn_class + "]*)\\)([;\\[" + fqn_class + "]+) " + "([" + fqn_class + "]+)/([" + nameseg_class + "]+) \\(([;\\[" + fqn_class + "]*)\\)([;\\[" + fqn_class + "]+)$");
+
+		String line;
+		while((line = reader.readLine()) != null)
+		{
+			Matcher classMatcher = classPattern.matcher(line);
+			if(classMatcher.matches())
+			{
+				entries.put("C" + classMatcher.group(1), classMatcher.group(2).replace('/', '.'));
+				continue;
+			}
+			Matcher fieldMatcher = fieldPattern.matcher(line);
+			if(fieldMatcher.matches())
+			{
+				entries.put("F" + fieldMatcher.group(3).replace('/', '.') + "#" + fieldMatcher.group(2), fieldMatcher.group(4));
+				continue;
+			}
+			Matcher methodMatcher = methodPattern.matcher(line);
+			if(methodMatcher.matches())
+			{
+				String prefix = "M" + methodMatcher.group(5).replace('/', '.') + "#" + methodMatcher.group(2) + "#";
+				entries.put(prefix + methodMatcher.group(3), methodMatcher.group(6));
+				entries.put(prefix + methodMatcher.group(7), methodMatcher.group(6));
+			}
+		}
+
+		ByteArrayOutputStream entryData = new ByteArrayOutputStream(entries.size() * 64);
+		DataOutputStream entryOutput = new DataOutputStream(entryData);
+		int[] offsets = new int[entries.size()];
+		int i = 0, dataStart = HEADER_SIZE + entries.size() * 4;
+		for(Map.Entry<String, String> entry : entries.entrySet())
+		{
+			offsets[i++] = dataStart + entryOutput.size();
+			writeString(entryOutput, entry.getKey());
+			writeString(entryOutput, entry.getValue());
+		}
+		ByteArrayOutputStream result = new ByteArrayOutputStream(dataStart + entryData.size());
+		DataOutputStream output = new DataOutputStream(result);
+		output.writeInt(MAGIC);
+		output.writeInt(FORMAT_VERSION);
+		output.writeLong(fingerprint);
+		output.writeInt(offsets.length);
+		for(int offset : offsets)
+		{
+			output.writeInt(offset);
+		}
+		entryData.writeTo(output);
+		return result.toByteArray();
+	}
+
+	private static void writeString(final @NotNull DataOutputStream outputStream, final @NotNull String string) throws IOException
+	{
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		outputStream.writeShort(bytes.length);
+		outputStream.write(bytes);
+	}
+	//endregion
+
+	//region cache file
+	static @Nullable SrgMappingIndex read(final @NotNull File indexFile, final long fingerprint)
+	{
+		try(FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ))
+		{
+			// The mapping stays valid after the channel has been closed
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != fingerprint) return null;
+			int count = buffer.getInt();
+			if(count < 0 || HEADER_SIZE + count * 4L > buffer.capacity() || !isValid(buffer, count)) return null;
+			return new SrgMappingIndex(buffer, count);
+		}
+		catch(Exception e)
+		{ // Corrupt or incompatible file, it will be rebuilt
+			return null;
+		}
+	}
+
+	/**
+	 * Checks that all entries referenced by the offset table are within the buffer, so lookups can't fail on a corrupt file.
+	 */
+	private static boolean isValid(final @NotNull ByteBuffer buffer, final int count)
+	{
+		final long dataStart = HEADER_SIZE + count * 4L, capacity = buffer.capacity();
+		for(int i = 0; i < count; i++)
+		{
+			long entryOffset = buffer.getInt(HEADER_SIZE + i * 4);
+			if(entryOffset < dataStart || entryOffset + 2 > capacity) return false;
+			long valueOffset = entryOffset + 2 + (buffer.getShort((int) entryOffset) & 0xFFFF);
+			if(valueOffset + 2 > capacity) return false;
+			if(valueOffset + 2 + (buffer.getShort((int) valueOffset) & 0xFFFF) > capacity) return false;
+		}
+		return true;
+	}
+
+	static void write(final @NotNull File indexFile, final byte[] indexData) throws IOException
+	{
+		File folder = indexFile.getParentFile();
+		if(!folder.isDirectory() && !folder.mkdirs()) throw new IOException("Failed to create folder " + folder);
+		// Other plugins shading the library might write the same file at the same time, write to a temp file and move it into place
+		File tempFile = File.createTempFile(indexFile.getName(), ".tmp", folder);
+		try
+		{
+			Files.write(tempFile.toPath(), indexData);
+			try
+			{
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException ignored)
+			{
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+	//endregion
+}
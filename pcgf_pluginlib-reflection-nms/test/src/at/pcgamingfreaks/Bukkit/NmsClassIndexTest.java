@@ -0,0 +1,126 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class NmsClassIndexTest
+{
+	private static final String VERSION = "1_18_2";
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void writeJar(final File jar, final String... classes) throws IOException
+	{
+		try(ZipOutputStream zipStream = new ZipOutputStream(new FileOutputStream(jar)))
+		{
+			for(String clazz : classes)
+			{
+				zipStream.putNextEntry(new ZipEntry(clazz + ".class"));
+				zipStream.closeEntry();
+			}
+			zipStream.putNextEntry(new ZipEntry("org/bukkit/Ignored.class"));
+			zipStream.closeEntry();
+		}
+	}
+
+	private ClassLoader createResourceLoader(final String name, final String classMappings) throws IOException
+	{
+		File resources = folder.newFolder(name);
+		File mappingsFolder = new File(resources, "mappings/" + VERSION);
+		assertTrue(mappingsFolder.mkdirs());
+		Files.write(new File(mappingsFolder, "ClassMappings.txt").toPath(), classMappings.getBytes(StandardCharsets.UTF_8));
+		Files.write(new File(mappingsFolder, "FieldMappings.txt").toPath(), "# Comment\nnet.minecraft.server.Entity#world level\n".getBytes(StandardCharsets.UTF_8));
+		return new URLClassLoader(new URL[] { resources.toURI().toURL() }, null);
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		File serverJar = folder.newFile("server.jar"), cache = new File(folder.getRoot(), "cache");
+		writeJar(serverJar, "net/minecraft/server/Entity", "net/minecraft/world/level/Level");
+		long lastModified = serverJar.lastModified();
+		ClassLoader resources = createResourceLoader("resources", "EntityPlayer net.minecraft.server.level.EntityPlayer\n");
+		NmsClassIndex index = NmsClassIndex.load(serverJar, cache, VERSION, resources);
+		assertTrue("The index should be complete", index.isComplete());
+		assertEquals("net.minecraft.world.level.Level", index.getClasses().get("Level"));
+		assertEquals(2, index.getClasses().size());
+		assertEquals("net.minecraft.server.level.EntityPlayer", index.getClassMappings().get("EntityPlayer"));
+		assertEquals("level", index.getFieldMappings().get("net.minecraft.server.Entity#world"));
+		assertTrue("No method mappings should be loaded", index.getMethodMappings().isEmpty());
+		File[] indexFiles = cache.listFiles();
+		assertNotNull(indexFiles);
+		assertEquals("The index should be stored", 1, indexFiles.length);
+
+		// Same size and modification date, the jar should not be scanned again
+		writeJar(serverJar, "net/minecraft/server/Entity", "net/minecraft/world/level/Other");
+		assertTrue(serverJar.setLastModified(lastModified));
+		NmsClassIndex cached = NmsClassIndex.load(serverJar, cache, VERSION, resources);
+		assertTrue("The index read from the file should be complete", cached.isComplete());
+		assertEquals("The index should be read from the file", index.getClasses(), cached.getClasses());
+		assertEquals(index.getClassMappings(), cached.getClassMappings());
+		assertEquals(index.getFieldMappings(), cached.getFieldMappings());
+	}
+
+	@Test
+	public void testInvalidation() throws IOException
+	{
+		File serverJar = folder.newFile("server.jar"), cache = new File(folder.getRoot(), "cache");
+		writeJar(serverJar, "net/minecraft/server/Entity");
+		ClassLoader resources = createResourceLoader("resources", "EntityPlayer net.minecraft.server.level.EntityPlayer\n");
+		NmsClassIndex.load(serverJar, cache, VERSION, resources);
+
+		// A changed server jar has to be scanned again
+		writeJar(serverJar, "net/minecraft/server/Entity", "net/minecraft/server/World");
+		assertTrue(serverJar.setLastModified(serverJar.lastModified() + 10000));
+		NmsClassIndex index = NmsClassIndex.load(serverJar, cache, VERSION, resources);
+		assertTrue("The new class should be found", index.getClasses().containsKey("World"));
+
+		// Other mapping resources (e.g. a plugin shading another library version) should use their own file and not replace the existing one
+		ClassLoader otherResources = createResourceLoader("otherResources", "EntityPlayer net.minecraft.server.level.ServerPlayer\n");
+		NmsClassIndex other = NmsClassIndex.load(serverJar, cache, VERSION, otherResources);
+		assertEquals("net.minecraft.server.level.ServerPlayer", other.getClassMappings().get("EntityPlayer"));
+		File[] indexFiles = cache.listFiles();
+		assertNotNull(indexFiles);
+		assertEquals("Every resource set should have its own index file", 2, indexFiles.length);
+		assertEquals("net.minecraft.server.level.EntityPlayer", NmsClassIndex.load(serverJar, cache, VERSION, resources).getClassMappings().get("EntityPlayer"));
+
+		// Corrupt files are rebuilt
+		for(File indexFile : indexFiles)
+		{
+			Files.write(indexFile.toPath(), new byte[] { 1, 2, 3 });
+		}
+		index = NmsClassIndex.load(serverJar, cache, VERSION, resources);
+		assertTrue("The index should be rebuilt", index.isComplete());
+		assertTrue(index.getClasses().containsKey("World"));
+	}
+}
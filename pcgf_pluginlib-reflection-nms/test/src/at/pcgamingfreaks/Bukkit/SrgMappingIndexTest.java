@@ -0,0 +1,112 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SrgMappingIndexTest
+{
+	private static final String SRG = "PK: net/minecraft/server net/minecraft\n" +
+			"CL: net/minecraft/server/Entity net/minecraft/entity/Entity\n" +
+			"CL: net/minecraft/server/World net/minecraft/world/World\n" +
+			"CL: net/minecraft/server/AxisAlignedBB net/minecraft/util/AxisAlignedBB\n" +
+			"FD: net/minecraft/server/Entity/world net/minecraft/entity/Entity/field_70170_p\n" +
+			"FD: net/minecraft/server/World/players net/minecraft/world/World/field_73010_i\n" +
+			"MD: net/minecraft/server/Entity/die ()V net/minecraft/entity/Entity/func_70106_y ()V\n" +
+			"MD: net/minecraft/server/Entity/setPosition (DDD)V net/minecraft/entity/Entity/func_70107_b (DDD)V\n" +
+			"MD: net/minecraft/server/World/getEntity (I)Lnet/minecraft/server/Entity; net/minecraft/world/World/func_73045_a (I)Lnet/minecraft/entity/Entity;\n";
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void assertLookups(final SrgMappingIndex index)
+	{
+		assertEquals("net.minecraft.entity.Entity", index.getClassName("Entity"));
+		assertEquals("net.minecraft.util.AxisAlignedBB", index.getClassName("AxisAlignedBB"));
+		assertEquals("net.minecraft.world.World", index.getClassName("World"));
+		assertNull("Keys before the first entry should not be found", index.getClassName("AAA"));
+		assertNull("Keys after the last entry should not be found", index.getClassName("ZZZ"));
+		assertNull("Prefixes of keys should not be found", index.getClassName("Ent"));
+		assertEquals("field_70170_p", index.getFieldName("net.minecraft.entity.Entity", "world"));
+		assertEquals("field_73010_i", index.getFieldName("net.minecraft.world.World", "players"));
+		assertNull(index.getFieldName("net.minecraft.world.World", "world"));
+		assertEquals("func_70106_y", index.getMethodName("net.minecraft.entity.Entity", "die", ""));
+		assertEquals("func_70107_b", index.getMethodName("net.minecraft.entity.Entity", "setPosition", "DDD"));
+		assertEquals("The method should be found with the craftbukkit signature", "func_73045_a", index.getMethodName("net.minecraft.world.World", "getEntity", "I"));
+		assertNull(index.getMethodName("net.minecraft.entity.Entity", "setPosition", "DD"));
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		byte[] data = SrgMappingIndex.build(new BufferedReader(new StringReader(SRG)), 42);
+		assertLookups(SrgMappingIndex.wrap(data));
+		File indexFile = new File(folder.getRoot(), "cache/srg_index_test.bin");
+		SrgMappingIndex.write(indexFile, data);
+		SrgMappingIndex index = SrgMappingIndex.read(indexFile, 42);
+		assertNotNull("The index should be read from the file", index);
+		assertLookups(index);
+		SrgMappingIndex.write(indexFile, data); // Replacing an existing file
+		assertNotNull(SrgMappingIndex.read(indexFile, 42));
+	}
+
+	@Test
+	public void testInvalidIndexFile() throws IOException
+	{
+		File indexFile = new File(folder.getRoot(), "srg_index_test.bin");
+		SrgMappingIndex.write(indexFile, SrgMappingIndex.build(new BufferedReader(new StringReader(SRG)), 42));
+		assertNull("An index with another fingerprint should not be used", SrgMappingIndex.read(indexFile, 43));
+		byte[] original = Files.readAllBytes(indexFile.toPath()), data = original.clone();
+		Files.write(indexFile.toPath(), Arrays.copyOf(data, 12));
+		assertNull("A truncated index should not be used", SrgMappingIndex.read(indexFile, 42));
+		data[0] = 0;
+		Files.write(indexFile.toPath(), data);
+		assertNull("A file with a wrong magic value should not be used", SrgMappingIndex.read(indexFile, 42));
+		data[0] = original[0];
+		ByteBuffer.wrap(data).putInt(20, data.length - 1); // Offset of the first entry pointing to the end of the file
+		Files.write(indexFile.toPath(), data);
+		assertNull("An index with an offset outside of the file should not be used", SrgMappingIndex.read(indexFile, 42));
+		data = original.clone();
+		ByteBuffer.wrap(data).putInt(20, 8); // Offset of the first entry pointing into the header
+		Files.write(indexFile.toPath(), data);
+		assertNull("An index with an offset outside of the entry area should not be used", SrgMappingIndex.read(indexFile, 42));
+		data = original.clone();
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		int lastEntry = buffer.getInt(20 + (buffer.getInt(16) - 1) * 4);
+		buffer.putShort(lastEntry + 2 + buffer.getShort(lastEntry), (short) 100); // Length of the last value exceeding the file
+		Files.write(indexFile.toPath(), data);
+		assertNull("An index with an entry exceeding the file should not be used", SrgMappingIndex.read(indexFile, 42));
+		Files.write(indexFile.toPath(), Arrays.copyOf(original, original.length - 4));
+		assertNull("An index with a truncated entry area should not be used", SrgMappingIndex.read(indexFile, 42));
+		Files.write(indexFile.toPath(), original);
+		assertNotNull("The unmodified index should still be valid", SrgMappingIndex.read(indexFile, 42));
+		SrgMappingIndex empty = SrgMappingIndex.wrap(SrgMappingIndex.build(new BufferedReader(new StringReader("")), 42));
+		assertNull("An empty index should not find anything", empty.getClassName("Entity"));
+	}
+}
@@ -0,0 +1,607 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates typed and cached accessors for fields, methods and constructors.
+ * The accessors are backed by {@link MethodHandle}s that are adapted to a fixed shape once, so using them does not need the access checks,
+ * the accessibility toggling or (for up to two parameters) the argument array of the {@link Reflection} helpers.
+ * Accessors are resolved once per member and shared, failures are reported once through the configured logger and result in null being returned.
+ * The cached accessors don't prevent the classes they belong to from being unloaded.
+ */
+public final class ReflectionAccessors
+{
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	// The accessors are stored with the class they belong to, so caching them doesn't keep the classes (and their class loaders) from being unloaded
+	private static volatile ClassValue<Map<Object, Object>> cache = newCache();
+	private static final Object[] NO_ARGS = new Object[0];
+	private static final Object NOT_FOUND = new Object(); // Cached for members that could not be resolved, so the lookup and the warning are not repeated
+
+	/**
+	 * The logger used to report members that could not be resolved.
+	 */
+	@Getter @Setter private static @NotNull Logger logger = Logger.getLogger(ReflectionAccessors.class.getName());
+
+	private ReflectionAccessors() {}
+
+	//region accessor interfaces
+	public interface FieldAccessor<T>
+	{
+		/**
+		 * @param instance The object from which the value should be read. Ignored for static fields.
+		 * @return The value of the field.
+		 */
+		T get(@Nullable Object instance);
+
+		/**
+		 * @param instance The object on which the value should be set. Ignored for static fields.
+		 * @param value The new value of the field.
+		 * @throws UnsupportedOperationException If the field is final.
+		 */
+		void set(@Nullable Object instance, @Nullable T value);
+
+		@NotNull Field getField();
+	}
+
+	public interface MethodInvoker<R>
+	{
+		/**
+		 * Invokes the method. Exceptions thrown by the method are rethrown unchanged if they are unchecked,
+		 * checked exceptions are wrapped into an {@link UndeclaredThrowableException}.
+		 *
+		 * @param instance The object on which the method should be invoked. Ignored for static methods.
+		 * @param args The arguments for the method.
+		 * @return The return value of the method. null for void methods.
+		 */
+		R invoke(@Nullable Object instance, @Nullable Object... args);
+
+		R invoke(@Nullable Object instance);
+
+		R invoke(@Nullable Object instance, @Nullable Object arg);
+
+		R invoke(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2);
+
+		@NotNull Method getMethod();
+	}
+
+	public interface ConstructorInvoker<T>
+	{
+		/**
+		 * Creates a new instance. Exceptions thrown by the constructor are handled the same way as in {@link MethodInvoker#invoke(Object, Object...)}.
+		 *
+		 * @param args The arguments for the constructor.
+		 * @return The new instance.
+		 */
+		@NotNull T newInstance(@Nullable Object... args);
+
+		@NotNull T newInstance();
+
+		@NotNull T newInstance(@Nullable Object arg);
+
+		@NotNull Constructor<T> getConstructor();
+	}
+	//endregion
+
+	//region factories
+	/**
+	 * Gets an accessor for a field of a class or one of its parent classes.
+	 *
+	 * @param clazz The class containing the field.
+	 * @param name The name of the field.
+	 * @param <T> The type of the field.
+	 * @return The accessor for the field. Null if the field was not found.
+	 */
+	public static @Nullable <T> FieldAccessor<T> fieldAccessor(final @NotNull Class<?> clazz, final @NotNull String name)
+	{
+		MemberKey key = new MemberKey(name, null);
+		Map<Object, Object> classCache = cache.get(clazz);
+		Object cached = classCache.get(key);
+		if(cached == null)
+		{
+			Field field = null;
+			for(Class<?> c = clazz; c != null && field == null; c = c.getSuperclass())
+			{
+				try
+				{
+					field = c.getDeclaredField(name);
+				}
+				catch(NoSuchFieldException ignored) {}
+			}
+			if(field == null)
+			{
+				logFailure("field", clazz, name, null, null);
+				cached = NOT_FOUND;
+			}
+			else
+			{
+				cached = fieldAccessor(field);
+				if(cached == null) cached = NOT_FOUND;
+			}
+			Object previous = classCache.putIfAbsent(key, cached);
+			if(previous != null) cached = previous;
+		}
+		if(cached == NOT_FOUND) return null;
+		//noinspection unchecked
+		return (FieldAccessor<T>) cached;
+	}
+
+	/**
+	 * Gets an accessor for a field.
+	 *
+	 * @param field The field.
+	 * @param <T> The type of the field.
+	 * @return The accessor for the field. Null if no accessor could be created.
+	 */
+	public static @Nullable <T> FieldAccessor<T> fieldAccessor(final @NotNull Field field)
+	{
+		Map<Object, Object> classCache = cache.get(field.getDeclaringClass());
+		Object cached = classCache.get(field);
+		if(cached == null)
+		{
+			try
+			{
+				cached = new HandleFieldAccessor<>(field);
+			}
+			catch(Exception e)
+			{
+				logFailure("field", field.getDeclaringClass(), field.getName(), null, e);
+				cached = NOT_FOUND;
+			}
+			Object previous = classCache.putIfAbsent(field, cached);
+			if(previous != null) cached = previous;
+		}
+		if(cached == NOT_FOUND) return null;
+		//noinspection unchecked
+		return (FieldAccessor<T>) cached;
+	}
+
+	/**
+	 * Gets an invoker for a method of a class or one of its parent classes.
+	 *
+	 * @param clazz The class containing the method.
+	 * @param name The name of the method.
+	 * @param parameterTypes The types of the parameters of the method.
+	 * @param <R> The return type of the method.
+	 * @return The invoker for the method. Null if the method was not found.
+	 */
+	public static @Nullable <R> MethodInvoker<R> methodInvoker(final @NotNull Class<?> clazz, final @NotNull String name, final @NotNull Class<?>... parameterTypes)
+	{
+		MemberKey key = new MemberKey(name, parameterTypes);
+		Map<Object, Object> classCache = cache.get(clazz);
+		Object cached = classCache.get(key);
+		if(cached == null)
+		{
+			Method method = null;
+			for(Class<?> c = clazz; c != null && method == null; c = c.getSuperclass())
+			{
+				try
+				{
+					method = c.getDeclaredMethod(name, parameterTypes);
+				}
+				catch(NoSuchMethodException ignored) {}
+			}
+			if(method == null)
+			{
+				logFailure("method", clazz, name, parameterTypes, null);
+				cached = NOT_FOUND;
+			}
+			else
+			{
+				cached = methodInvoker(method);
+				if(cached == null) cached = NOT_FOUND;
+			}
+			Object previous = classCache.putIfAbsent(key, cached);
+			if(previous != null) cached = previous;
+		}
+		if(cached == NOT_FOUND) return null;
+		//noinspection unchecked
+		return (MethodInvoker<R>) cached;
+	}
+
+	/**
+	 * Gets an invoker for a method.
+	 *
+	 * @param method The method.
+	 * @param <R> The return type of the method.
+	 * @return The invoker for the method. Null if no invoker could be created.
+	 */
+	public static @Nullable <R> MethodInvoker<R> methodInvoker(final @NotNull Method method)
+	{
+		Map<Object, Object> classCache = cache.get(method.getDeclaringClass());
+		Object cached = classCache.get(method);
+		if(cached == null)
+		{
+			try
+			{
+				cached = new HandleMethodInvoker<>(method);
+			}
+			catch(Exception e)
+			{
+				logFailure("method", method.getDeclaringClass(), method.getName(), method.getParameterTypes(), e);
+				cached = NOT_FOUND;
+			}
+			Object previous = classCache.putIfAbsent(method, cached);
+			if(previous != null) cached = previous;
+		}
+		if(cached == NOT_FOUND) return null;
+		//noinspection unchecked
+		return (MethodInvoker<R>) cached;
+	}
+
+	/**
+	 * Gets an invoker for a constructor of a class.
+	 *
+	 * @param clazz The class containing the constructor.
+	 * @param parameterTypes The types of the parameters of the constructor.
+	 * @param <T> The type of the class.
+	 * @return The invoker for the constructor. Null if the constructor was not found.
+	 */
+	public static @Nullable <T> ConstructorInvoker<T> constructorInvoker(final @NotNull Class<T> clazz, final @NotNull Class<?>... parameterTypes)
+	{
+		MemberKey key = new MemberKey("<init>", parameterTypes);
+		Map<Object, Object> classCache = cache.get(clazz);
+		Object cached = classCache.get(key);
+		if(cached == null)
+		{
+			try
+			{
+				cached = constructorInvoker(clazz.getDeclaredConstructor(parameterTypes));
+				if(cached == null) cached = NOT_FOUND;
+			}
+			catch(NoSuchMethodException e)
+			{
+				logFailure("constructor", clazz, "<init>", parameterTypes, null);
+				cached = NOT_FOUND;
+			}
+			Object previous = classCache.putIfAbsent(key, cached);
+			if(previous != null) cached = previous;
+		}
+		if(cached == NOT_FOUND) return null;
+		//noinspection unchecked
+		return (ConstructorInvoker<T>) cached;
+	}
+
+	/**
+	 * Gets an invoker for a constructor.
+	 *
+	 * @param constructor The constructor.
+	 * @param <T> The type of the class.
+	 * @return The invoker for the constructor. Null if no invoker could be created.
+	 */
+	public static @Nullable <T> ConstructorInvoker<T> constructorInvoker(final @NotNull Constructor<T> constructor)
+	{
+		Map<Object, Object> classCache = cache.get(constructor.getDeclaringClass());
+		Object cached = classCache.get(constructor);
+		if(cached == null)
+		{
+			try
+			{
+				cached = new HandleConstructorInvoker<>(constructor);
+			}
+			catch(Exception e)
+			{
+				logFailure("constructor", constructor.getDeclaringClass(), "<init>", constructor.getParameterTypes(), e);
+				cached = NOT_FOUND;
+			}
+			Object previous = classCache.putIfAbsent(constructor, cached);
+			if(previous != null) cached = previous;
+		}
+		if(cached == NOT_FOUND) return null;
+		//noinspection unchecked
+		return (ConstructorInvoker<T>) cached;
+	}
+
+	/**
+	 * Removes all cached accessors. Members that could not be resolved will be looked up again.
+	 */
+	public static void clearCache()
+	{
+		cache = newCache();
+	}
+
+	/**
+	 * Removes the cached accessors of a class.
+	 *
+	 * @param clazz The class for which the cached accessors should be removed.
+	 */
+	public static void clearCache(final @NotNull Class<?> clazz)
+	{
+		cache.remove(clazz);
+	}
+
+	private static @NotNull ClassValue<Map<Object, Object>> newCache()
+	{
+		return new ClassValue<Map<Object, Object>>() {
+			@Override
+			protected Map<Object, Object> computeValue(Class<?> type)
+			{
+				return new ConcurrentHashMap<>();
+			}
+		};
+	}
+	//endregion
+
+	private static void logFailure(final @NotNull String memberType, final @NotNull Class<?> clazz, final @NotNull String name, final @Nullable Class<?>[] parameterTypes, final @Nullable Throwable cause)
+	{
+		StringBuilder message = new StringBuilder("Failed to create accessor for ").append(memberType).append(' ').append(clazz.getName()).append('#').append(name);
+		if(parameterTypes != null)
+		{
+			message.append('(');
+			for(int i = 0; i < parameterTypes.length; i++)
+			{
+				if(i > 0) message.append(", ");
+				message.append(parameterTypes[i].getName());
+			}
+			message.append(')');
+		}
+		message.append(cause == null ? ": not found" : ": " + cause.getClass().getSimpleName() + " " + cause.getMessage());
+		logger.log(Level.WARNING, message.toString(), cause);
+	}
+
+	private static RuntimeException rethrow(final @NotNull Throwable throwable)
+	{
+		if(throwable instanceof RuntimeException) return (RuntimeException) throwable;
+		if(throwable instanceof Error) throw (Error) throwable;
+		return new UndeclaredThrowableException(throwable);
+	}
+
+	/**
+	 * Adapts a handle to take the instance as first parameter and all parameters and the return value as object.
+	 */
+	private static @NotNull MethodHandle toGenericShape(@NotNull MethodHandle handle, final boolean isStatic)
+	{
+		if(isStatic) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+	}
+
+	//region implementations
+	private static final class MemberKey
+	{
+		private final String name;
+		private final Class<?>[] parameterTypes;
+		private final int hash;
+
+		MemberKey(final @NotNull String name, final @Nullable Class<?>[] parameterTypes)
+		{
+			this.name = name;
+			this.parameterTypes = parameterTypes == null ? null : parameterTypes.clone();
+			hash = name.hashCode() * 31 + Arrays.hashCode(parameterTypes);
+		}
+
+		@Override
+		public boolean equals(final Object other)
+		{
+			if(!(other instanceof MemberKey)) return false;
+			MemberKey key = (MemberKey) other;
+			return name.equals(key.name) && Arrays.equals(parameterTypes, key.parameterTypes);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
+
+	private static final class HandleFieldAccessor<T> implements FieldAccessor<T>
+	{
+		@Getter private final Field field;
+		private final MethodHandle getter, setter; // (Object)Object and (Object,Object)void
+
+		HandleFieldAccessor(final @NotNull Field field) throws IllegalAccessException
+		{
+			this.field = field;
+			field.setAccessible(true);
+			boolean isStatic = Modifier.isStatic(field.getModifiers());
+			getter = toGenericShape(LOOKUP.unreflectGetter(field), isStatic);
+			if(Modifier.isFinal(field.getModifiers())) setter = null;
+			else
+			{
+				MethodHandle handle = LOOKUP.unreflectSetter(field);
+				if(isStatic) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				setter = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			}
+		}
+
+		@Override
+		public T get(final @Nullable Object instance)
+		{
+			try
+			{
+				//noinspection unchecked
+				return (T) (Object) getter.invokeExact(instance);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+
+		@Override
+		public void set(final @Nullable Object instance, final @Nullable T value)
+		{
+			if(setter == null) throw new UnsupportedOperationException("Field " + field.getDeclaringClass().getName() + "#" + field.getName() + " is final!");
+			try
+			{
+				setter.invokeExact(instance, (Object) value);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+	}
+
+	private static final class HandleMethodInvoker<R> implements MethodInvoker<R>
+	{
+		@Getter private final Method method;
+		private final int parameterCount;
+		private final MethodHandle exact, spreader; // (Object, Object...)Object with fixed arity and (Object, Object[])Object
+
+		HandleMethodInvoker(final @NotNull Method method) throws IllegalAccessException
+		{
+			this.method = method;
+			method.setAccessible(true);
+			parameterCount = method.getParameterTypes().length;
+			MethodHandle handle = LOOKUP.unreflect(method);
+			if(method.isVarArgs()) handle = handle.asFixedArity();
+			exact = toGenericShape(handle, Modifier.isStatic(method.getModifiers()));
+			spreader = exact.asSpreader(Object[].class, parameterCount);
+		}
+
+		@Override
+		public R invoke(final @Nullable Object instance, final @Nullable Object... args)
+		{
+			Object[] arguments = args == null ? NO_ARGS : args; // Must be typed as array for the exact invocation
+			try
+			{
+				//noinspection unchecked
+				return (R) (Object) spreader.invokeExact(instance, arguments);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+
+		@Override
+		public R invoke(final @Nullable Object instance)
+		{
+			if(parameterCount != 0) return invoke(instance, NO_ARGS);
+			try
+			{
+				//noinspection unchecked
+				return (R) (Object) exact.invokeExact(instance);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+
+		@Override
+		public R invoke(final @Nullable Object instance, final @Nullable Object arg)
+		{
+			if(parameterCount != 1) return invoke(instance, new Object[] { arg });
+			try
+			{
+				//noinspection unchecked
+				return (R) (Object) exact.invokeExact(instance, arg);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+
+		@Override
+		public R invoke(final @Nullable Object instance, final @Nullable Object arg1, final @Nullable Object arg2)
+		{
+			if(parameterCount != 2) return invoke(instance, new Object[] { arg1, arg2 });
+			try
+			{
+				//noinspection unchecked
+				return (R) (Object) exact.invokeExact(instance, arg1, arg2);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+	}
+
+	private static final class HandleConstructorInvoker<T> implements ConstructorInvoker<T>
+	{
+		@Getter private final Constructor<T> constructor;
+		private final int parameterCount;
+		private final MethodHandle exact, spreader; // (Object...)Object with fixed arity and (Object[])Object
+
+		HandleConstructorInvoker(final @NotNull Constructor<T> constructor) throws IllegalAccessException
+		{
+			this.constructor = constructor;
+			constructor.setAccessible(true);
+			parameterCount = constructor.getParameterTypes().length;
+			MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+			if(constructor.isVarArgs()) handle = handle.asFixedArity();
+			exact = handle.asType(MethodType.genericMethodType(parameterCount));
+			spreader = exact.asSpreader(Object[].class, parameterCount);
+		}
+
+		@Override
+		public @NotNull T newInstance(final @Nullable Object... args)
+		{
+			Object[] arguments = args == null ? NO_ARGS : args; // Must be typed as array for the exact invocation
+			try
+			{
+				//noinspection unchecked
+				return (T) (Object) spreader.invokeExact(arguments);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+
+		@Override
+		public @NotNull T newInstance()
+		{
+			if(parameterCount != 0) return newInstance(NO_ARGS);
+			try
+			{
+				//noinspection unchecked
+				return (T) (Object) exact.invokeExact();
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+
+		@Override
+		public @NotNull T newInstance(final @Nullable Object arg)
+		{
+			if(parameterCount != 1) return newInstance(new Object[] { arg });
+			try
+			{
+				//noinspection unchecked
+				return (T) (Object) exact.invokeExact(arg);
+			}
+			catch(Throwable e)
+			{
+				throw rethrow(e);
+			}
+		}
+	}
+	//endregion
+}
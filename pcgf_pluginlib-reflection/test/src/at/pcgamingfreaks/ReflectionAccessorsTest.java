@@ -0,0 +1,248 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class ReflectionAccessorsTest
+{
+	@SuppressWarnings("unused")
+	private static class TestClass
+	{
+		private static int counter = 0;
+
+		private String value;
+		private final String constant = "CONST";
+
+		private TestClass() { this("Default"); }
+
+		private TestClass(String value) { this.value = value; }
+
+		private String concat(String a, String b) { return value + a + b; }
+
+		private String join(String... parts) { return value + String.join("", parts); }
+
+		private static int increment() { return ++counter; }
+
+		private void fail() throws IOException { throw new IOException("Failed"); }
+	}
+
+	private static class TestDerivedClass extends TestClass {}
+
+	@Test
+	public void testFieldAccessor()
+	{
+		ReflectionAccessors.FieldAccessor<String> accessor = ReflectionAccessors.fieldAccessor(TestDerivedClass.class, "value");
+		assertNotNull("The field should be found in the parent class", accessor);
+		assertSame("The accessor should be cached", accessor, ReflectionAccessors.fieldAccessor(TestDerivedClass.class, "value"));
+		assertSame("The accessor should be shared for the same field", accessor, ReflectionAccessors.fieldAccessor(accessor.getField()));
+		TestClass instance = new TestClass();
+		assertEquals("The value should be read", "Default", accessor.get(instance));
+		accessor.set(instance, "Changed");
+		assertEquals("The value should be set", "Changed", instance.value);
+		ReflectionAccessors.FieldAccessor<Integer> staticAccessor = ReflectionAccessors.fieldAccessor(TestClass.class, "counter");
+		assertNotNull("The static field should be found", staticAccessor);
+		staticAccessor.set(null, 10);
+		assertEquals("The static value should be read", Integer.valueOf(10), staticAccessor.get(null));
+		ReflectionAccessors.FieldAccessor<String> finalAccessor = ReflectionAccessors.fieldAccessor(TestClass.class, "constant");
+		assertNotNull("The final field should be found", finalAccessor);
+		assertEquals("The final value should be read", "CONST", finalAccessor.get(instance));
+		try
+		{
+			finalAccessor.set(instance, "Other");
+			fail("Setting a final field should not be possible");
+		}
+		catch(UnsupportedOperationException ignored) {}
+	}
+
+	@Test
+	public void testMethodInvoker()
+	{
+		ReflectionAccessors.MethodInvoker<String> concat = ReflectionAccessors.methodInvoker(TestClass.class, "concat", String.class, String.class);
+		assertNotNull("The method should be found", concat);
+		TestClass instance = new TestClass("A");
+		assertEquals("The fixed arity invoke should work", "ABC", concat.invoke(instance, "B", "C"));
+		assertEquals("The varargs invoke should work", "ABC", concat.invoke(instance, new Object[] { "B", "C" }));
+		ReflectionAccessors.MethodInvoker<String> join = ReflectionAccessors.methodInvoker(TestClass.class, "join", String[].class);
+		assertNotNull("The varargs method should be found", join);
+		assertEquals("The varargs method should get the array", "Axy", join.invoke(instance, (Object) new String[] { "x", "y" }));
+		ReflectionAccessors.MethodInvoker<Integer> increment = ReflectionAccessors.methodInvoker(TestClass.class, "increment");
+		assertNotNull("The static method should be found", increment);
+		int before = TestClass.counter;
+		assertEquals("The static method should be invoked", Integer.valueOf(before + 1), increment.invoke(null));
+		ReflectionAccessors.MethodInvoker<Void> fail = ReflectionAccessors.methodInvoker(TestClass.class, "fail");
+		assertNotNull("The failing method should be found", fail);
+		try
+		{
+			fail.invoke(instance);
+			fail("The exception of the method should be thrown");
+		}
+		catch(UndeclaredThrowableException e)
+		{
+			assertTrue("The checked exception should be wrapped", e.getCause() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void testConstructorInvoker()
+	{
+		ReflectionAccessors.ConstructorInvoker<TestClass> constructor = ReflectionAccessors.constructorInvoker(TestClass.class, String.class);
+		assertNotNull("The constructor should be found", constructor);
+		assertEquals("The constructor should be invoked", "Test", constructor.newInstance("Test").value);
+		ReflectionAccessors.ConstructorInvoker<TestClass> defaultConstructor = ReflectionAccessors.constructorInvoker(TestClass.class);
+		assertNotNull("The default constructor should be found", defaultConstructor);
+		assertEquals("The default constructor should be invoked", "Default", defaultConstructor.newInstance().value);
+	}
+
+	@Test
+	public void testClearCache()
+	{
+		ReflectionAccessors.FieldAccessor<String> accessor = ReflectionAccessors.fieldAccessor(TestClass.class, "value");
+		ReflectionAccessors.MethodInvoker<String> concat = ReflectionAccessors.methodInvoker(TestClass.class, "concat", String.class, String.class);
+		assertNotNull(accessor);
+		ReflectionAccessors.clearCache(TestDerivedClass.class);
+		assertSame("Clearing another class should keep the cached accessors", accessor, ReflectionAccessors.fieldAccessor(TestClass.class, "value"));
+		ReflectionAccessors.clearCache(TestClass.class);
+		assertNotSame("The accessors of the class should be removed", accessor, ReflectionAccessors.fieldAccessor(TestClass.class, "value"));
+		assertNotSame("The accessors of the class should be removed", concat, ReflectionAccessors.methodInvoker(TestClass.class, "concat", String.class, String.class));
+	}
+
+	@Test
+	public void testCacheDoesNotPreventUnloading() throws Exception
+	{
+		ClassLoader loader = new IsolatingClassLoader(TestClass.class.getName());
+		Class<?> isolatedClass = loader.loadClass(TestClass.class.getName());
+		assertNotSame("The class should be loaded by the isolating class loader", TestClass.class, isolatedClass);
+		assertNotNull(ReflectionAccessors.fieldAccessor(isolatedClass, "value"));
+		assertNotNull(ReflectionAccessors.methodInvoker(isolatedClass, "increment"));
+		assertNotNull(ReflectionAccessors.constructorInvoker(isolatedClass, String.class));
+		WeakReference<ClassLoader> loaderReference = new WeakReference<>(loader);
+		//noinspection UnusedAssignment
+		loader = null;
+		//noinspection UnusedAssignment
+		isolatedClass = null;
+		for(int i = 0; i < 50 && loaderReference.get() != null; i++)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull("The cached accessors should not keep the class loader alive", loaderReference.get());
+	}
+
+	private static final class IsolatingClassLoader extends ClassLoader
+	{
+		private final String isolatedClass;
+
+		IsolatingClassLoader(final String isolatedClass)
+		{
+			super(ReflectionAccessorsTest.class.getClassLoader());
+			this.isolatedClass = isolatedClass;
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException
+		{
+			if(!name.equals(isolatedClass)) return super.loadClass(name, resolve);
+			try(InputStream inputStream = getParent().getResourceAsStream(name.replace('.', '/') + ".class"))
+			{
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				int read;
+				while((read = inputStream.read(buffer)) > 0) bytes.write(buffer, 0, read);
+				return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+			}
+			catch(IOException e)
+			{
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+	}
+
+	@Test
+	public void testNotFound()
+	{
+		Logger logger = ReflectionAccessors.getLogger();
+		Level level = logger.getLevel();
+		logger.setLevel(Level.OFF);
+		try
+		{
+			assertNull("An unknown field should not be found", ReflectionAccessors.fieldAccessor(TestClass.class, "unknown"));
+			assertNull("An unknown method should not be found", ReflectionAccessors.methodInvoker(TestClass.class, "unknown", int.class));
+			assertNull("An unknown constructor should not be found", ReflectionAccessors.constructorInvoker(TestClass.class, int.class));
+		}
+		finally
+		{
+			logger.setLevel(level);
+			ReflectionAccessors.clearCache();
+		}
+	}
+
+	@Test
+	public void testNotFoundIsReportedOnce()
+	{
+		ReflectionAccessors.clearCache();
+		Logger logger = ReflectionAccessors.getLogger();
+		boolean useParentHandlers = logger.getUseParentHandlers();
+		List<LogRecord> records = new ArrayList<>();
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) { records.add(record); }
+
+			@Override
+			public void flush() {}
+
+			@Override
+			public void close() {}
+		};
+		logger.setUseParentHandlers(false);
+		logger.addHandler(handler);
+		try
+		{
+			for(int i = 0; i < 3; i++)
+			{
+				assertNull("An unknown field should not be found", ReflectionAccessors.fieldAccessor(TestDerivedClass.class, "unknown"));
+				assertNull("An unknown method should not be found", ReflectionAccessors.methodInvoker(TestDerivedClass.class, "unknown", int.class));
+				assertNull("An unknown constructor should not be found", ReflectionAccessors.constructorInvoker(TestClass.class, int.class));
+			}
+			assertEquals("Every missing member should only be reported once", 3, records.size());
+			ReflectionAccessors.clearCache(TestDerivedClass.class);
+			assertNull(ReflectionAccessors.fieldAccessor(TestDerivedClass.class, "unknown"));
+			assertEquals("A cleared class should be looked up again", 4, records.size());
+		}
+		finally
+		{
+			logger.removeHandler(handler);
+			logger.setUseParentHandlers(useParentHandlers);
+			ReflectionAccessors.clearCache();
+		}
+	}
+}
@@ -35,6 +35,12 @@ public String put(@NotNull String key, @NotNull String value)
 		return super.put(key.toLowerCase(Locale.ROOT), value.replaceAll("-", "").toLowerCase(Locale.ROOT));
 	}
 
+	@Override
+	public String putIfAbsent(@NotNull String key, @NotNull String value)
+	{
+		return super.putIfAbsent(key.toLowerCase(Locale.ROOT), value.replaceAll("-", "").toLowerCase(Locale.ROOT));
+	}
+
 	@Override
 	public void putAll(@NotNull Map<? extends String, ? extends String> m)
 	{
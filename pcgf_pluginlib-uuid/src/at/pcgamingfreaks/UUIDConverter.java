@@ -30,9 +30,11 @@
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,35 +52,100 @@
 	private static final Gson GSON = new Gson();
 	private static final UUIDCacheMap UUID_CACHE; // Cache object for resolved UUIDs
 
+	private static final DateTimeFormatter USER_CACHE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z", Locale.ROOT);
+	private static final CompletableFuture<Integer> USER_CACHE_LOADER; // Completes once the usercache.json has been loaded
+
 	static
 	{
 		MOJANG_QUERY_RETRY_TIME = 600000L;
 		UUID_CACHE = new UUIDCacheMap();
-		System.out.println("Loading local uuid cache.");
+		// Load the usercache.json in the background, so that the class loading doesn't block. Lookups that miss the cache will wait for it.
+		USER_CACHE_LOADER = CompletableFuture.supplyAsync(() -> {
+			System.out.println("Loading local uuid cache.");
+			//noinspection SpellCheckingInspection
+			int loaded = loadUserCache(new File("usercache.json"), UUID_CACHE);
+			System.out.println("Loaded " + loaded + " UUIDs from local cache.");
+			return loaded;
+		}, runnable -> {
+			Thread thread = new Thread(runnable, "PCGF-UUIDConverter-UserCacheLoader");
+			thread.setDaemon(true);
+			thread.start();
+		});
+	}
+
+	/**
+	 * Reads the entries of a usercache.json file one by one and adds the ones that are not expired to the cache.
+	 * Names that are already in the cache are not overwritten, they are newer than the ones from the file.
+	 *
+	 * @param userCacheFile The usercache.json file to read.
+	 * @param cache The cache to add the entries to.
+	 * @return The number of entries added to the cache.
+	 */
+	static int loadUserCache(final @NotNull File userCacheFile, final @NotNull UUIDCacheMap cache)
+	{
+		if(!userCacheFile.exists()) return 0;
 		int loaded = 0;
-		//noinspection SpellCheckingInspection
-		File uuidCache = new File("usercache.json");
-		if(uuidCache.exists())
+		long now = System.currentTimeMillis();
+		try(JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(new FileInputStream(userCacheFile), StandardCharsets.UTF_8))))
 		{
-			try(JsonReader reader = new JsonReader(new FileReader(uuidCache)))
+			reader.beginArray();
+			while(reader.hasNext())
 			{
-				CacheData[] dat = new Gson().fromJson(reader, CacheData[].class);
-				Date now = new Date();
-				for(CacheData d : dat)
+				String name = null, uuid = null, expiresOn = null;
+				reader.beginObject();
+				while(reader.hasNext())
 				{
-					if(now.before(d.getExpiresDate()))
+					switch(reader.nextName())
 					{
-						loaded++;
-						UUID_CACHE.put(d.name, d.uuid);
+						case "name": name = reader.nextString(); break;
+						case "uuid": uuid = reader.nextString(); break;
+						case "expiresOn": expiresOn = reader.nextString(); break;
+						default: reader.skipValue();
 					}
 				}
+				reader.endObject();
+				if(name == null || uuid == null || expiresOn == null)
+				{
+					System.err.println("Skipping invalid entry in usercache.json (name: " + name + ", uuid: " + uuid + ", expiresOn: " + expiresOn + ")");
+					continue;
+				}
+				try
+				{
+					if(OffsetDateTime.parse(expiresOn, USER_CACHE_DATE_FORMAT).toInstant().toEpochMilli() <= now) continue; // Expired
+				}
+				catch(DateTimeParseException e)
+				{
+					e.printStackTrace();
+					continue;
+				}
+				if(cache.putIfAbsent(name, uuid) == null) loaded++;
 			}
-			catch(Exception e)
-			{
-				e.printStackTrace();
-			}
+			reader.endArray();
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
 		}
-		System.out.println("Loaded " + loaded + " UUIDs from local cache.");
+		return loaded;
+	}
+
+	/**
+	 * Waits till the usercache.json has been loaded.
+	 */
+	static void awaitUserCache()
+	{
+		USER_CACHE_LOADER.join();
+	}
+
+	private static @Nullable String getCachedUUID(final @NotNull String name)
+	{
+		String uuid = UUID_CACHE.get(name);
+		if(uuid == null && !USER_CACHE_LOADER.isDone())
+		{ // The name might not have been loaded yet
+			awaitUserCache();
+			uuid = UUID_CACHE.get(name);
+		}
+		return uuid;
 	}
 
 	/**
@@ -330,7 +397,7 @@ else if(offlineUUIDonFail)
 
 	public static UUID getUUIDCacheOnly(@NotNull String name, boolean offlineModeFallback)
 	{
-		String uuidString = UUID_CACHE.get(name);
+		String uuidString = getCachedUUID(name);
 		if(uuidString != null) return UUID.fromString(uuidString.replaceAll(UUID_FORMAT_REGEX, UUID_FORMAT_REPLACE_TO));
 		if(offlineModeFallback) return UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
 		return null;
@@ -338,9 +405,10 @@ public static UUID getUUIDCacheOnly(@NotNull String name, boolean offlineModeFal
 
 	private static String getOnlineUUID(@NotNull String name, @Nullable Date at)
 	{
-		if((at == null || at.after(new Date(System.currentTimeMillis() - 1000L*24*3600* 30))) && UUID_CACHE.containsKey(name))
+		if(at == null || at.after(new Date(System.currentTimeMillis() - 1000L*24*3600* 30)))
 		{
-			return UUID_CACHE.get(name);
+			String cachedUUID = getCachedUUID(name);
+			if(cachedUUID != null) return cachedUUID;
 		}
 		String uuid = null;
 		try(BufferedReader in = new BufferedReader(new InputStreamReader(new URL("https://api.mojang.com/users/profiles/minecraft/" + name + ((at != null) ? "?at=" + (at.getTime()/1000L) : "")).openStream(), StandardCharsets.UTF_8)))
@@ -425,10 +493,10 @@ public static Map<String, UUID> getUUIDsFromNamesAsUUIDs(@NotNull Collection<Str
 		{
 			while (players.hasNext() && batch.size() < BATCH_SIZE)
 			{
-				String name = players.next();
-				if(UUID_CACHE.containsKey(name))
+				String name = players.next(), cachedUUID = getCachedUUID(name);
+				if(cachedUUID != null)
 				{
-					result.put(name, UUID.fromString(UUID_CACHE.get(name).replaceAll(UUID_FORMAT_REGEX, UUID_FORMAT_REPLACE_TO)));
+					result.put(name, UUID.fromString(cachedUUID.replaceAll(UUID_FORMAT_REGEX, UUID_FORMAT_REPLACE_TO)));
 					fromCache++;
 				}
 				else
@@ -556,23 +624,5 @@ public UUID getUUID()
 			return UUID.fromString(id.replaceAll(UUID_FORMAT_REGEX, UUID_FORMAT_REPLACE_TO));
 		}
 	}
-
-	private static class CacheData
-	{
-		public String name, uuid, expiresOn;
-
-		public Date getExpiresDate()
-		{
-			try
-			{
-				return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss Z").parse(expiresOn);
-			}
-			catch(ParseException e)
-			{
-				e.printStackTrace();
-			}
-			return new Date(); // When we failed to parse the date we return the current time stamp
-		}
-	}
 	//endregion
 }
\ No newline at end of file
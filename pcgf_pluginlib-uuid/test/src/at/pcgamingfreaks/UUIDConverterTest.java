@@ -75,6 +75,7 @@ public static void prepareTestData()
 		System.setOut(new PrintStream(outputStream));
 		System.setErr(new PrintStream(errorStream));
 		new UUIDConverter();
+		UUIDConverter.awaitUserCache();
 		System.out.println(outputStream.toString());
 		assertNotEquals("UUIDConverter should initialize with some messages", 0, outputStream.toString().split("\n").length);
 		assertTrue("UUIDConverter should throw an error", errorStream.size() > 0);
@@ -88,6 +89,36 @@ public void resetConsoleData()
 		errorStream.reset();
 	}
 
+	@Test
+	@SuppressWarnings("SpellCheckingInspection")
+	public void testLoadUserCache() throws IOException
+	{
+		File userCache = File.createTempFile("usercache", ".json");
+		try
+		{
+			SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss Z");
+			String valid = dateFormat.format(new Date(System.currentTimeMillis() + 10000000)), expired = dateFormat.format(new Date(System.currentTimeMillis() - 10000000));
+			try(FileWriter fileWriter = new FileWriter(userCache))
+			{
+				fileWriter.write("[{\"name\":\"Valid\",\"uuid\":\"4ad6ef2a-7473-46bc-b15d-ec2ee61bc1b6\",\"expiresOn\":\"" + valid + "\"}," +
+						                 "{\"name\":\"Expired\",\"uuid\":\"6c99e2b5-5c9e-4663-b4db-7ad3bc52d28d\",\"expiresOn\":\"" + expired + "\"}," +
+						                 "{\"name\":\"Cached\",\"uuid\":\"8f545230-78d5-474b-bbea-693964467ef0\",\"expiresOn\":\"" + valid + "\",\"unknown\":[1,2]},{}]");
+			}
+			UUIDCacheMap cache = new UUIDCacheMap();
+			cache.put("Cached", TEST_USER_UUID);
+			assertEquals("Only the valid entry should be loaded", 1, UUIDConverter.loadUserCache(userCache, cache));
+			assertEquals("The valid entry should be stored without separators", "4ad6ef2a747346bcb15dec2ee61bc1b6", cache.get("valid"));
+			assertFalse("The expired entry should be skipped", cache.containsKey("Expired"));
+			assertEquals("Already cached names should not be overwritten", TEST_USER_UUID, cache.get("Cached"));
+			assertTrue("The invalid entry should be reported", errorStream.size() > 0);
+		}
+		finally
+		{
+			//noinspection ResultOfMethodCallIgnored
+			userCache.delete();
+		}
+	}
+
 	@Test
 	public void testGetNameFromUUID()
 	{
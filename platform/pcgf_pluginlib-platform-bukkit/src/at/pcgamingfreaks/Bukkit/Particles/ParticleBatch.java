@@ -0,0 +1,149 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit.Particles;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A collection of particles that should be spawned together (e.g. the points of a trail, a shape or one frame of an effect).
+ * Spawning a batch through {@link ParticleSpawner#spawnParticles(ParticleBatch, double)} allows the spawner to resolve the players
+ * that can see the particles once for the whole batch instead of once for every single particle.
+ */
+public final class ParticleBatch
+{
+	@Getter
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class Entry
+	{
+		private final @NotNull Location location;
+		private final @NotNull Particle type;
+		private final @Nullable Object particleData;
+		private final int count;
+		private final float offsetX, offsetY, offsetZ, speed;
+	}
+
+	private final List<Entry> entries;
+
+	public ParticleBatch()
+	{
+		entries = new ArrayList<>();
+	}
+
+	/**
+	 * @param expectedSize The amount of particles expected to be added to the batch.
+	 */
+	public ParticleBatch(final int expectedSize)
+	{
+		entries = new ArrayList<>(expectedSize);
+	}
+
+	/**
+	 * Adds a single particle to the batch.
+	 *
+	 * @param location     the location where the effect should be spawned
+	 * @param type         the type of the effect that should be spawned
+	 * @return The batch, for chaining.
+	 */
+	public @NotNull ParticleBatch add(final @NotNull Location location, final @NotNull Particle type)
+	{
+		return add(location, type, null, 1, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Adds a group of particles to the batch.
+	 *
+	 * @param location     the location where the effect should be spawned
+	 * @param type         the type of the effect that should be spawned
+	 * @param count        the amount of particles that should be spawned
+	 * @param offsetX      is added to the X position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param offsetY      is added to the Y position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param offsetZ      is added to the Z position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param speed        the speed the particles are moving with
+	 * @return The batch, for chaining.
+	 */
+	public @NotNull ParticleBatch add(final @NotNull Location location, final @NotNull Particle type, final int count, final float offsetX, final float offsetY, final float offsetZ, final float speed)
+	{
+		return add(location, type, null, count, offsetX, offsetY, offsetZ, speed);
+	}
+
+	/**
+	 * Adds a group of material based particles to the batch.
+	 * Only for Minecraft 1.8 and newer!
+	 *
+	 * @param location     the location where the effect should be spawned
+	 * @param type         the type of the effect that should be spawned
+	 * @param particleData the data (material) of the particle, please use the right type for the particle (Particle.getDataType)
+	 * @param count        the amount of particles that should be spawned
+	 * @param offsetX      is added to the X position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param offsetY      is added to the Y position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param offsetZ      is added to the Z position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param speed        the speed the particles are moving with
+	 * @return The batch, for chaining.
+	 */
+	public @NotNull ParticleBatch add(final @NotNull Location location, final @NotNull Particle type, final @Nullable Object particleData, final int count, final float offsetX, final float offsetY, final float offsetZ, final float speed)
+	{
+		entries.add(new Entry(location, type, particleData, count, offsetX, offsetY, offsetZ, speed));
+		return this;
+	}
+
+	/**
+	 * Adds a particle at every given location. Useful for trails and shapes.
+	 *
+	 * @param locations    the locations where the effect should be spawned
+	 * @param type         the type of the effect that should be spawned
+	 * @return The batch, for chaining.
+	 */
+	public @NotNull ParticleBatch addAll(final @NotNull Iterable<Location> locations, final @NotNull Particle type)
+	{
+		for(Location location : locations)
+		{
+			add(location, type);
+		}
+		return this;
+	}
+
+	public @NotNull List<Entry> getEntries()
+	{
+		return Collections.unmodifiableList(entries);
+	}
+
+	public int size()
+	{
+		return entries.size();
+	}
+
+	public boolean isEmpty()
+	{
+		return entries.isEmpty();
+	}
+
+	public void clear()
+	{
+		entries.clear();
+	}
+}
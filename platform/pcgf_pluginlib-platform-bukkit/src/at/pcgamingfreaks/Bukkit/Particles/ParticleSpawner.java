@@ -24,6 +24,8 @@
 import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.MaterialData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * API to spawn particles.
@@ -114,6 +116,48 @@ public void spawnParticle(Location location, Particle type, double visibleRange)
 	 */
 	public abstract void spawnParticle(Location location, Particle type, double visibleRange, int count, float offsetX, float offsetY, float offsetZ, float speed);
 
+	/**
+	 * Creates a template for a particle. The particle and its data are only resolved once when the template is created.
+	 *
+	 * @param type         the type of the effect that should be spawned with the template
+	 * @param particleData the data (material) of the particle, please use the right type for the particle (Particle.getDataType). null for particles without data.
+	 * @return The template for the particle.
+	 */
+	public @NotNull ParticleTemplate createTemplate(final @NotNull Particle type, final @Nullable Object particleData)
+	{
+		return new ParticleTemplate(type, particleData)
+		{
+			@Override
+			public void spawn(final @NotNull Location location, final double visibleRange, final int count, final float offsetX, final float offsetY, final float offsetZ, final float speed)
+			{
+				if(particleData == null) spawnParticle(location, type, visibleRange, count, offsetX, offsetY, offsetZ, speed);
+				else spawnParticle(location, type, particleData, visibleRange, count, offsetX, offsetY, offsetZ, speed);
+			}
+		};
+	}
+
+	/**
+	 * Spawns all the particles of a batch.
+	 * Implementations that send the particles through packets resolve the players in range only once for the whole batch.
+	 *
+	 * @param batch        the particles that should be spawned
+	 * @param visibleRange the range that the effects will be visible
+	 */
+	public void spawnParticles(final @NotNull ParticleBatch batch, final double visibleRange)
+	{
+		for(ParticleBatch.Entry entry : batch.getEntries())
+		{
+			if(entry.getParticleData() == null)
+			{
+				spawnParticle(entry.getLocation(), entry.getType(), visibleRange, entry.getCount(), entry.getOffsetX(), entry.getOffsetY(), entry.getOffsetZ(), entry.getSpeed());
+			}
+			else
+			{
+				spawnParticle(entry.getLocation(), entry.getType(), entry.getParticleData(), visibleRange, entry.getCount(), entry.getOffsetX(), entry.getOffsetY(), entry.getOffsetZ(), entry.getSpeed());
+			}
+		}
+	}
+
 	/**
 	 * It is recommended to use this function to get an effect spawner instance! It will give you the right object for your Minecraft version.
 	 * If it returns null your Minecraft version is not compatible! Like version &lt; 1.7 and some modded servers.
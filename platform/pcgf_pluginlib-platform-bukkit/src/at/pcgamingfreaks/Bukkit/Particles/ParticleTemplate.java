@@ -0,0 +1,66 @@
+/*
+ *   Copyright (C) 2022 GeorgH93
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *   GNU General Public License for more details.
+ *
+ *   You should have received a copy of the GNU General Public License
+ *   along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package at.pcgamingfreaks.Bukkit.Particles;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * A particle type together with its data, resolved for the running server once.
+ * Spawning a particle from a template only has to fill in the location, count and offsets,
+ * which makes it the preferred way to spawn the same particle again and again (e.g. in an animation).
+ * Templates are created with {@link ParticleSpawner#createTemplate(Particle, Object)}.
+ */
+public abstract class ParticleTemplate
+{
+	@Getter private final @NotNull Particle type;
+	@Getter private final @Nullable Object particleData;
+
+	protected ParticleTemplate(final @NotNull Particle type, final @Nullable Object particleData)
+	{
+		this.type = type;
+		this.particleData = particleData;
+	}
+
+	/**
+	 * Spawns a single particle.
+	 *
+	 * @param location     the location where the effect should be spawned
+	 * @param visibleRange the range that the effect will be visible
+	 */
+	public void spawn(final @NotNull Location location, final double visibleRange)
+	{
+		spawn(location, visibleRange, 1, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Spawns a group of particles.
+	 *
+	 * @param location     the location where the effect should be spawned
+	 * @param visibleRange the range that the effect will be visible
+	 * @param count        the amount of particles that should be spawned
+	 * @param offsetX      is added to the X position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param offsetY      is added to the Y position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param offsetZ      is added to the Z position after being multiplied by random.nextGaussian() to spread the particles out
+	 * @param speed        the speed the particles are moving with
+	 */
+	public abstract void spawn(final @NotNull Location location, final double visibleRange, final int count, final float offsetX, final float offsetY, final float offsetZ, final float speed);
+}
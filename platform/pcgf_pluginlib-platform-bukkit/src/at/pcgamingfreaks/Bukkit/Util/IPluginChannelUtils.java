@@ -23,9 +23,19 @@
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 interface IPluginChannelUtils extends IPlatformDependent
 {
 	void registerOutgoingChannelUnchecked(final @NotNull Plugin plugin, final @NotNull String channel);
 	void unregisterOutgoingChannelUnchecked(final @NotNull Plugin plugin, final @NotNull String channel);
 	void sendPluginMessageUnchecked(final @NotNull Plugin plugin, final @NotNull Player player, final @NotNull String channel, final @NotNull byte[] message);
+
+	default void sendPluginMessageUnchecked(final @NotNull Plugin plugin, final @NotNull Collection<? extends Player> players, final @NotNull String channel, final @NotNull byte[] message)
+	{
+		for(Player player : players)
+		{
+			sendPluginMessageUnchecked(plugin, player, channel, message);
+		}
+	}
 }
\ No newline at end of file
@@ -41,6 +41,8 @@ import org.jetbrains.annotations.NotNull;
 
 import io.netty.buffer.Unpooled;
 
+import java.util.Collection;
+
 /*
  * NOTE: Generated code !! DO NOT EDIT !!
  * Reference: https://freemarker.apache.org/
@@ -65,4 +67,24 @@ public class PluginChannelUtils_${nmsVersion} extends PluginChannelUtils_Reflect
 			</#if>
 		</#if>
 	}
+	<#if mojangMapped || 100130000 <= mcVersion>
+
+	@Override
+	public void sendPluginMessageUnchecked(final @NotNull Plugin plugin, final @NotNull Collection<? extends Player> players, final @NotNull String channel, final @NotNull byte[] message)
+	{
+		<#if mojangMapped>
+		ResourceLocation key = new ResourceLocation(channel);
+		for(Player player : players)
+		{ // Every packet needs its own buffer (reader index), wrapping the message doesn't copy it
+			IUtils.INSTANCE.sendPacket(player, new ClientboundCustomPayloadPacket(key, new FriendlyByteBuf(Unpooled.wrappedBuffer(message))));
+		}
+		<#else>
+		MinecraftKey key = new MinecraftKey(channel);
+		for(Player player : players)
+		{ // Every packet needs its own buffer (reader index), wrapping the message doesn't copy it
+			IUtils.INSTANCE.sendPacket(player, new PacketPlayOutCustomPayload(key, new PacketDataSerializer(Unpooled.wrappedBuffer(message))));
+		}
+		</#if>
+	}
+	</#if>
 }
\ No newline at end of file
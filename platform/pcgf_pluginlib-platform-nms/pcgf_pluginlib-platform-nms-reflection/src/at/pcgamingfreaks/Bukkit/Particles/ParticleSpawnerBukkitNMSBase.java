@@ -22,18 +22,30 @@
 import at.pcgamingfreaks.Reflection;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.MaterialData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 abstract class ParticleSpawnerBukkitNMSBase extends ParticleSpawner
 {
 	private static final Method METHOD_MATERIAL_DATA_GET_ITEM_TYPE_ID = MCVersion.isOlderThan(MCVersion.MC_1_13) ? Reflection.getMethod(MaterialData.class, "getItemTypeId") : null;
+	private static final int[] NO_DATA = new int[0];
 
 	public void spawnParticle(Location location, Particle type, Object particleData, double visibleRange, int count, float offsetX, float offsetY, float offsetZ, float speed)
+	{
+		spawnParticle(location, type, visibleRange, count, offsetX, offsetY, offsetZ, speed, getParticleData(type, particleData));
+	}
+
+	protected static int[] getParticleData(final @NotNull Particle type, final @Nullable Object particleData)
 	{
 		int[] data;
 		if(type.getDataType().equals(ItemStack.class))
@@ -72,8 +84,8 @@ else if(type.getDataType().equals(MaterialData.class))
 				else data = new int[] { 0 };
 			}
 		}
-		else data = new int[0];
-		spawnParticle(location, type, visibleRange, count, offsetX, offsetY, offsetZ, speed, data);
+		else data = NO_DATA;
+		return data;
 	}
 
 	protected void spawnParticle(Location location, double visibleRange, Object particlePacket) throws IllegalAccessException, InvocationTargetException
@@ -91,5 +103,161 @@ protected void spawnParticle(Location location, double visibleRange, Object part
 		}
 	}
 
+	@Override
+	public void spawnParticles(final @NotNull ParticleBatch batch, final double visibleRange)
+	{
+		if(batch.isEmpty()) return;
+		final double visibleRangeSquared = visibleRange * visibleRange;
+		final Map<World, ViewerSnapshot> snapshots = new HashMap<>(4);
+		World lastWorld = null;
+		ViewerSnapshot viewers = null;
+		Particle lastType = null;
+		Object resolvedParticle = null;
+		for(ParticleBatch.Entry entry : batch.getEntries())
+		{
+			final Location location = entry.getLocation();
+			if(location.getWorld() != lastWorld)
+			{
+				lastWorld = location.getWorld();
+				viewers = snapshots.computeIfAbsent(lastWorld, ViewerSnapshot::new);
+			}
+			if(!viewers.anyInRange(location, visibleRangeSquared)) continue; // No one would see the particle, no need to build a packet for it
+			final Object packet;
+			try
+			{
+				final int[] data = entry.getParticleData() == null ? NO_DATA : getParticleData(entry.getType(), entry.getParticleData());
+				if(entry.getType() != lastType)
+				{
+					resolvedParticle = resolveParticle(entry.getType());
+					lastType = entry.getType(); // Only remember the type once it has been resolved successfully
+				}
+				packet = createPacket(resolvedParticle, location, entry.getCount(), entry.getOffsetX(), entry.getOffsetY(), entry.getOffsetZ(), entry.getSpeed(), data);
+			}
+			catch(Exception e)
+			{
+				System.out.println("Unable to spawn particle " + entry.getType().getOldName() + ".");
+				e.printStackTrace();
+				continue;
+			}
+			viewers.sendPacket(location, visibleRangeSquared, packet);
+		}
+	}
+
 	protected abstract void spawnParticle(Location location, Particle type, double visibleRange, int count, float offsetX, float offsetY, float offsetZ, float speed, int[] data);
+
+	/**
+	 * Creates the packet for a particle, without sending it.
+	 *
+	 * @throws IllegalArgumentException If the particle is not available in the used Minecraft version.
+	 * @throws Exception If the packet could not be created.
+	 */
+	protected @Nullable Object createParticlePacket(Location location, Particle type, int count, float offsetX, float offsetY, float offsetZ, float speed, int[] data) throws Exception
+	{
+		return createPacket(resolveParticle(type), location, count, offsetX, offsetY, offsetZ, speed, data);
+	}
+
+	/**
+	 * Resolves the particle into the object that is used by the packet to identify the particle.
+	 *
+	 * @param type The particle to resolve.
+	 * @return The particle object used by the packet.
+	 * @throws IllegalArgumentException If the particle is not available in the used Minecraft version.
+	 */
+	protected abstract Object resolveParticle(Particle type);
+
+	protected abstract @Nullable Object createPacket(Object resolvedParticle, Location location, int count, float offsetX, float offsetY, float offsetZ, float speed, int[] data) throws Exception;
+
+	@Override
+	public @NotNull ParticleTemplate createTemplate(final @NotNull Particle type, final @Nullable Object particleData)
+	{
+		return new NMSParticleTemplate(type, particleData, resolveParticle(type), particleData == null ? NO_DATA : getParticleData(type, particleData));
+	}
+
+	private final class NMSParticleTemplate extends ParticleTemplate
+	{
+		private final Object resolvedParticle;
+		private final int[] data;
+
+		NMSParticleTemplate(final @NotNull Particle type, final @Nullable Object particleData, final Object resolvedParticle, final int[] data)
+		{
+			super(type, particleData);
+			this.resolvedParticle = resolvedParticle;
+			this.data = data;
+		}
+
+		@Override
+		public void spawn(final @NotNull Location location, final double visibleRange, final int count, final float offsetX, final float offsetY, final float offsetZ, final float speed)
+		{
+			try
+			{
+				spawnParticle(location, visibleRange, createPacket(resolvedParticle, location, count, offsetX, offsetY, offsetZ, speed, data));
+			}
+			catch(Exception e)
+			{
+				System.out.println("Unable to spawn particle " + getType().getOldName() + ".");
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * The players of a world together with their position at the time the snapshot was taken.
+	 * The positions are stored as primitives so that the range check for every particle of a batch does not need to create any location objects.
+	 */
+	private static final class ViewerSnapshot
+	{
+		private final Player[] players;
+		private final double[] x, y, z;
+		private int size = 0;
+
+		ViewerSnapshot(final @NotNull World world)
+		{
+			final List<Player> worldPlayers = world.getPlayers();
+			final String worldName = world.getName();
+			players = new Player[worldPlayers.size()];
+			x = new double[players.length];
+			y = new double[players.length];
+			z = new double[players.length];
+			for(Player player : worldPlayers)
+			{
+				Location playerLocation = player.getLocation();
+				// Getting entitys from a world sometimes returns players which are not actually in that world, so they need to be verified. Also checking world.equals(otherWorld) is sometimes not reliable (on MC 1.11).
+				if(!playerLocation.getWorld().getName().equalsIgnoreCase(worldName)) continue;
+				players[size] = player;
+				x[size] = playerLocation.getX();
+				y[size] = playerLocation.getY();
+				z[size] = playerLocation.getZ();
+				size++;
+			}
+		}
+
+		private boolean inRange(final int i, final double posX, final double posY, final double posZ, final double rangeSquared)
+		{
+			final double dx = x[i] - posX, dy = y[i] - posY, dz = z[i] - posZ;
+			return dx * dx + dy * dy + dz * dz < rangeSquared;
+		}
+
+		boolean anyInRange(final @NotNull Location location, final double rangeSquared)
+		{
+			final double posX = location.getX(), posY = location.getY(), posZ = location.getZ();
+			for(int i = 0; i < size; i++)
+			{
+				if(inRange(i, posX, posY, posZ, rangeSquared)) return true;
+			}
+			return false;
+		}
+
+		void sendPacket(final @NotNull Location location, final double rangeSquared, final @Nullable Object packet)
+		{
+			if(packet == null) return;
+			final double posX = location.getX(), posY = location.getY(), posZ = location.getZ();
+			for(int i = 0; i < size; i++)
+			{
+				if(inRange(i, posX, posY, posZ, rangeSquared))
+				{
+					IUtils.INSTANCE.sendPacket(players[i], packet);
+				}
+			}
+		}
+	}
 }
\ No newline at end of file
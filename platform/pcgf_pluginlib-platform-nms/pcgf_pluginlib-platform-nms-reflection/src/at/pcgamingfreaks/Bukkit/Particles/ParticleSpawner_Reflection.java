@@ -52,11 +52,13 @@ public void spawnParticle(Location location, Particle particle, double visibleRa
 	@Override
 	protected void spawnParticle(Location location, Particle particle, double visibleRange, int count, float offsetX, float offsetY, float offsetZ, float speed, int[] data)
 	{
-		Validate.isTrue(MCVersion.isNewerOrEqualThan(particle.getMinVersion()), "The %s particle is not available in your minecraft version!", particle.getName());
 		try
 		{
-			//noinspection ConstantConditions
-			spawnParticle(location, visibleRange, PACKET_CONSTRUCTOR.newInstance(PARTICLE_MAP.get(particle), false, (float) location.getX(), (float) location.getY(), (float) location.getZ(), offsetX, offsetY, offsetZ, speed, count, data));
+			spawnParticle(location, visibleRange, createParticlePacket(location, particle, count, offsetX, offsetY, offsetZ, speed, data));
+		}
+		catch(IllegalArgumentException e)
+		{
+			throw e;
 		}
 		catch(Exception e)
 		{
@@ -64,4 +66,18 @@ protected void spawnParticle(Location location, Particle particle, double visibl
 			e.printStackTrace();
 		}
 	}
+
+	@Override
+	protected Object resolveParticle(Particle particle)
+	{
+		Validate.isTrue(MCVersion.isNewerOrEqualThan(particle.getMinVersion()), "The %s particle is not available in your minecraft version!", particle.getName());
+		return PARTICLE_MAP.get(particle);
+	}
+
+	@Override
+	protected Object createPacket(Object nmsParticle, Location location, int count, float offsetX, float offsetY, float offsetZ, float speed, int[] data) throws Exception
+	{
+		//noinspection ConstantConditions
+		return PACKET_CONSTRUCTOR.newInstance(nmsParticle, false, (float) location.getX(), (float) location.getY(), (float) location.getZ(), offsetX, offsetY, offsetZ, speed, count, data);
+	}
 }
\ No newline at end of file
@@ -35,11 +35,13 @@ protected void spawnParticle(Location location, Particle type, double visibleRan
 
 	public void spawnParticle(Location location, Particle type, double visibleRange, int count, float offsetX, float offsetY, float offsetZ, float speed)
 	{
-		Validate.isTrue(type.getMinVersion().olderOrEqualThan(MCVersion.MC_1_7_10), "The %s particle is not available in your minecraft version!", type.getName());
 		try
 		{
-			//noinspection ConstantConditions
-			spawnParticle(location, visibleRange, PACKET_CONSTRUCTOR.newInstance(type.getOldName(), (float) location.getX(), (float) location.getY(), (float) location.getZ(), offsetX, offsetY, offsetZ, speed, count));
+			spawnParticle(location, visibleRange, createParticlePacket(location, type, count, offsetX, offsetY, offsetZ, speed, null));
+		}
+		catch(IllegalArgumentException e)
+		{
+			throw e;
 		}
 		catch(Exception e)
 		{
@@ -47,4 +49,18 @@ public void spawnParticle(Location location, Particle type, double visibleRange,
 			e.printStackTrace();
 		}
 	}
+
+	@Override
+	protected Object resolveParticle(Particle type)
+	{
+		Validate.isTrue(type.getMinVersion().olderOrEqualThan(MCVersion.MC_1_7_10), "The %s particle is not available in your minecraft version!", type.getName());
+		return type.getOldName();
+	}
+
+	@Override
+	protected Object createPacket(Object particleName, Location location, int count, float offsetX, float offsetY, float offsetZ, float speed, int[] data) throws Exception
+	{
+		//noinspection ConstantConditions
+		return PACKET_CONSTRUCTOR.newInstance(particleName, (float) location.getX(), (float) location.getY(), (float) location.getZ(), offsetX, offsetY, offsetZ, speed, count);
+	}
 }
\ No newline at end of file
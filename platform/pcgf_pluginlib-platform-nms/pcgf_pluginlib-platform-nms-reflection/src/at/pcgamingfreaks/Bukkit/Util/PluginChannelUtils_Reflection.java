@@ -28,6 +28,7 @@
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.Collection;
 
 @SuppressWarnings("ConstantConditions")
 public class PluginChannelUtils_Reflection implements IPluginChannelUtils
@@ -98,4 +99,32 @@ public void sendPluginMessageUnchecked(@NotNull Plugin plugin, @NotNull Player p
 		}
 		else player.sendPluginMessage(plugin, channel, message);
 	}
+
+	@Override
+	public void sendPluginMessageUnchecked(@NotNull Plugin plugin, @NotNull Collection<? extends Player> players, @NotNull String channel, @NotNull byte[] message)
+	{
+		if(CONSTRUCTOR_PACKED_DATA_SERIALIZER != null)
+		{
+			try
+			{
+				Object key = CONSTRUCTOR_MINECRAFT_KEY.newInstance(channel);
+				for(Player player : players)
+				{ // Every packet needs its own buffer (reader index), wrapping the message doesn't copy it
+					Object packedMsg = CONSTRUCTOR_PACKED_DATA_SERIALIZER.newInstance(METHOD_UNPOOLED_WRAPPED_BUFFER.invoke(null, message));
+					IUtils.INSTANCE.sendPacket(player, CONSTRUCTOR_PACKET_PLAY_OUT_CUSTOM_PAYLOAD.newInstance(key, packedMsg));
+				}
+			}
+			catch(Exception e)
+			{
+				e.printStackTrace();
+			}
+		}
+		else
+		{
+			for(Player player : players)
+			{
+				player.sendPluginMessage(plugin, channel, message);
+			}
+		}
+	}
 }
\ No newline at end of file
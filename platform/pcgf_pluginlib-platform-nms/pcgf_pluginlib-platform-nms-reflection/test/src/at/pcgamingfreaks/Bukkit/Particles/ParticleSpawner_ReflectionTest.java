@@ -33,6 +33,7 @@
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
@@ -42,6 +43,7 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 @RunWith(PowerMockRunner.class)
@@ -106,4 +108,80 @@ public void testSpawnParticle() throws IllegalAccessException, NoSuchFieldExcept
 		packetConstructorField.setAccessible(false);
 		modifiers.setAccessible(false);
 	}
+
+	@Test
+	public void testSpawnParticleBatch()
+	{
+		World mockedWorld = mock(World.class), otherWorld = mock(World.class);
+		doReturn("World1").when(mockedWorld).getName();
+		doReturn("World2").when(otherWorld).getName();
+		Location mockedLocation = spy(new Location(mockedWorld, 10.0, 20.0, 30.0));
+		List<Player> players = new ArrayList<>();
+		TestBukkitPlayer mockedPlayer = spy(new TestBukkitPlayer()), otherPlayer = spy(new TestBukkitPlayer());
+		doReturn(mockedLocation).when(mockedPlayer).getLocation();
+		doReturn(new Location(mockedWorld, 12.0, 20.0, 30.0)).when(otherPlayer).getLocation();
+		players.add(mockedPlayer);
+		players.add(otherPlayer);
+		doReturn(players).when(mockedWorld).getPlayers();
+		doReturn(new ArrayList<Player>()).when(otherWorld).getPlayers();
+		ParticleSpawner_Reflection effect = new ParticleSpawner_Reflection();
+		ParticleBatch batch = new ParticleBatch();
+		effect.spawnParticles(batch, 100.0);
+		verify(mockedWorld, never()).getPlayers();
+		batch.add(mockedLocation, Particle.CLOUD).add(new Location(mockedWorld, 11.0, 20.0, 30.0), Particle.FLAME, 10, 1.0f, 1.0f, 1.0f, 0.5f);
+		batch.add(new Location(mockedWorld, 10.0, 20.0, 500.0), Particle.CLOUD); // Out of range
+		batch.add(new Location(otherWorld, 10.0, 20.0, 30.0), Particle.CLOUD); // No players in the world
+		batch.add(new Location(mockedWorld, 10.0, 21.0, 30.0), Particle.CLOUD);
+		assertEquals(5, batch.size());
+		effect.spawnParticles(batch, 100.0);
+		// 3 visible particles, each packet is sent to both players
+		ArgumentCaptor<Object> packets = ArgumentCaptor.forClass(Object.class);
+		verify(mockedUtils, times(6)).sendPacket(any(TestBukkitPlayer.class), packets.capture());
+		assertSame("The packet should be built once and shared by the viewers", packets.getAllValues().get(0), packets.getAllValues().get(1));
+		verify(mockedWorld, times(1)).getPlayers();
+		verify(otherWorld, times(1)).getPlayers();
+		batch.clear();
+		assertTrue(batch.isEmpty());
+	}
+
+	@Test
+	public void testSpawnParticleBatchSkipsFailingParticles()
+	{
+		World mockedWorld = mock(World.class);
+		doReturn("World1").when(mockedWorld).getName();
+		Location mockedLocation = spy(new Location(mockedWorld, 10.0, 20.0, 30.0));
+		List<Player> players = new ArrayList<>();
+		TestBukkitPlayer mockedPlayer = spy(new TestBukkitPlayer());
+		doReturn(mockedLocation).when(mockedPlayer).getLocation();
+		players.add(mockedPlayer);
+		doReturn(players).when(mockedWorld).getPlayers();
+		ParticleSpawner_Reflection effect = spy(new ParticleSpawner_Reflection());
+		doThrow(new IllegalArgumentException("The FLAME particle is not available in your minecraft version!")).when(effect).resolveParticle(Particle.FLAME);
+		ParticleBatch batch = new ParticleBatch();
+		batch.add(mockedLocation, Particle.CLOUD).add(mockedLocation, Particle.FLAME).add(mockedLocation, Particle.FLAME).add(mockedLocation, Particle.CLOUD);
+		effect.spawnParticles(batch, 100.0);
+		// The unsupported particles are skipped, the rest of the batch is still spawned
+		verify(mockedUtils, times(2)).sendPacket(any(TestBukkitPlayer.class), any());
+		verify(effect, times(1)).resolveParticle(Particle.CLOUD); // The resolved cloud particle is still used after the failed ones
+		verify(effect, times(2)).resolveParticle(Particle.FLAME); // A failed particle is not remembered as resolved
+	}
+
+	@Test
+	public void testSpawnParticleFromTemplate()
+	{
+		World mockedWorld = mock(World.class);
+		doReturn("World1").when(mockedWorld).getName();
+		Location mockedLocation = spy(new Location(mockedWorld, 10.0, 20.0, 30.0));
+		List<Player> players = new ArrayList<>();
+		TestBukkitPlayer mockedPlayer = spy(new TestBukkitPlayer());
+		doReturn(mockedLocation).when(mockedPlayer).getLocation();
+		players.add(mockedPlayer);
+		doReturn(players).when(mockedWorld).getPlayers();
+		ParticleSpawner_Reflection effect = new ParticleSpawner_Reflection();
+		ParticleTemplate template = effect.createTemplate(Particle.CLOUD, null);
+		assertEquals(Particle.CLOUD, template.getType());
+		template.spawn(mockedLocation, 100.0);
+		template.spawn(new Location(mockedWorld, 10.0, 20.0, 200.0), 100.0);
+		verify(mockedUtils, times(1)).sendPacket(any(TestBukkitPlayer.class), any());
+	}
 }
\ No newline at end of file
@@ -56,6 +56,7 @@ public final class PluginLib extends JavaPlugin implements PluginLibrary, IPlugi
 	@Getter private Version version;
 	@Getter private DatabaseConnectionPoolBase databaseConnectionPool;
 	@Getter private ItemNameResolver itemNameResolver;
+	private GuiListener guiListener;
 
 	@Override
 	public void onLoad()
@@ -104,7 +105,8 @@ public void onEnable()
 			}
 		}
 
-		getServer().getPluginManager().registerEvents(new GuiListener(), this);
+		guiListener = new GuiListener();
+		getServer().getPluginManager().registerEvents(guiListener, this);
 
 		setInstance(this);
 		this.getLogger().info(StringUtils.getPluginEnabledMessage(this.getDescription().getFullName()));
@@ -117,6 +119,7 @@ public void onDisable()
 		if(config == null) return;
 		updater.autoUpdate();
 		HandlerList.unregisterAll(this); // Stop the listeners
+		if(guiListener != null) guiListener.getRegistry().clear();
 		if(this.databaseConnectionPool != null) this.databaseConnectionPool.shutdown();
 		updater.waitForAsyncOperation();
 		this.getLogger().info(StringUtils.getPluginDisabledMessage(this.getDescription().getFullName()));